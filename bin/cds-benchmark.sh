@@ -0,0 +1,50 @@
+#!/usr/bin/env bash
+# 启动耗时对比：分别在不使用和使用 CDS 归档的情况下运行多次，统计首行输出时间和总耗时（毫秒）
+# 用法: bin/cds-benchmark.sh [次数] <命令> [--配置项=值 ...] [参数 ...]
+
+. "$(dirname "$0")/jdepend-env.sh"
+RUNS=5
+if [[ "$1" =~ ^[0-9]+$ ]]; then
+	RUNS=$1
+	shift
+fi
+if [ ! -f "$ARCHIVE" ]; then
+	echo "找不到 CDS 归档 $ARCHIVE，请先执行 bin/cds-train.sh" >&2
+	exit 1
+fi
+
+now_ms() {
+	echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# 运行一次，输出 "首行输出耗时 总耗时"
+measure() {
+	local start first
+	start=$(now_ms)
+	first=$(JDEPEND_CDS=$1 "$(dirname "$0")/jdepend.sh" "${@:2}" 2>&1 | {
+		IFS= read -r line
+		now_ms
+		cat > /dev/null
+	})
+	echo "$((first - start)) $(($(now_ms) - start))"
+}
+
+# 输出 "中位数首行耗时 中位数总耗时"
+bench() {
+	local results=()
+	for ((i = 0; i < RUNS; i++)); do
+		results+=("$(measure "$@")")
+	done
+	local mid=$((RUNS / 2))
+	local first total
+	first=$(printf '%s\n' "${results[@]}" | awk '{print $1}' | sort -n | sed -n "$((mid + 1))p")
+	total=$(printf '%s\n' "${results[@]}" | awk '{print $2}' | sort -n | sed -n "$((mid + 1))p")
+	echo "$first $total"
+}
+
+echo "每种方式运行 $RUNS 次，取中位数"
+read -r off_first off_total <<< "$(bench false "$@")"
+read -r on_first on_total <<< "$(bench true "$@")"
+printf '%-10s %16s %12s\n' "" "首行输出(ms)" "总耗时(ms)"
+printf '%-10s %16s %12s\n' "无 CDS" "$off_first" "$off_total"
+printf '%-10s %16s %12s\n' "AppCDS" "$on_first" "$on_total"
@@ -0,0 +1,13 @@
+@echo off
+rem 训练运行：用给定的配置执行一次分析，记录加载的类，再生成 AppCDS 归档，说明见 cds-train.sh
+rem 用法: bin\cds-train.cmd <命令> [--配置项=值 ...] [参数 ...]，参数与 jdepend.cmd 相同
+setlocal
+call "%~dp0jdepend-env.cmd" || exit /b 1
+set "CLASS_LIST=%ARCHIVE:~0,-4%.classlist"
+
+echo Training run: %MAIN%
+"%JAVA%" -Xshare:off -XX:DumpLoadedClassList="%CLASS_LIST%" %JAVA_OPTS% -cp "%JAR%" %MAIN% %* || exit /b 1
+
+echo Dumping CDS archive: %ARCHIVE%
+"%JAVA%" -Xshare:dump -Xlog:cds=error -XX:SharedClassListFile="%CLASS_LIST%" -XX:SharedArchiveFile="%ARCHIVE%" -cp "%JAR%" || exit /b 1
+echo Done, jdepend.cmd will use the archive automatically
@@ -0,0 +1,17 @@
+#!/usr/bin/env bash
+# 训练运行：用给定的配置执行一次分析，记录加载的类，再生成 AppCDS 归档
+# 用法: bin/cds-train.sh <命令> [--配置项=值 ...] [参数 ...]，参数与 bin/jdepend.sh 相同
+# 训练用的项目最好和日常分析的项目相近，这样归档覆盖的类（JavaParser、符号解析、maven-model、Owner 等）最全。
+# 采用类列表 + -Xshare:dump 的方式，Java 11 及以上都支持；归档只对生成它的 JDK 和同一路径的 jar 有效。
+
+. "$(dirname "$0")/jdepend-env.sh"
+split_args "$@"
+
+CLASS_LIST=${ARCHIVE%.jsa}.classlist
+
+echo "训练运行: $MAIN"
+"$JAVA" -Xshare:off "-XX:DumpLoadedClassList=$CLASS_LIST" $JAVA_OPTS "${JVM_ARGS[@]}" -cp "$JAR" "$MAIN" "${APP_ARGS[@]}" || exit $?
+
+echo "生成 CDS 归档: $ARCHIVE"
+"$JAVA" -Xshare:dump -Xlog:cds=error "-XX:SharedClassListFile=$CLASS_LIST" "-XX:SharedArchiveFile=$ARCHIVE" -cp "$JAR" || exit $?
+echo "完成，共 $(grep -c -v '^#' "$CLASS_LIST") 个类，bin/jdepend.sh 会自动使用该归档"
@@ -0,0 +1,16 @@
+@echo off
+rem 各启动脚本共用的环境：定位可执行 jar 和 CDS 归档，说明见 jdepend-env.sh
+
+if defined JAVA_HOME (set "JAVA=%JAVA_HOME%\bin\java") else (set "JAVA=java")
+
+set "JAR=%JDEPEND_JAR%"
+if not defined JAR for %%f in ("%~dp0..\target\java-dependency-analyzer-*.jar") do set "JAR=%%~ff"
+if not exist "%JAR%" (
+	echo Executable jar not found, run mvn package first or set JDEPEND_JAR 1>&2
+	exit /b 1
+)
+set "ARCHIVE=%JDEPEND_CDS_ARCHIVE%"
+if not defined ARCHIVE set "ARCHIVE=%JAR:~0,-4%.jsa"
+set "MAIN=%JDEPEND_MAIN%"
+if not defined MAIN set "MAIN=io.github.jitawangzi.jdepend.JDependCli"
+exit /b 0
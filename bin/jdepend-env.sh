@@ -0,0 +1,34 @@
+#!/usr/bin/env bash
+# 各启动脚本共用的环境：定位可执行 jar 和 CDS 归档
+# JDEPEND_JAR          可执行 jar，默认 target/java-dependency-analyzer-*.jar（mvn package 生成）
+# JDEPEND_CDS_ARCHIVE  CDS 归档文件，默认与 jar 同名的 .jsa
+# JDEPEND_MAIN         主类，默认是统一命令行入口 io.github.jitawangzi.jdepend.JDependCli
+# JAVA_HOME / JAVA_OPTS
+
+BASE_DIR=$(cd "$(dirname "${BASH_SOURCE[0]}")/.." && pwd)
+
+if [ -n "$JAVA_HOME" ]; then
+	JAVA="$JAVA_HOME/bin/java"
+else
+	JAVA=java
+fi
+
+JAR=${JDEPEND_JAR:-$(ls "$BASE_DIR"/target/java-dependency-analyzer-*.jar 2>/dev/null | head -n 1)}
+if [ -z "$JAR" ] || [ ! -f "$JAR" ]; then
+	echo "找不到可执行 jar，请先执行 mvn package，或通过 JDEPEND_JAR 指定" >&2
+	exit 1
+fi
+ARCHIVE=${JDEPEND_CDS_ARCHIVE:-${JAR%.jar}.jsa}
+MAIN=${JDEPEND_MAIN:-io.github.jitawangzi.jdepend.JDependCli}
+
+# 把参数分成 JVM 参数（-D/-X 开头）和程序参数（命令和 --配置项=值）
+JVM_ARGS=()
+APP_ARGS=()
+split_args() {
+	for arg in "$@"; do
+		case "$arg" in
+		-D*|-X*) JVM_ARGS+=("$arg") ;;
+		*) APP_ARGS+=("$arg") ;;
+		esac
+	done
+}
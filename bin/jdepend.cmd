@@ -0,0 +1,11 @@
+@echo off
+rem 启动分析器，存在 CDS 归档（cds-train.cmd 生成）时使用归档加速启动
+rem 用法: bin\jdepend.cmd <命令> [--配置项=值 ...] [参数 ...]，JVM 参数放在环境变量 JAVA_OPTS 中
+rem 环境变量 JDEPEND_JAR、JDEPEND_CDS_ARCHIVE、JDEPEND_MAIN、JAVA_HOME、JAVA_OPTS 的含义同 jdepend-env.sh
+setlocal
+call "%~dp0jdepend-env.cmd" || exit /b 1
+
+set "CDS_ARGS="
+if /i not "%JDEPEND_CDS%"=="false" if exist "%ARCHIVE%" set "CDS_ARGS=-Xshare:auto -XX:SharedArchiveFile=%ARCHIVE%"
+
+"%JAVA%" %CDS_ARGS% %JAVA_OPTS% -cp "%JAR%" %MAIN% %*
@@ -0,0 +1,19 @@
+#!/usr/bin/env bash
+# 启动分析器，存在 CDS 归档（bin/cds-train.sh 生成）时使用归档加速启动
+# 用法: bin/jdepend.sh <命令> [--配置项=值 ...] [参数 ...]，-D/-X 开头的参数作为 JVM 参数
+# 例如: bin/jdepend.sh directory --directory.path=/path/to/dir
+
+. "$(dirname "$0")/jdepend-env.sh"
+split_args "$@"
+
+CDS_ARGS=()
+if [ "${JDEPEND_CDS:-true}" != "false" ] && [ -f "$ARCHIVE" ]; then
+	if [ "$ARCHIVE" -nt "$JAR" ]; then
+		# 归档与当前 JVM 或 jar 不匹配时 JVM 会自动忽略归档，正常启动
+		CDS_ARGS=(-Xshare:auto "-XX:SharedArchiveFile=$ARCHIVE")
+	else
+		echo "CDS 归档比 jar 旧，已忽略，请重新执行 bin/cds-train.sh" >&2
+	fi
+fi
+
+exec "$JAVA" "${CDS_ARGS[@]}" $JAVA_OPTS "${JVM_ARGS[@]}" -cp "$JAR" "$MAIN" "${APP_ARGS[@]}"
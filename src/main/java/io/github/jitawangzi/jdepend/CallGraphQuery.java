@@ -0,0 +1,104 @@
+package io.github.jitawangzi.jdepend;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import io.github.jitawangzi.jdepend.core.graph.BinaryGraphCodec;
+import io.github.jitawangzi.jdepend.core.graph.CallGraph;
+import io.github.jitawangzi.jdepend.core.graph.GraphQuery;
+
+/**
+ * 在导出的二进制依赖图（graph.export.formats=BINARY）上查询，不需要重新运行分析
+ *
+ * <pre>
+ * CallGraphQuery 图文件 callers 节点 [深度]   传递调用者
+ * CallGraphQuery 图文件 callees 节点 [深度]   传递被调用者
+ * CallGraphQuery 图文件 path 起点 终点        最短调用路径
+ * CallGraphQuery 图文件 scc                  循环依赖（强连通分量）
+ * </pre>
+ *
+ * 节点可以写完整签名，也可以只写 类名.方法名（匹配所有重载）、简单类名.方法名 或 类名（匹配类的所有方法）。
+ */
+public class CallGraphQuery {
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 2) {
+			printUsage();
+			return;
+		}
+		long start = System.nanoTime();
+		CallGraph graph = BinaryGraphCodec.read(Path.of(args[0]));
+		long loaded = System.nanoTime();
+		System.out.printf("已加载 %s：%d 个节点，%d 条边，耗时 %d ms%n", args[0], graph.getNodeCount(), graph.getEdgeCount(),
+				(loaded - start) / 1_000_000);
+
+		GraphQuery query = new GraphQuery(graph);
+		String command = args[1];
+		switch (command) {
+		case "callers":
+		case "callees":
+			if (args.length < 3) {
+				printUsage();
+				return;
+			}
+			List<Integer> nodes = findNodes(query, args[2]);
+			if (nodes.isEmpty()) {
+				return;
+			}
+			int depth = args.length > 3 ? Integer.parseInt(args[3]) : GraphQuery.UNLIMITED;
+			Map<String, Integer> result = "callers".equals(command) ? query.transitiveCallers(nodes, depth)
+					: query.transitiveCallees(nodes, depth);
+			result.forEach((name, distance) -> System.out.println(distance + "\t" + name));
+			System.out.println("共 " + result.size() + " 个");
+			break;
+		case "path":
+			if (args.length < 4) {
+				printUsage();
+				return;
+			}
+			List<Integer> from = findNodes(query, args[2]);
+			List<Integer> to = findNodes(query, args[3]);
+			if (from.isEmpty() || to.isEmpty()) {
+				return;
+			}
+			List<String> path = query.shortestPath(from, to);
+			if (path.isEmpty()) {
+				System.out.println("不可达");
+			}
+			for (int i = 0; i < path.size(); i++) {
+				System.out.println((i == 0 ? "" : "  -> ") + path.get(i));
+			}
+			break;
+		case "scc":
+			List<List<String>> cycles = query.cycles();
+			for (List<String> cycle : cycles) {
+				System.out.println("[" + cycle.size() + "] " + String.join(", ", cycle));
+			}
+			System.out.println("共 " + cycles.size() + " 个循环依赖");
+			break;
+		default:
+			printUsage();
+			return;
+		}
+		System.out.printf("查询耗时 %d ms%n", (System.nanoTime() - loaded) / 1_000_000);
+	}
+
+	private static List<Integer> findNodes(GraphQuery query, String name) {
+		List<Integer> nodes = query.findNodes(name);
+		if (nodes.isEmpty()) {
+			System.out.println("找不到节点: " + name);
+		} else if (nodes.size() > 1) {
+			System.out.println(name + " 匹配到 " + nodes.size() + " 个节点");
+		}
+		return nodes;
+	}
+
+	private static void printUsage() {
+		System.out.println("用法:");
+		System.out.println("  CallGraphQuery <图文件> callers <节点> [深度]");
+		System.out.println("  CallGraphQuery <图文件> callees <节点> [深度]");
+		System.out.println("  CallGraphQuery <图文件> path <起点> <终点>");
+		System.out.println("  CallGraphQuery <图文件> scc");
+	}
+}
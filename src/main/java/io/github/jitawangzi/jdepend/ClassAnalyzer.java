@@ -1,23 +1,29 @@
 package io.github.jitawangzi.jdepend;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.javaparser.ast.CompilationUnit;
 
-import io.github.jitawangzi.jdepend.config.AppConfig;
-import io.github.jitawangzi.jdepend.config.AppConfigManager;
+import io.github.jitawangzi.jdepend.config.AnalysisContext;
 import io.github.jitawangzi.jdepend.core.analyzer.DependencyCollector;
 import io.github.jitawangzi.jdepend.core.analyzer.MethodDependencyAnalyzer;
 import io.github.jitawangzi.jdepend.core.generator.MarkdownGenerator;
+import io.github.jitawangzi.jdepend.core.graph.CallGraph;
+import io.github.jitawangzi.jdepend.core.graph.GraphExporter;
+import io.github.jitawangzi.jdepend.core.graph.MethodCostReport;
 import io.github.jitawangzi.jdepend.core.model.ClassDependency;
 import io.github.jitawangzi.jdepend.core.processor.ContentProcessor;
 import io.github.jitawangzi.jdepend.core.processor.TokenCounter;
@@ -42,68 +48,96 @@ public class ClassAnalyzer {
 	public static void main(String[] args) throws Exception {
 		long timeMillis = System.currentTimeMillis();
 		JavaParserInit.init();
-		// 加载配置
-		AppConfig config = AppConfigManager.get();
+		// 加载配置，整个分析过程使用同一份不可变的配置快照
+		AnalysisContext context = AnalysisContext.forClassMode();
 		// 初始化文件定位器
-		FileLocator.getInstance().addSourceDirectories(config.getSourceDirectories());
+		FileLocator.getInstance().addSourceDirectories(context.getSourceDirectories());
 
 		// 1. 常规分析
-		DependencyCollector collector = new DependencyCollector();
+		DependencyCollector collector = new DependencyCollector(context);
 		List<ClassDependency> dependencies = collector.collect();
 
 		// 2. 方法级依赖分析
 		log.info("正在进行方法级依赖分析...");
-		MethodDependencyAnalyzer methodAnalyzer = new MethodDependencyAnalyzer();
-		Set<String> actualDependencies = methodAnalyzer.analyzeAllDependencies(config.getMainClass());
+		MethodDependencyAnalyzer methodAnalyzer = new MethodDependencyAnalyzer(context);
+		Set<String> actualDependencies = methodAnalyzer.analyzeAllDependencies(context.getMainClass());
 		Set<String> reachableMethods = methodAnalyzer.getReachableMethods();
 		// 3. 获取实际依赖的类
 		log.info("方法级依赖分析完成，发现 {} 个实际依赖类（传统分析发现 {} 个类）", actualDependencies.size(), dependencies.size());
 		log.debug("可达方法总数: {}", reachableMethods.size());
 
-		// 4. 基于实际依赖过滤依赖列表
+		// 4. 基于实际依赖过滤依赖列表，只引用了内部类时保留内部类所在的文件
+		Set<String> actualFiles = actualDependencies.stream()
+				.map(className -> Optional.ofNullable(FileLocator.getInstance().getTopLevelClassName(className)).orElse(className))
+				.collect(Collectors.toSet());
 		List<ClassDependency> filteredDependencies = dependencies.stream()
-				.filter(dep -> actualDependencies.contains(dep.getClassName()))
+				.filter(dep -> actualFiles.contains(dep.getClassName()))
 				.collect(Collectors.toList());
 
+		// 按配置导出方法调用图和类依赖图
+		if (!context.getGraphExportFormats().isEmpty()) {
+			GraphExporter.exportAll(context, CallGraph.of(methodAnalyzer.getMethodToMethodDependencies()),
+					CallGraph.ofClasses(filteredDependencies, methodAnalyzer.getMethodDependencies(),
+					methodAnalyzer.getHierarchyIndex()::getUnitSupertypes));
+		}
 
 		// 处理代码内容
-		ContentProcessor processor = new ContentProcessor(reachableMethods);
-		// 存储原始内容和处理后的内容
-		Map<String, String> originalContents = new LinkedHashMap<>();
+		ContentProcessor processor = new ContentProcessor(context, reachableMethods);
+		// 存储处理后的内容
 		Map<String, String> processedContents = new LinkedHashMap<>();
+		// token在处理每个类的线程中统计
+		TokenCounter.Accumulator tokenAccumulator = new TokenCounter.Accumulator();
 
-		for (ClassDependency dep : filteredDependencies) {
-
-			if ((config.getMaxDepth() != -1 && dep.getDepth() > config.getMaxDepth())) {
-				continue; // 如果超过最大深度，则跳过
+		List<ClassDependency> renderDependencies = filteredDependencies.stream()
+				.filter(dep -> context.getMaxDepth() == -1 || dep.getDepth() <= context.getMaxDepth()) // 如果超过最大深度，则跳过
+				.collect(Collectors.toList());
+		// 各个类相互独立，并行处理；结果按下标写入，保持依赖列表的顺序
+		String[] processed = new String[renderDependencies.size()];
+		IntStream.range(0, renderDependencies.size()).parallel().forEach(i -> {
+			ClassDependency dep = renderDependencies.get(i);
+			try {
+				Path file = FileLocator.getInstance().locate(dep.getClassName());
+				if (file == null) {
+					log.warn("无法找到类文件: {}", dep.getClassName());
+					return; // 如果找不到文件，则跳过
+				}
+				// 方法级依赖分析时已经解析过，直接复用缓存的编译单元和解析时读取的源代码
+				CompilationUnit compilationUnit = CommonUtil.parseCompilationUnit(dep.getClassName());
+				String original = compilationUnit != null ? CommonUtil.getSource(compilationUnit) : Files.readString(file);
+				processed[i] = processor.process(compilationUnit, original, dep.getDepth());
+				tokenAccumulator.add(dep.getClassName(), packageOf(dep.getClassName()), dep.getDepth(), original, processed[i]);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
 			}
-
-			Path file = FileLocator.getInstance().locate(dep.getClassName());
-			if (file == null) {
-				log.warn("无法找到类文件: {}", dep.getClassName());
-				continue; // 如果找不到文件，则跳过，比如内部类
+		});
+		for (int i = 0; i < processed.length; i++) {
+			if (processed[i] != null) {
+				processedContents.put(renderDependencies.get(i).getClassName(), processed[i]);
 			}
-			String original = Files.readString(file);
-			CompilationUnit compilationUnit = CommonUtil.parseCompilationUnit(dep.getClassName());
-			originalContents.put(dep.getClassName(), original);
-			processedContents.put(dep.getClassName(), processor.process(compilationUnit, original, dep.getDepth()));
 		}
 
-		// 计算token统计
-		TokenCounter.TokenStats tokenStats = TokenCounter.calculateDifference(originalContents, processedContents);
+		// 汇总token统计
+		TokenCounter.TokenStats tokenStats = tokenAccumulator.toStats();
+
+		// 可达方法的token开销，方法和类头部的token在上面处理每个类时已经统计
+		MethodCostReport methodCosts = null;
+		if (context.getMethodCostReportSize() > 0) {
+			methodCosts = new MethodCostReport(methodAnalyzer.buildCallGraph(), context.getMainClass(), processor.getMethodTokens(),
+					processor.getClassHeaderTokens());
+		}
 
 		// 生成markdown内容
-		MarkdownGenerator generator = new MarkdownGenerator();
+		MarkdownGenerator generator = new MarkdownGenerator(context);
 		String output = generator.generate(filteredDependencies, processedContents, tokenStats, processor.getOmittedAccessors(),
-				processor.getRemovedUnreferencedMethods());
+				processor.getRemovedUnreferencedMethods(), methodCosts);
 
 		// 写入文件
-		Path outputFile = Path.of(config.getOutputFile());
+		Path outputFile = Path.of(context.getOutputFile());
 		Files.writeString(outputFile, output);
 		log.info("结果已写入: {}", outputFile.toAbsolutePath());
 
 		// 根据内容大小决定是否在控制台输出全部内容
-		if (output.length() < config.getContentSizeThreshold()) {
+		if (output.length() < context.getContentSizeThreshold()) {
 			// 内容不多，输出全部并复制到剪切板
 			System.out.println("\n=== 输出内容 ===\n");
 			System.out.println(output);
@@ -117,4 +151,9 @@ public class ClassAnalyzer {
 		}
 		log.info("分析完成，耗时: {} S", (System.currentTimeMillis() - timeMillis) / 1000);
 	}
-}
\ No newline at end of file
+
+	private static String packageOf(String className) {
+		int lastDot = className.lastIndexOf('.');
+		return lastDot < 0 ? "" : className.substring(0, lastDot);
+	}
+}
@@ -11,17 +11,16 @@ import java.nio.file.attribute.BasicFileAttributes;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Set;
 
+import io.github.jitawangzi.jdepend.config.AnalysisContext;
 import io.github.jitawangzi.jdepend.config.AppConfig;
 import io.github.jitawangzi.jdepend.config.AppConfigManager;
-import io.github.jitawangzi.jdepend.config.RuntimeConfig;
 import io.github.jitawangzi.jdepend.core.processor.ContentProcessor;
 import io.github.jitawangzi.jdepend.core.processor.TokenCounter;
 import io.github.jitawangzi.jdepend.util.ClipboardUtil;
+import io.github.jitawangzi.jdepend.util.DirectoryFilter;
 import io.github.jitawangzi.jdepend.util.DirectoryTreeBuilder;
-import io.github.jitawangzi.jdepend.util.FileMatcher;
-import io.github.jitawangzi.jdepend.util.JavaParserInit;
+import io.github.jitawangzi.jdepend.util.IgnoreEngine;
 
 /**
  * 用于将源代码文件转换为提示文本的工具类
@@ -34,7 +33,7 @@ public class DirectoryAnalyzer {
 	// 使用系统换行符
 	private static final String LINE_SEPARATOR = System.lineSeparator();
 	/**
-	 * 计数器类，用于跟踪处理的文件数量和令牌数
+	 * 计数器类，用于跟踪处理的文件数量
 	 */
 	private static class Counter {
 		int value = 0;
@@ -43,10 +42,6 @@ public class DirectoryAnalyzer {
 			value++;
 		}
 
-		void add(int delta) {
-			value += delta;
-		}
-
 		int getValue() {
 			return value;
 		}
@@ -57,6 +52,7 @@ public class DirectoryAnalyzer {
 	 */
 	public static void processFiles(String directoryPath) throws IOException {
 		AppConfig config = AppConfigManager.get();
+		AnalysisContext context = AnalysisContext.forDirectoryMode();
 		// 获取目录路径
 		String dirPath = config.getDirectoryPath();
 
@@ -65,23 +61,25 @@ public class DirectoryAnalyzer {
 		// 创建计数器和构建器
 		StringBuilder promptBuilder = new StringBuilder();
 		Counter fileCounter = new Counter();
-		Counter tokenCounter = new Counter();
-		Counter originalTokenCounter = new Counter();
 		DirectoryTreeBuilder treeBuilder = new DirectoryTreeBuilder();
 
-		// 存储文件内容
-		Map<String, String> originalContents = new LinkedHashMap<>();
+		// 存储处理后的文件内容，token在处理每个文件时统计，不再保留原始内容
 		Map<String, String> processedContents = new LinkedHashMap<>();
+		TokenCounter.Accumulator tokenAccumulator = new TokenCounter.Accumulator();
 
 		// 创建内容处理器
-		ContentProcessor contentProcessor = new ContentProcessor(new HashSet<>());
+		ContentProcessor contentProcessor = new ContentProcessor(context, new HashSet<>());
+		// 包含/排除规则只编译一次
+		DirectoryFilter filter = DirectoryFilter.of(config);
+		// .gitignore 规则以及版本控制、IDE缓存等目录
+		IgnoreEngine ignoreEngine = new IgnoreEngine(startPath, IgnoreEngine.DEFAULT_PATTERNS, config.isRespectIgnoreFiles());
 
 		// 遍历文件系统，同时构建目录树和处理文件内容
 		Files.walkFileTree(startPath, new SimpleFileVisitor<Path>() {
 			@Override
 			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
 				// 检查目录是否应该被处理
-				if (!shouldProcessDirectory(startPath, dir, config)) {
+				if (ignoreEngine.isIgnored(dir, true) || !shouldProcessDirectory(startPath, dir, filter)) {
 					return FileVisitResult.SKIP_SUBTREE;
 				}
 				return FileVisitResult.CONTINUE;
@@ -97,7 +95,7 @@ public class DirectoryAnalyzer {
 				// 计算当前file所在目录的深度
 //				int currentDepth = startPath.relativize(file).getNameCount();
 				// 检查文件是否应该被处理
-				if (!shouldProcessFile(fileName, relativePathStr, config)) {
+				if (!filter.acceptFile(fileName, relativePathStr) || ignoreEngine.isIgnored(file, false)) {
 					return FileVisitResult.CONTINUE;
 				}
 
@@ -107,9 +105,6 @@ public class DirectoryAnalyzer {
 				// 处理文件内容
 				fileCounter.increment();
 				String content = Files.readString(file, StandardCharsets.UTF_8);
-				int originalTokens = TokenCounter.estimateTokens(content);
-				originalTokenCounter.add(originalTokens);
-				originalContents.put(relativeFilePath, content);
 
 				// 使用ContentProcessor处理Java文件
 				String processedContent;
@@ -119,11 +114,13 @@ public class DirectoryAnalyzer {
 					processedContent = content;
 				}
 
-				int processedTokens = TokenCounter.estimateTokens(processedContent);
-				tokenCounter.add(processedTokens);
+				// 按所在目录和目录深度分组统计
+				int depth = relativePathStr.isEmpty() ? 0 : relativePath.getNameCount();
+				TokenCounter.TokenCount tokens = tokenAccumulator.add(relativeFilePath, relativePathStr, depth, content, processedContent);
 				processedContents.put(relativeFilePath, processedContent);
 
-				System.out.printf("Found file: %s (Original Tokens: %d, Processed Tokens: %d)%n", file, originalTokens, processedTokens);
+				System.out.printf("Found file: %s (Original Tokens: %d, Processed Tokens: %d)%n", file, tokens.getOriginalTokens(),
+						tokens.getProcessedTokens());
 
 				return FileVisitResult.CONTINUE;
 			}
@@ -151,7 +148,7 @@ public class DirectoryAnalyzer {
 
 		if (fileCounter.getValue() > 0) {
 			// 计算token统计
-			TokenCounter.TokenStats tokenStats = TokenCounter.calculateDifference(originalContents, processedContents);
+			TokenCounter.TokenStats tokenStats = tokenAccumulator.toStats();
 			String prompt = promptBuilder.toString();
 			if (prompt.length() < config.getContentSizeThreshold()) {
 				// 复制到剪贴板
@@ -190,120 +187,17 @@ public class DirectoryAnalyzer {
 	/**
 	 * 检查目录是否应该被处理
 	 */
-	private static boolean shouldProcessDirectory(Path startPath, Path dir, AppConfig config) {
-		// 计算当前目录的深度
-		int currentDepth = startPath.relativize(dir).getNameCount();
-
-		// 检查是否超过最大深度限制
-		if (config.getMaxDepth() >= 0 && currentDepth > config.getMaxDepth()) {
-			return false;
-		}
-
-		// 如果指定了包含文件，允许遍历所有目录以找到目标文件
-		if (!config.getIncludeFiles().isEmpty()) {
-			return true;
-		}
-
+	private static boolean shouldProcessDirectory(Path startPath, Path dir, DirectoryFilter filter) {
 		Path relativePath = startPath.relativize(dir);
-		String relativePathStr = normalizePath(relativePath.toString());
-		if (relativePathStr.isEmpty()) {
-			return true;
-		}
-
-		// 检查排除目录
-		if (config.getExcludeFolders()
-				.stream()
-				.anyMatch(exclude -> relativePathStr.equals(exclude) || relativePathStr.startsWith(exclude + "/"))) {
-			return false;
-		}
-
-		// 如果指定了包含目录
-		if (!config.getIncludeFolders().isEmpty()) {
-			boolean isIncluded = false;
-			boolean isParentOfIncluded = false;
-
-			for (String include : config.getIncludeFolders()) {
-				String normalizedInclude = normalizePath(include);
-				if (relativePathStr.equals(normalizedInclude) || relativePathStr.startsWith(normalizedInclude + "/")) {
-					isIncluded = true;
-					break;
-				}
-				// 检查当前目录是否是包含目录的父路径
-				if (normalizedInclude.startsWith(relativePathStr + "/")) {
-					isParentOfIncluded = true;
-					break;
-				}
-			}
-
-			// 如果是父路径，继续遍历但不处理文件
-			if (isParentOfIncluded) {
-				return true;
-			}
-
-			// 如果不是包含目录或其子目录，也不是父路径，则跳过
-			return isIncluded;
-		}
-
-		return true;
-	}
-
-	/**
-	 * 检查文件是否应该被处理
-	 */
-	private static boolean shouldProcessFile(String fileName, String relativePathStr, AppConfig config) {
-		// 检查文件类型
-		if (!isFileAllowed(fileName)) {
-			return false;
-		}
-
-		// 检查排除文件
-		if (new FileMatcher(config.getExcludeFiles()).matches(fileName)) {
-			return false;
-		}
-
-		// 处理包含文件
-		if (!config.getIncludeFiles().isEmpty()) {
-			return new FileMatcher(config.getIncludeFiles()).matches(fileName);
-		}
-
-		// 处理包含目录中的文件
-		if (!config.getIncludeFolders().isEmpty()) {
-			return config.getIncludeFolders().stream().anyMatch(include -> {
-				String normalizedInclude = normalizePath(include);
-				return relativePathStr.equals(normalizedInclude) || relativePathStr.startsWith(normalizedInclude + "/");
-			});
-		}
-
-		return true;
-	}
-
-	/**
-	 * 检查文件扩展名是否在允许列表中
-	 */
-	private static boolean isFileAllowed(String fileName) {
-		String extension = getFileExtension(fileName);
-		Set<String> allowedFileExtensions = AppConfigManager.get().getAllowedFileExtensions();
-		return allowedFileExtensions.isEmpty() || allowedFileExtensions.contains(extension.toLowerCase());
-	}
-
-	/**
-	 * 获取文件扩展名
-	 */
-	private static String getFileExtension(String fileName) {
-		int lastDotIndex = fileName.lastIndexOf('.');
-		if (lastDotIndex > 0) {
-			return fileName.substring(lastDotIndex + 1);
-		}
-		return "";
+		// 计算当前目录的深度
+		int currentDepth = relativePath.getNameCount();
+		return filter.acceptDirectory(normalizePath(relativePath.toString()), currentDepth);
 	}
 
-
 	public static void main(String[] args) {
 
 		try {
-			JavaParserInit.init();
-			RuntimeConfig.isDirectoryMode = true; // 设置为目录模式
-
+			// 目录模式只做语法层面的简化，使用轻量级解析器，不需要初始化符号解析和项目依赖
 			String directory = AppConfigManager.get().getDirectoryPath();
 
 			if (directory == null || directory.isEmpty()) {
@@ -0,0 +1,74 @@
+package io.github.jitawangzi.jdepend;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.jitawangzi.jdepend.config.AnalysisContext;
+import io.github.jitawangzi.jdepend.core.analyzer.ProjectGraphBuilder;
+import io.github.jitawangzi.jdepend.core.generator.ImpactReportGenerator;
+import io.github.jitawangzi.jdepend.core.graph.GraphExporter;
+import io.github.jitawangzi.jdepend.core.graph.ImpactQuery;
+import io.github.jitawangzi.jdepend.core.model.ImpactResult;
+import io.github.jitawangzi.jdepend.util.FileLocator;
+import io.github.jitawangzi.jdepend.util.JavaParserInit;
+
+/**
+ * 反向依赖（影响）分析
+ * 与 ClassAnalyzer 从 main.class 向前分析相反，给定修改过的类或方法，列出依赖它的所有入口点和类，用于代码评审。
+ * 先并行构建整个项目的方法调用图和类依赖图，之后每个查询只在图上做反向遍历。
+ * 查询目标取命令行参数，没有参数时取 impact.targets 配置；报告格式由 impact.report.format 决定，写入 output.file。
+ */
+public class ImpactAnalyzer {
+	private static Logger log = LoggerFactory.getLogger(ImpactAnalyzer.class);
+
+	/**
+	 * 主方法
+	 *
+	 * @param args 要查询的类或方法，可以为空
+	 * @throws Exception 如果分析过程中发生错误
+	 */
+	public static void main(String[] args) throws Exception {
+		JavaParserInit.init();
+		AnalysisContext context = AnalysisContext.forClassMode();
+		FileLocator.getInstance().addSourceDirectories(context.getSourceDirectories());
+
+		List<String> targets = args.length > 0 ? Arrays.asList(args) : context.getImpactTargets();
+		if (targets.isEmpty()) {
+			log.warn("没有指定要分析的类或方法，请通过命令行参数或 impact.targets 配置指定");
+		}
+
+		ProjectGraphBuilder builder = new ProjectGraphBuilder(context);
+		builder.build();
+		// 导出的二进制图可以用 CallGraphQuery 继续查询，不需要重新构建
+		if (!context.getGraphExportFormats().isEmpty()) {
+			GraphExporter.exportAll(context, builder.getMethodGraph(), builder.getClassGraph());
+		}
+
+		long queryStart = System.nanoTime();
+		ImpactQuery query = new ImpactQuery(builder.getMethodGraph(), builder.getClassGraph());
+		List<ImpactResult> results = new ArrayList<>();
+		for (String target : targets) {
+			ImpactResult result = query.analyze(target);
+			if (!result.isFound()) {
+				log.warn("在项目依赖图中找不到: {}", target);
+			}
+			results.add(result);
+		}
+		long queryMillis = (System.nanoTime() - queryStart) / 1_000_000;
+		log.info("影响分析完成，{} 个查询，耗时 {} ms", targets.size(), queryMillis);
+
+		ImpactReportGenerator generator = new ImpactReportGenerator(builder.getClassCount(), builder.getMethodGraph(), builder.getClassGraph(),
+				builder.getBuildMillis());
+		String output = generator.generate(context.getImpactReportFormat(), results, queryMillis);
+		Path outputFile = Path.of(context.getOutputFile());
+		Files.writeString(outputFile, output);
+		log.info("结果已写入: {}", outputFile.toAbsolutePath());
+		System.out.println(output);
+	}
+}
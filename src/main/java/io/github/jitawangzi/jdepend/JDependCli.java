@@ -0,0 +1,115 @@
+package io.github.jitawangzi.jdepend;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import io.github.jitawangzi.jdepend.config.AppConfigManager;
+import io.github.jitawangzi.jdepend.core.solver.JdkTypeIndexGenerator;
+
+/**
+ * 统一的命令行入口，可执行 jar 的主类
+ * 用法: java -jar java-dependency-analyzer.jar <命令> [--配置项=值 ...] [参数 ...]
+ * 配置项就是 application.properties 中的键，例如 --project.root=/path --max.depth=3，只写 --键 时值为 true；
+ * --config=文件 指定一个属性文件，命令行上的配置项优先于它，它优先于系统属性和 classpath 上的 application.properties。
+ * 配置在启动时只加载一次，之后整个运行过程读取的都是不可变的配置快照，不同的分析不需要修改或重新打包配置文件。
+ */
+public class JDependCli {
+
+	/**
+	 * 一个子命令
+	 */
+	private interface Command {
+		void run(String[] args) throws Exception;
+	}
+
+	private static final Map<String, Command> COMMANDS = new LinkedHashMap<>();
+	private static final Map<String, String> DESCRIPTIONS = new LinkedHashMap<>();
+
+	static {
+		register("class", ClassAnalyzer::main, "从 main.class 开始分析依赖，生成精简后的代码");
+		register("directory", DirectoryAnalyzer::main, "合并 directory.path 下符合条件的文件");
+		register("impact", ImpactAnalyzer::main, "反向依赖分析，参数为要查询的类或方法");
+		register("metrics", MetricsAnalyzer::main, "项目架构度量");
+		register("query", CallGraphQuery::main, "查询导出的调用图: <图文件> callers|callees|path|scc ...");
+		register("jdk-index", JdkTypeIndexGenerator::main, "为当前JDK生成类型索引: [输出文件]");
+	}
+
+	private static void register(String name, Command command, String description) {
+		COMMANDS.put(name, command);
+		DESCRIPTIONS.put(name, description);
+	}
+
+	public static void main(String[] args) throws Exception {
+		if (args.length == 0 || "-h".equals(args[0]) || "--help".equals(args[0])) {
+			printUsage();
+			return;
+		}
+		Command command = COMMANDS.get(args[0]);
+		if (command == null) {
+			fail("未知命令: " + args[0]);
+		}
+
+		Set<String> keys = AppConfigManager.getKeys();
+		Properties properties = new Properties();
+		Properties overrides = new Properties();
+		List<String> arguments = new ArrayList<>();
+		for (int i = 1; i < args.length; i++) {
+			String arg = args[i];
+			if (!arg.startsWith("--")) {
+				arguments.add(arg);
+				continue;
+			}
+			int eq = arg.indexOf('=');
+			String key = eq < 0 ? arg.substring(2) : arg.substring(2, eq);
+			String value = eq < 0 ? "true" : arg.substring(eq + 1);
+			if ("config".equals(key)) {
+				loadProperties(Path.of(value), properties);
+			} else if (keys.contains(key)) {
+				overrides.setProperty(key, value);
+			} else {
+				fail("未知配置项: --" + key);
+			}
+		}
+		properties.putAll(overrides);
+		AppConfigManager.reload(properties);
+
+		command.run(arguments.toArray(new String[0]));
+	}
+
+	private static void loadProperties(Path file, Properties properties) throws IOException {
+		if (!Files.isRegularFile(file)) {
+			fail("配置文件不存在: " + file);
+		}
+		try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			properties.load(reader);
+		}
+	}
+
+	private static void fail(String message) {
+		System.err.println(message);
+		System.err.println();
+		printUsage();
+		System.exit(2);
+	}
+
+	private static void printUsage() {
+		System.err.println("用法: java -jar java-dependency-analyzer.jar <命令> [--配置项=值 ...] [--config=属性文件] [参数 ...]");
+		System.err.println();
+		System.err.println("命令:");
+		DESCRIPTIONS.forEach((name, description) -> System.err.printf("  %-10s %s%n", name, description));
+		System.err.println();
+		System.err.println("配置项:");
+		for (String key : AppConfigManager.getKeys()) {
+			System.err.println("  --" + key);
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package io.github.jitawangzi.jdepend;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.jitawangzi.jdepend.config.AnalysisContext;
+import io.github.jitawangzi.jdepend.core.analyzer.ProjectGraphBuilder;
+import io.github.jitawangzi.jdepend.core.generator.MetricsReportGenerator;
+import io.github.jitawangzi.jdepend.core.graph.ArchitectureMetrics;
+import io.github.jitawangzi.jdepend.core.graph.GraphExporter;
+import io.github.jitawangzi.jdepend.util.FileLocator;
+import io.github.jitawangzi.jdepend.util.JavaParserInit;
+
+/**
+ * 计算整个项目的架构度量
+ * 并行构建项目的类依赖图后，计算每个包的传入/传出耦合、不稳定性、抽象程度、与主序列的距离和层级，
+ * 以及类和包之间的循环依赖。Markdown 报告写入 output.file，完整数据写入 metrics.json.file，可以在CI中每次构建时运行。
+ */
+public class MetricsAnalyzer {
+	private static Logger log = LoggerFactory.getLogger(MetricsAnalyzer.class);
+
+	/**
+	 * 主方法
+	 *
+	 * @param args 命令行参数
+	 * @throws Exception 如果分析过程中发生错误
+	 */
+	public static void main(String[] args) throws Exception {
+		JavaParserInit.init();
+		AnalysisContext context = AnalysisContext.forClassMode();
+		FileLocator.getInstance().addSourceDirectories(context.getSourceDirectories());
+
+		ProjectGraphBuilder builder = new ProjectGraphBuilder(context);
+		builder.build();
+		if (!context.getGraphExportFormats().isEmpty()) {
+			GraphExporter.exportAll(context, builder.getMethodGraph(), builder.getClassGraph());
+		}
+
+		long metricsStart = System.nanoTime();
+		ArchitectureMetrics metrics = new ArchitectureMetrics(builder.getClassGraph(), builder.getAbstractClasses());
+		long metricsMillis = (System.nanoTime() - metricsStart) / 1_000_000;
+		log.info("架构度量计算完成：{} 个包，{} 个包循环依赖，{} 个类循环依赖，耗时 {} ms", metrics.getPackageMetrics().size(),
+				metrics.getPackageCycles().size(), metrics.getClassCycles().size(), metricsMillis);
+
+		MetricsReportGenerator generator = new MetricsReportGenerator(metrics, builder.getBuildMillis(), metricsMillis);
+		String report = generator.generateMarkdown();
+		Path outputFile = Path.of(context.getOutputFile());
+		Files.writeString(outputFile, report);
+		log.info("报告已写入: {}", outputFile.toAbsolutePath());
+
+		Path jsonFile = Path.of(context.getMetricsJsonFile());
+		Files.writeString(jsonFile, generator.generateJson());
+		log.info("度量数据已写入: {}", jsonFile.toAbsolutePath());
+		System.out.println(report);
+	}
+}
@@ -0,0 +1,277 @@
+package io.github.jitawangzi.jdepend.config;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import io.github.jitawangzi.jdepend.util.PrefixMatcher;
+
+/**
+ * 一次分析运行使用的配置快照
+ * 在分析开始时从 AppConfig / ImportConfig 复制一次，之后不可变，由分析器和处理器通过构造函数持有。
+ * 热点判断（项目类、排除包、导入保留）使用预先编译好的前缀匹配器，项目类的判断结果按类名缓存，
+ * 不再每次调用都读取Owner配置代理。
+ * 同一个JVM中可以用不同的快照同时运行多个分析（例如Eclipse插件），互不影响。
+ */
+public final class AnalysisContext {
+
+	private final String projectRootPath;
+	private final String mainClass;
+	private final String outputFile;
+	private final int contentSizeThreshold;
+	private final int maxDepth;
+	private final int methodBodyMaxDepth;
+	private final boolean simplifyMethods;
+	private final Set<String> methodExceptions;
+	private final boolean keepOnlyReferencedMethods;
+	private final boolean omitBeanMethods;
+	private final boolean showOmittedAccessors;
+	private final boolean showRemovedMethods;
+	private final boolean showErrorStacktrace;
+	private final String callGraphDispatch;
+	private final boolean syntacticResolution;
+	private final List<String> sourceDirectories;
+	private final boolean directoryMode;
+	private final Set<String> graphExportFormats;
+	private final String graphExportPath;
+	private final int methodCostReportSize;
+	private final List<String> impactTargets;
+	private final String impactReportFormat;
+	private final String metricsJsonFile;
+
+	private final PrefixMatcher projectPackagePrefixes;
+	private final PrefixMatcher excludedPackages;
+	private final boolean importSkipEnabled;
+	private final PrefixMatcher importKeepPrefixes;
+	private final PrefixMatcher importSkipPrefixes;
+	// isProjectClass 的结果缓存，每个import、解析出的类型和调用边都会判断一次，同一个类名会被反复查询
+	private final Map<String, Boolean> projectClassCache = new ConcurrentHashMap<>();
+
+	private AnalysisContext(AppConfig config, ImportConfig importConfig, boolean directoryMode) {
+		this.projectRootPath = config.getProjectRootPath();
+		this.mainClass = config.getMainClass();
+		this.outputFile = config.getOutputFile();
+		this.contentSizeThreshold = config.getContentSizeThreshold();
+		this.maxDepth = config.getMaxDepth();
+		this.methodBodyMaxDepth = config.getMethodBodyMaxDepth();
+		this.simplifyMethods = config.isSimplifyMethods();
+		this.methodExceptions = copyOf(config.getMethodExceptions());
+		this.keepOnlyReferencedMethods = config.isKeepOnlyReferencedMethods();
+		this.omitBeanMethods = config.isOmitBeanMethods();
+		this.showOmittedAccessors = config.isShowOmittedAccessors();
+		this.showRemovedMethods = config.isShowRemovedMethods();
+		this.showErrorStacktrace = config.showErrorStacktrace();
+		this.callGraphDispatch = config.getCallGraphDispatch();
+		this.syntacticResolution = "SYNTACTIC".equalsIgnoreCase(config.getTypeResolutionMode());
+		this.sourceDirectories = config.getSourceDirectories() == null ? List.of() : List.copyOf(config.getSourceDirectories());
+		this.directoryMode = directoryMode;
+		this.graphExportFormats = config.getGraphExportFormats() == null ? Set.of()
+				: config.getGraphExportFormats().stream().map(String::trim).filter(format -> !format.isEmpty()).collect(Collectors.toUnmodifiableSet());
+		this.graphExportPath = config.getGraphExportPath();
+		this.methodCostReportSize = config.getMethodCostReportSize();
+		this.impactTargets = config.getImpactTargets() == null ? List.of()
+				: config.getImpactTargets().stream().map(String::trim).filter(target -> !target.isEmpty()).collect(Collectors.toUnmodifiableList());
+		this.impactReportFormat = config.getImpactReportFormat();
+		this.metricsJsonFile = config.getMetricsJsonFile();
+
+		this.projectPackagePrefixes = PrefixMatcher.of(config.getProjectPackagePrefixes());
+		this.excludedPackages = PrefixMatcher.of(config.getExcludedPackages());
+		this.importSkipEnabled = importConfig.isSkipEnabled();
+		this.importKeepPrefixes = PrefixMatcher.of(importConfig.getKeepPrefixes());
+		this.importSkipPrefixes = PrefixMatcher.of(importConfig.getSkipPrefixes());
+	}
+
+	/**
+	 * 从指定配置创建快照
+	 *
+	 * @param config 应用配置
+	 * @param importConfig 导入配置
+	 * @param directoryMode 是否目录模式
+	 */
+	public static AnalysisContext of(AppConfig config, ImportConfig importConfig, boolean directoryMode) {
+		return new AnalysisContext(config, importConfig, directoryMode);
+	}
+
+	/**
+	 * 从 AppConfigManager 的当前配置创建类分析模式的快照
+	 */
+	public static AnalysisContext forClassMode() {
+		return of(AppConfigManager.get(), AppConfigManager.getImportConfig(), false);
+	}
+
+	/**
+	 * 从 AppConfigManager 的当前配置创建目录模式的快照
+	 */
+	public static AnalysisContext forDirectoryMode() {
+		return of(AppConfigManager.get(), AppConfigManager.getImportConfig(), true);
+	}
+
+	private static Set<String> copyOf(Collection<String> values) {
+		return values == null ? Set.of() : Set.copyOf(values);
+	}
+
+	/**
+	 * 判断是否是项目内的类（匹配项目包前缀且不在排除的包中）
+	 *
+	 * @param className 类名
+	 * @return 是否是项目内的类
+	 */
+	public boolean isProjectClass(String className) {
+		Boolean cached = projectClassCache.get(className);
+		if (cached == null) {
+			cached = projectPackagePrefixes.matches(className) && !excludedPackages.matches(className);
+			projectClassCache.put(className, cached);
+		}
+		return cached;
+	}
+
+	/**
+	 * 判断包中的类是否可能是项目内的类，直接匹配包前缀，不写入 isProjectClass 的按类名缓存
+	 * 用于在查包索引前过滤 java.util 等外部包，避免为它们列目录
+	 *
+	 * @param packageName 包名，空字符串表示默认包
+	 * @return 是否是项目内的包
+	 */
+	public boolean isProjectPackage(String packageName) {
+		if (packageName.isEmpty()) {
+			return true;
+		}
+		String prefix = packageName + ".";
+		return projectPackagePrefixes.matches(prefix) && !excludedPackages.matches(prefix);
+	}
+
+	/**
+	 * 判断是否是被排除的包
+	 *
+	 * @param className 类名
+	 * @return 是否被排除
+	 */
+	public boolean isExcludedPackage(String className) {
+		return excludedPackages.matches(className);
+	}
+
+	/**
+	 * 判断输出时是否需要保留该导入
+	 *
+	 * @param importName 导入的名称
+	 * @return 是否保留
+	 */
+	public boolean shouldKeepImport(String importName) {
+		if (importKeepPrefixes.matches(importName)) {
+			return true;
+		}
+		return !(importSkipEnabled && importSkipPrefixes.matches(importName));
+	}
+
+	/**
+	 * 判断是否应该保留方法体
+	 *
+	 * @param className 类名
+	 * @param depth 引用深度
+	 * @return 是否应该保留方法体
+	 */
+	public boolean shouldKeepMethods(String className, int depth) {
+		if (directoryMode) {
+			return !simplifyMethods || methodExceptions.contains(className);
+		}
+		return methodBodyMaxDepth < 0 || depth <= methodBodyMaxDepth;
+	}
+
+	/**
+	 * 深度是否超过最大依赖深度
+	 */
+	public boolean exceedsMaxDepth(int depth) {
+		return maxDepth > 0 && depth > maxDepth;
+	}
+
+	public String getProjectRootPath() {
+		return projectRootPath;
+	}
+
+	public String getMainClass() {
+		return mainClass;
+	}
+
+	public String getOutputFile() {
+		return outputFile;
+	}
+
+	public int getContentSizeThreshold() {
+		return contentSizeThreshold;
+	}
+
+	public int getMaxDepth() {
+		return maxDepth;
+	}
+
+	public int getMethodBodyMaxDepth() {
+		return methodBodyMaxDepth;
+	}
+
+	public boolean isKeepOnlyReferencedMethods() {
+		return keepOnlyReferencedMethods;
+	}
+
+	public boolean isOmitBeanMethods() {
+		return omitBeanMethods;
+	}
+
+	public boolean isShowOmittedAccessors() {
+		return showOmittedAccessors;
+	}
+
+	public boolean isShowRemovedMethods() {
+		return showRemovedMethods;
+	}
+
+	public boolean isShowErrorStacktrace() {
+		return showErrorStacktrace;
+	}
+
+	public String getCallGraphDispatch() {
+		return callGraphDispatch;
+	}
+
+	public boolean isSyntacticResolution() {
+		return syntacticResolution;
+	}
+
+	public List<String> getSourceDirectories() {
+		return sourceDirectories;
+	}
+
+	public boolean isDirectoryMode() {
+		return directoryMode;
+	}
+
+	public boolean isImportSkipEnabled() {
+		return importSkipEnabled;
+	}
+
+	public Set<String> getGraphExportFormats() {
+		return graphExportFormats;
+	}
+
+	public String getGraphExportPath() {
+		return graphExportPath;
+	}
+
+	public int getMethodCostReportSize() {
+		return methodCostReportSize;
+	}
+
+	public List<String> getImpactTargets() {
+		return impactTargets;
+	}
+
+	public String getImpactReportFormat() {
+		return impactReportFormat;
+	}
+
+	public String getMetricsJsonFile() {
+		return metricsJsonFile;
+	}
+}
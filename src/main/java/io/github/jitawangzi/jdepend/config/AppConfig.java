@@ -161,11 +161,82 @@ public interface AppConfig extends Config {
 	@Key("directory.allowed.extensions")
 	Set<String> getAllowedFileExtensions();
 
+	/**
+	 * 遍历目录时是否遵循各级目录中的 .gitignore / .ignore 文件
+	 */
+	@DefaultValue("true")
+	@Key("respect.ignore.files")
+	boolean isRespectIgnoreFiles();
+
+	/**
+	 * 接口/父类方法调用的展开方式：NONE 不展开，CHA 展开到所有子类型中的实现，RTA 只展开到被实例化过的子类型
+	 */
+	@DefaultValue("CHA")
+	@Key("call.graph.dispatch")
+	String getCallGraphDispatch();
+
+	/**
+	 * 收集类级别依赖时的类型解析方式：SOLVER 使用符号解析；SYNTACTIC 只按导入、同包、内部类和项目类索引匹配类名，有歧义时才使用符号解析
+	 */
+	@DefaultValue("SOLVER")
+	@Key("type.resolution.mode")
+	String getTypeResolutionMode();
+
 	/**
 	 * 获取额外的源码目录
 	 */
 	@Separator(",")
 	@Key("source.directories")
 	List<String> getSourceDirectories();
-}
 
+	/**
+	 * 依赖图导出格式（逗号分隔）：DOT、GRAPHML、BINARY，为空时不导出
+	 */
+	@Separator(",")
+	@DefaultValue("")
+	@Key("graph.export.formats")
+	Set<String> getGraphExportFormats();
+
+	/**
+	 * 依赖图导出文件的路径前缀，实际文件为 {前缀}.methods.{扩展名} 和 {前缀}.classes.{扩展名}
+	 */
+	@DefaultValue("callgraph")
+	@Key("graph.export.path")
+	String getGraphExportPath();
+
+	/**
+	 * 方法token开销报告列出的方法数量：按方法自身开销和调用子树累计开销各列出前N个，0 表示不生成报告
+	 */
+	@DefaultValue("0")
+	@Key("method.cost.report.size")
+	int getMethodCostReportSize();
+
+	/**
+	 * 影响分析模式下要查询的类或方法（逗号分隔），命令行参数优先
+	 */
+	@Separator(",")
+	@DefaultValue("")
+	@Key("impact.targets")
+	List<String> getImpactTargets();
+
+	/**
+	 * 影响分析报告格式：MARKDOWN 或 JSON
+	 */
+	@DefaultValue("MARKDOWN")
+	@Key("impact.report.format")
+	String getImpactReportFormat();
+
+	/**
+	 * 架构度量模式下完整度量数据的JSON文件
+	 */
+	@DefaultValue("metrics.json")
+	@Key("metrics.json.file")
+	String getMetricsJsonFile();
+
+	/**
+	 * JDK类型索引文件，为空时使用用户目录下 .jdepend/jdk-types-<JDK版本>.idx，不存在或与当前JDK不符时自动生成
+	 */
+	@DefaultValue("")
+	@Key("jdk.type.index.file")
+	String getJdkTypeIndexFile();
+}
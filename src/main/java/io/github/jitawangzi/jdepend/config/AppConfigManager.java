@@ -1,31 +1,46 @@
 package io.github.jitawangzi.jdepend.config;
 
 import org.aeonbits.owner.ConfigFactory;
+
+import java.lang.reflect.Method;
 import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
 
 public class AppConfigManager {
 
     // 这里的 instance 不是 final 的，可以被修改
     private static volatile AppConfig instance;
 
+    // 导入配置，默认使用 ImportConfig.INSTANCE，reload 时与 AppConfig 一起重新创建
+    private static volatile ImportConfig importConfig = new ImportConfigSnapshot(ImportConfig.INSTANCE);
+
     // 私有构造，防止实例化
     private AppConfigManager() {}
 
     /**
      * 获取当前配置实例（懒加载）
+     * 返回的是创建时读取一次的不可变快照，getter 不再经过 Owner 的属性查找和类型转换
      */
     public static AppConfig get() {
         if (instance == null) {
             synchronized (AppConfigManager.class) {
                 if (instance == null) {
                     // 默认初始化
-                    instance = ConfigFactory.create(AppConfig.class);
+                    instance = new AppConfigSnapshot(ConfigFactory.create(AppConfig.class));
                 }
             }
         }
         return instance;
     }
 
+    /**
+     * 获取当前的导入配置
+     */
+    public static ImportConfig getImportConfig() {
+        return importConfig;
+    }
+
     /**
      * 重新加载配置（用于 Eclipse 插件）
      * @param customProperties 来自 Eclipse 界面设置的属性
@@ -33,13 +48,30 @@ public class AppConfigManager {
     public static void reload(Properties customProperties) {
         // Owner 允许传入 Properties，它的优先级最高，会覆盖 @Sources 中的配置
         // 这样你就可以把 Eclipse 的 PreferenceStore 转成 Properties 传进来
-        instance = ConfigFactory.create(AppConfig.class, customProperties);
+        instance = new AppConfigSnapshot(ConfigFactory.create(AppConfig.class, customProperties));
+        importConfig = new ImportConfigSnapshot(ConfigFactory.create(ImportConfig.class, customProperties));
     }
     
     /**
      * 重置为默认配置
      */
     public static void reset() {
-        instance = ConfigFactory.create(AppConfig.class);
+        instance = new AppConfigSnapshot(ConfigFactory.create(AppConfig.class));
+        importConfig = new ImportConfigSnapshot(ImportConfig.INSTANCE);
+    }
+
+    /**
+     * 所有配置项的键（AppConfig 和 ImportConfig），用于校验命令行参数
+     */
+    public static Set<String> getKeys() {
+        Set<String> keys = new TreeSet<>();
+        for (Class<?> type : new Class<?>[] { AppConfig.class, ImportConfig.class }) {
+            for (Method method : type.getDeclaredMethods()) {
+                if (method.getParameterCount() == 0 && !method.isSynthetic()) {
+                    keys.add(ConfigSnapshot.keyOf(method));
+                }
+            }
+        }
+        return keys;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,264 @@
+package io.github.jitawangzi.jdepend.config;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * AppConfig 的不可变快照，见 ConfigSnapshot
+ * AppConfig 增加配置项时这里需要同时增加字段和 getter，否则无法编译
+ */
+final class AppConfigSnapshot extends ConfigSnapshot implements AppConfig {
+
+	private final String projectRootPath;
+	private final String mainClass;
+	private final int maxDepth;
+	private final int methodBodyMaxDepth;
+	private final boolean showErrorStacktrace;
+	private final boolean simplifyMethods;
+	private final String outputFile;
+	private final Set<String> excludedPackages;
+	private final Set<String> projectPackagePrefixes;
+	private final Set<String> methodExceptions;
+	private final int contentSizeThreshold;
+	private final boolean omitBeanMethods;
+	private final boolean showOmittedAccessors;
+	private final boolean keepOnlyReferencedMethods;
+	private final boolean showRemovedMethods;
+	private final boolean directoryModeEnabled;
+	private final String directoryPath;
+	private final List<String> includeFiles;
+	private final List<String> excludeFiles;
+	private final Set<String> includeFolders;
+	private final Set<String> excludeFolders;
+	private final Set<String> allowedFileExtensions;
+	private final boolean respectIgnoreFiles;
+	private final String callGraphDispatch;
+	private final String typeResolutionMode;
+	private final List<String> sourceDirectories;
+	private final Set<String> graphExportFormats;
+	private final String graphExportPath;
+	private final int methodCostReportSize;
+	private final List<String> impactTargets;
+	private final String impactReportFormat;
+	private final String metricsJsonFile;
+	private final String jdkTypeIndexFile;
+
+	/**
+	 * 读取 Owner 配置中的每个配置项
+	 *
+	 * @param source Owner 创建的配置
+	 */
+	AppConfigSnapshot(AppConfig source) {
+		super(AppConfig.class);
+		this.projectRootPath = read("project.root", source::getProjectRootPath);
+		this.mainClass = read("main.class", source::getMainClass);
+		this.maxDepth = readPrimitive("max.depth", source::getMaxDepth, 0);
+		this.methodBodyMaxDepth = readPrimitive("method.body.max.depth", source::getMethodBodyMaxDepth, 0);
+		this.showErrorStacktrace = readPrimitive("show.error.stacktrace", source::showErrorStacktrace, false);
+		this.simplifyMethods = readPrimitive("simplify.methods", source::isSimplifyMethods, false);
+		this.outputFile = read("output.file", source::getOutputFile);
+		this.excludedPackages = readSet("excluded.packages", source::getExcludedPackages);
+		this.projectPackagePrefixes = readSet("project.package.prefixes", source::getProjectPackagePrefixes);
+		this.methodExceptions = readSet("method.exceptions", source::getMethodExceptions);
+		this.contentSizeThreshold = readPrimitive("content.size.threshold", source::getContentSizeThreshold, 0);
+		this.omitBeanMethods = readPrimitive("omit.bean.methods", source::isOmitBeanMethods, false);
+		this.showOmittedAccessors = readPrimitive("show.omitted.accessors", source::isShowOmittedAccessors, false);
+		this.keepOnlyReferencedMethods = readPrimitive("keep.only.referenced.methods", source::isKeepOnlyReferencedMethods, false);
+		this.showRemovedMethods = readPrimitive("show.removed.methods", source::isShowRemovedMethods, false);
+		this.directoryModeEnabled = readPrimitive("directory.mode.enabled", source::isDirectoryModeEnabled, false);
+		this.directoryPath = read("directory.path", source::getDirectoryPath);
+		this.includeFiles = readList("directory.include.files", source::getIncludeFiles);
+		this.excludeFiles = readList("directory.exclude.files", source::getExcludeFiles);
+		this.includeFolders = readSet("directory.include.folders", source::getIncludeFolders);
+		this.excludeFolders = readSet("directory.exclude.folders", source::getExcludeFolders);
+		this.allowedFileExtensions = readSet("directory.allowed.extensions", source::getAllowedFileExtensions);
+		this.respectIgnoreFiles = readPrimitive("respect.ignore.files", source::isRespectIgnoreFiles, false);
+		this.callGraphDispatch = read("call.graph.dispatch", source::getCallGraphDispatch);
+		this.typeResolutionMode = read("type.resolution.mode", source::getTypeResolutionMode);
+		this.sourceDirectories = readList("source.directories", source::getSourceDirectories);
+		this.graphExportFormats = readSet("graph.export.formats", source::getGraphExportFormats);
+		this.graphExportPath = read("graph.export.path", source::getGraphExportPath);
+		this.methodCostReportSize = readPrimitive("method.cost.report.size", source::getMethodCostReportSize, 0);
+		this.impactTargets = readList("impact.targets", source::getImpactTargets);
+		this.impactReportFormat = read("impact.report.format", source::getImpactReportFormat);
+		this.metricsJsonFile = read("metrics.json.file", source::getMetricsJsonFile);
+		this.jdkTypeIndexFile = read("jdk.type.index.file", source::getJdkTypeIndexFile);
+	}
+
+	@Override
+	public String getProjectRootPath() {
+		return projectRootPath;
+	}
+
+	@Override
+	public String getMainClass() {
+		return mainClass;
+	}
+
+	@Override
+	public int getMaxDepth() {
+		check("max.depth");
+		return maxDepth;
+	}
+
+	@Override
+	public int getMethodBodyMaxDepth() {
+		check("method.body.max.depth");
+		return methodBodyMaxDepth;
+	}
+
+	@Override
+	public boolean showErrorStacktrace() {
+		check("show.error.stacktrace");
+		return showErrorStacktrace;
+	}
+
+	@Override
+	public boolean isSimplifyMethods() {
+		check("simplify.methods");
+		return simplifyMethods;
+	}
+
+	@Override
+	public String getOutputFile() {
+		return outputFile;
+	}
+
+	@Override
+	public Set<String> getExcludedPackages() {
+		return excludedPackages;
+	}
+
+	@Override
+	public Set<String> getProjectPackagePrefixes() {
+		return projectPackagePrefixes;
+	}
+
+	@Override
+	public Set<String> getMethodExceptions() {
+		return methodExceptions;
+	}
+
+	@Override
+	public int getContentSizeThreshold() {
+		check("content.size.threshold");
+		return contentSizeThreshold;
+	}
+
+	@Override
+	public boolean isOmitBeanMethods() {
+		check("omit.bean.methods");
+		return omitBeanMethods;
+	}
+
+	@Override
+	public boolean isShowOmittedAccessors() {
+		check("show.omitted.accessors");
+		return showOmittedAccessors;
+	}
+
+	@Override
+	public boolean isKeepOnlyReferencedMethods() {
+		check("keep.only.referenced.methods");
+		return keepOnlyReferencedMethods;
+	}
+
+	@Override
+	public boolean isShowRemovedMethods() {
+		check("show.removed.methods");
+		return showRemovedMethods;
+	}
+
+	@Override
+	public boolean isDirectoryModeEnabled() {
+		check("directory.mode.enabled");
+		return directoryModeEnabled;
+	}
+
+	@Override
+	public String getDirectoryPath() {
+		return directoryPath;
+	}
+
+	@Override
+	public List<String> getIncludeFiles() {
+		return includeFiles;
+	}
+
+	@Override
+	public List<String> getExcludeFiles() {
+		return excludeFiles;
+	}
+
+	@Override
+	public Set<String> getIncludeFolders() {
+		return includeFolders;
+	}
+
+	@Override
+	public Set<String> getExcludeFolders() {
+		return excludeFolders;
+	}
+
+	@Override
+	public Set<String> getAllowedFileExtensions() {
+		return allowedFileExtensions;
+	}
+
+	@Override
+	public boolean isRespectIgnoreFiles() {
+		check("respect.ignore.files");
+		return respectIgnoreFiles;
+	}
+
+	@Override
+	public String getCallGraphDispatch() {
+		return callGraphDispatch;
+	}
+
+	@Override
+	public String getTypeResolutionMode() {
+		return typeResolutionMode;
+	}
+
+	@Override
+	public List<String> getSourceDirectories() {
+		return sourceDirectories;
+	}
+
+	@Override
+	public Set<String> getGraphExportFormats() {
+		return graphExportFormats;
+	}
+
+	@Override
+	public String getGraphExportPath() {
+		return graphExportPath;
+	}
+
+	@Override
+	public int getMethodCostReportSize() {
+		check("method.cost.report.size");
+		return methodCostReportSize;
+	}
+
+	@Override
+	public List<String> getImpactTargets() {
+		return impactTargets;
+	}
+
+	@Override
+	public String getImpactReportFormat() {
+		return impactReportFormat;
+	}
+
+	@Override
+	public String getMetricsJsonFile() {
+		return metricsJsonFile;
+	}
+
+	@Override
+	public String getJdkTypeIndexFile() {
+		return jdkTypeIndexFile;
+	}
+}
@@ -0,0 +1,99 @@
+package io.github.jitawangzi.jdepend.config;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import org.aeonbits.owner.Config.Key;
+
+/**
+ * Owner 配置不可变快照的公共部分
+ * Owner 的配置代理每次调用 getter 都要重新查找属性、做类型转换；快照（AppConfigSnapshot、ImportConfigSnapshot）
+ * 在创建时把每个配置项读取一次保存到 final 字段，之后的调用只是字段访问，返回的集合也不可修改。
+ * 只有 int、boolean 配置项会读取失败（没有配置值，或者值无法转换）：快照记录下异常，调用对应方法时再抛出，和直接使用 Owner 时的行为一致。
+ */
+abstract class ConfigSnapshot {
+
+	private final String name;
+	// 配置项的键 -> 值，只用于 toString
+	private final Map<String, Object> values = new TreeMap<>();
+	// 读取失败的配置项，通常为空
+	private final Map<String, RuntimeException> failures = new HashMap<>();
+
+	ConfigSnapshot(Class<?> type) {
+		this.name = type.getSimpleName();
+	}
+
+	/**
+	 * 配置项的键，没有 @Key 时 Owner 使用方法名
+	 */
+	static String keyOf(Method method) {
+		Key key = method.getAnnotation(Key.class);
+		return key != null ? key.value() : method.getName();
+	}
+
+	/**
+	 * 读取字符串配置项
+	 */
+	final String read(String key, Supplier<String> getter) {
+		String value = getter.get();
+		values.put(key, value);
+		return value;
+	}
+
+	/**
+	 * 读取 Set 配置项，返回不可修改的集合
+	 */
+	final Set<String> readSet(String key, Supplier<Set<String>> getter) {
+		Set<String> value = getter.get();
+		value = value == null ? null : Collections.unmodifiableSet(value);
+		values.put(key, value);
+		return value;
+	}
+
+	/**
+	 * 读取 List 配置项，返回不可修改的列表
+	 */
+	final List<String> readList(String key, Supplier<List<String>> getter) {
+		List<String> value = getter.get();
+		value = value == null ? null : Collections.unmodifiableList(value);
+		values.put(key, value);
+		return value;
+	}
+
+	/**
+	 * 读取 int/boolean 配置项，失败时记录异常并返回 fallback
+	 */
+	final <T> T readPrimitive(String key, Supplier<T> getter, T fallback) {
+		try {
+			T value = getter.get();
+			values.put(key, value);
+			return value;
+		} catch (RuntimeException e) {
+			failures.put(key, e);
+			return fallback;
+		}
+	}
+
+	/**
+	 * 配置项读取失败时抛出当时的异常，在 int/boolean 的 getter 中调用
+	 */
+	final void check(String key) {
+		if (!failures.isEmpty()) {
+			RuntimeException failure = failures.get(key);
+			if (failure != null) {
+				throw failure;
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return name + values;
+	}
+}
@@ -0,0 +1,41 @@
+package io.github.jitawangzi.jdepend.config;
+
+import java.util.Set;
+
+/**
+ * ImportConfig 的不可变快照，见 ConfigSnapshot
+ */
+final class ImportConfigSnapshot extends ConfigSnapshot implements ImportConfig {
+
+	private final boolean skipEnabled;
+	private final Set<String> skipPrefixes;
+	private final Set<String> keepPrefixes;
+
+	/**
+	 * 读取 Owner 配置中的每个配置项
+	 *
+	 * @param source Owner 创建的配置
+	 */
+	ImportConfigSnapshot(ImportConfig source) {
+		super(ImportConfig.class);
+		this.skipEnabled = readPrimitive("import.skip.enabled", source::isSkipEnabled, false);
+		this.skipPrefixes = readSet("import.skip.prefixes", source::getSkipPrefixes);
+		this.keepPrefixes = readSet("import.keep.prefixes", source::getKeepPrefixes);
+	}
+
+	@Override
+	public boolean isSkipEnabled() {
+		check("import.skip.enabled");
+		return skipEnabled;
+	}
+
+	@Override
+	public Set<String> getSkipPrefixes() {
+		return skipPrefixes;
+	}
+
+	@Override
+	public Set<String> getKeepPrefixes() {
+		return keepPrefixes;
+	}
+}
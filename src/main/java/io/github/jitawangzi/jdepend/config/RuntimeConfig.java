@@ -1,5 +1,9 @@
 package io.github.jitawangzi.jdepend.config;
 
+/**
+ * @deprecated 目录模式改为由 {@link AnalysisContext#isDirectoryMode()} 表示，分析过程不再读取这个全局变量
+ */
+@Deprecated
 public class RuntimeConfig {
 	public static boolean isDirectoryMode = false; // 是否目录模式;
 
@@ -0,0 +1,293 @@
+package io.github.jitawangzi.jdepend.core.analyzer;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.EnumDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.RecordDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+
+import io.github.jitawangzi.jdepend.config.AnalysisContext;
+import io.github.jitawangzi.jdepend.util.CommonUtil;
+import io.github.jitawangzi.jdepend.util.MethodSignatureUtil;
+import io.github.jitawangzi.jdepend.util.SyntacticTypeResolver;
+
+/**
+ * 类继承关系索引
+ * 在分析类的同一遍解析中记录每个类型的直接父类型、声明的方法以及被实例化的类型，
+ * 用于把接口/抽象方法的调用展开到子类型中的实现（CHA / RTA），不需要再次解析类文件。
+ * 类型解析（describe）与合并到索引（add）分开，并行构建时解析在各个工作线程中进行，索引本身只在一个线程中修改。
+ */
+public class ClassHierarchyIndex {
+	private static Logger log = LoggerFactory.getLogger(ClassHierarchyIndex.class);
+
+	// 类型 -> 直接父类型（父类和接口）
+	private final Map<String, Set<String>> supertypes = new HashMap<>();
+	// 类型 -> 直接子类型
+	private final Map<String, Set<String>> subtypes = new HashMap<>();
+	// 类型 -> 声明了方法体的方法签名（方法名(参数类型)，参数无法解析时只有方法名）
+	private final Map<String, Set<String>> implementedMethods = new HashMap<>();
+	// 被实例化（new）过的类型
+	private final Set<String> instantiatedTypes = new HashSet<>();
+	// 类文件主类名 -> 文件中所有类型（含内部类）的直接父类型
+	private final Map<String, Set<String>> unitSupertypes = new HashMap<>();
+	// 类型 -> 声明该类型的类文件主类名
+	private final Map<String, String> typeUnits = new HashMap<>();
+
+	private final AnalysisContext context;
+	// 只有 RTA 需要被实例化的类型
+	private final boolean collectInstantiations;
+
+	public ClassHierarchyIndex(AnalysisContext context) {
+		this.context = context;
+		this.collectInstantiations = "RTA".equalsIgnoreCase(context.getCallGraphDispatch());
+	}
+
+	/**
+	 * 记录编译单元中所有类型的继承关系、方法和实例化信息
+	 *
+	 * @param cu 编译单元
+	 */
+	public void addCompilationUnit(CompilationUnit cu) {
+		if (!unitSupertypes.containsKey(CommonUtil.getFullClassName(cu))) {
+			add(describe(cu));
+		}
+	}
+
+	/**
+	 * 解析编译单元中所有类型的直接父类型、声明的方法以及被实例化的类型，不修改索引
+	 * 需要使用符号解析器，应在解析该编译单元的线程中调用；可以多个线程同时调用
+	 *
+	 * @param cu 编译单元
+	 * @return 类文件的继承关系，用 add 合并到索引中
+	 */
+	public UnitHierarchy describe(CompilationUnit cu) {
+		UnitHierarchy unit = new UnitHierarchy(CommonUtil.getFullClassName(cu));
+		for (TypeDeclaration<?> type : cu.findAll(TypeDeclaration.class)) {
+			String typeName = type.getFullyQualifiedName().orElse(null);
+			if (typeName == null) {
+				// 局部类没有全限定名
+				continue;
+			}
+			Set<String> directSupertypes = unit.supertypes.computeIfAbsent(typeName, k -> new LinkedHashSet<>());
+			if (type instanceof ClassOrInterfaceDeclaration) {
+				ClassOrInterfaceDeclaration classDecl = (ClassOrInterfaceDeclaration) type;
+				addSupertypes(cu, classDecl.getExtendedTypes(), directSupertypes);
+				addSupertypes(cu, classDecl.getImplementedTypes(), directSupertypes);
+			} else if (type instanceof EnumDeclaration) {
+				addSupertypes(cu, ((EnumDeclaration) type).getImplementedTypes(), directSupertypes);
+			} else if (type instanceof RecordDeclaration) {
+				addSupertypes(cu, ((RecordDeclaration) type).getImplementedTypes(), directSupertypes);
+			}
+
+			Set<String> methods = unit.implementedMethods.computeIfAbsent(typeName, k -> new HashSet<>());
+			for (MethodDeclaration method : type.getMethods()) {
+				if (method.getBody().isPresent()) {
+					methods.add(method.getNameAsString() + MethodSignatureUtil.parametersOf(method));
+				}
+			}
+		}
+
+		if (collectInstantiations) {
+			for (ObjectCreationExpr creation : cu.findAll(ObjectCreationExpr.class)) {
+				String typeName = resolveType(cu, creation.getType());
+				if (typeName != null) {
+					unit.instantiatedTypes.add(typeName);
+				}
+			}
+		}
+		return unit;
+	}
+
+	/**
+	 * 把 describe 的结果合并到索引中，只复制数据，不做解析；类文件已经记录过时忽略
+	 *
+	 * @param unit 类文件的继承关系
+	 */
+	public void add(UnitHierarchy unit) {
+		if (unitSupertypes.containsKey(unit.unitName)) {
+			return;
+		}
+		Set<String> allSupertypes = new LinkedHashSet<>();
+		unitSupertypes.put(unit.unitName, allSupertypes);
+
+		for (Map.Entry<String, Set<String>> entry : unit.supertypes.entrySet()) {
+			String typeName = entry.getKey();
+			typeUnits.put(typeName, unit.unitName);
+			supertypes.computeIfAbsent(typeName, k -> new LinkedHashSet<>()).addAll(entry.getValue());
+			allSupertypes.addAll(entry.getValue());
+			for (String supertype : entry.getValue()) {
+				subtypes.computeIfAbsent(supertype, k -> new LinkedHashSet<>()).add(typeName);
+			}
+		}
+		unit.implementedMethods.forEach((typeName, methods) -> implementedMethods.computeIfAbsent(typeName, k -> new HashSet<>()).addAll(methods));
+		instantiatedTypes.addAll(unit.instantiatedTypes);
+	}
+
+	private void addSupertypes(CompilationUnit cu, NodeList<ClassOrInterfaceType> types, Set<String> result) {
+		for (ClassOrInterfaceType type : types) {
+			String typeName = resolveType(cu, type);
+			if (typeName != null) {
+				result.add(typeName);
+			}
+		}
+	}
+
+	/**
+	 * 解析类型的全限定名，优先使用符号解析，失败时按导入语句和包索引查找
+	 * 两者都确定不了时返回null，不猜测类名（例如缺少依赖jar的父类型）
+	 */
+	private String resolveType(CompilationUnit cu, ClassOrInterfaceType type) {
+		try {
+			return type.resolve().asReferenceType().getQualifiedName();
+		} catch (Exception e) {
+			log.debug("无法解析类型 {}，按导入语句查找", type);
+		}
+		return SyntacticTypeResolver.of(cu).resolveTypeName(context, type);
+	}
+
+	/**
+	 * 类文件是否已经记录到索引中
+	 *
+	 * @param unitName 类文件主类名
+	 */
+	public boolean containsUnit(String unitName) {
+		return unitSupertypes.containsKey(unitName);
+	}
+
+	/**
+	 * 获取声明类型的类文件主类名
+	 *
+	 * @param typeName 类型全限定名，可能是内部类
+	 * @return 类文件主类名，类型不在索引中时返回null
+	 */
+	public String getUnitOf(String typeName) {
+		return typeUnits.get(typeName);
+	}
+
+	/**
+	 * 获取类文件中所有类型的直接父类型，父类型是内部类时换成声明它的类文件主类名
+	 *
+	 * @param unitName 类文件主类名
+	 * @return 父类型所在的类文件主类名集合
+	 */
+	public Set<String> getUnitSupertypes(String unitName) {
+		Set<String> result = new LinkedHashSet<>();
+		for (String supertype : unitSupertypes.getOrDefault(unitName, Set.of())) {
+			result.add(typeUnits.getOrDefault(supertype, supertype));
+		}
+		result.remove(unitName);
+		return result;
+	}
+
+	/**
+	 * 获取类型的直接父类型
+	 */
+	public Set<String> getDirectSupertypes(String typeName) {
+		return supertypes.getOrDefault(typeName, Set.of());
+	}
+
+	/**
+	 * 获取类型的所有子类型（传递闭包，不含自身）
+	 */
+	public Set<String> getAllSubtypes(String typeName) {
+		Set<String> result = new LinkedHashSet<>();
+		Deque<String> stack = new ArrayDeque<>(subtypes.getOrDefault(typeName, Set.of()));
+		while (!stack.isEmpty()) {
+			String subtype = stack.pop();
+			if (result.add(subtype)) {
+				stack.addAll(subtypes.getOrDefault(subtype, Set.of()));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 类型本身或它的某个子类型是否被实例化过
+	 */
+	public boolean isInstantiatedOrSubtype(String typeName) {
+		if (instantiatedTypes.contains(typeName)) {
+			return true;
+		}
+		for (String subtype : getAllSubtypes(typeName)) {
+			if (instantiatedTypes.contains(subtype)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 查找子类型中对方法的实现
+	 * 只有方法名的签名会匹配子类型中同名的所有方法
+	 *
+	 * @param methodKey 方法签名（类名.方法名(参数类型)）
+	 * @param typeFilter 子类型过滤条件，例如只保留被实例化过的类型
+	 * @return 子类型中实现方法的签名集合
+	 */
+	public Set<String> findImplementations(String methodKey, Predicate<String> typeFilter) {
+		String className = MethodSignatureUtil.classNameOf(methodKey);
+		Set<String> subtypeNames = getAllSubtypes(className);
+		if (subtypeNames.isEmpty()) {
+			return Set.of();
+		}
+		String methodName = MethodSignatureUtil.methodNameOf(methodKey);
+		String signature = methodKey.substring(className.length() + 1);
+		boolean nameOnly = MethodSignatureUtil.isNameOnly(methodKey);
+
+		Set<String> result = new LinkedHashSet<>();
+		for (String subtype : subtypeNames) {
+			if (!typeFilter.test(subtype)) {
+				continue;
+			}
+			for (String method : implementedMethods.getOrDefault(subtype, Set.of())) {
+				boolean matches = nameOnly || MethodSignatureUtil.isNameOnly(method) ? MethodSignatureUtil.nameKey(method).equals(methodName)
+						: method.equals(signature);
+				if (matches) {
+					result.add(subtype + "." + method);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 一个类文件中所有类型的继承关系，由 describe 在工作线程中解析得到，创建后不再修改
+	 */
+	public static final class UnitHierarchy {
+		private final String unitName;
+		// 类型 -> 直接父类型，按类型的声明顺序
+		private final Map<String, Set<String>> supertypes = new LinkedHashMap<>();
+		// 类型 -> 声明了方法体的方法签名
+		private final Map<String, Set<String>> implementedMethods = new HashMap<>();
+		// 被实例化的类型，只有 RTA 时收集
+		private final Set<String> instantiatedTypes = new HashSet<>();
+
+		private UnitHierarchy(String unitName) {
+			this.unitName = unitName;
+		}
+
+		/**
+		 * 类文件主类名
+		 */
+		public String getUnitName() {
+			return unitName;
+		}
+	}
+}
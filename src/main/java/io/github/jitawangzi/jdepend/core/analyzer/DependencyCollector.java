@@ -9,9 +9,10 @@ import java.util.Queue;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import io.github.jitawangzi.jdepend.config.AppConfigManager;
+import io.github.jitawangzi.jdepend.config.AnalysisContext;
 import io.github.jitawangzi.jdepend.core.model.ClassDependency;
 import io.github.jitawangzi.jdepend.util.CommonUtil;
+import io.github.jitawangzi.jdepend.util.FileLocator;
 
 /**
  * 依赖收集器，负责收集类的依赖关系
@@ -19,13 +20,15 @@ import io.github.jitawangzi.jdepend.util.CommonUtil;
 public class DependencyCollector {
 	private final Map<String, Integer> classDepths = new HashMap<>();
 	private final Set<String> collected = new HashSet<>();
+	private final AnalysisContext context;
 
 	/**
 	 * 构造函数
 	 * 
-	 * @param config 配置对象
+	 * @param context 分析配置
 	 */
-	public DependencyCollector() {
+	public DependencyCollector(AnalysisContext context) {
+		this.context = context;
 	}
 
 	/**
@@ -35,7 +38,7 @@ public class DependencyCollector {
 	 * @throws Exception 如果收集过程中发生错误
 	 */
 	public List<ClassDependency> collect() throws Exception {
-		collectDependenciesBFS(AppConfigManager.get().getMainClass(), 0);
+		collectDependenciesBFS(context.getMainClass(), 0);
 		return classDepths.entrySet().stream().map(e -> new ClassDependency(e.getKey(), e.getValue())).collect(Collectors.toList());
 	}
 
@@ -64,9 +67,12 @@ public class DependencyCollector {
 			classDepths.put(className, currentDepth);
 			collected.add(className);
 
-			Set<String> dependencies = CommonUtil.collectClassLevelDependencies(CommonUtil.parseCompilationUnit(className), className);
+			Set<String> dependencies = CommonUtil.collectClassLevelDependencies(context, CommonUtil.parseCompilationUnit(className), className);
 
-			for (String dependencyClass : dependencies) {
+			for (String dependency : dependencies) {
+				// 内部类归到所在文件的主类，依赖列表按文件收集
+				String topLevelClass = FileLocator.getInstance().getTopLevelClassName(dependency);
+				String dependencyClass = topLevelClass != null ? topLevelClass : dependency;
 				int nextDepth = currentDepth + 1;
 
 				// 如果依赖类尚未被处理或现有深度大于新深度，则加入队列
@@ -86,8 +92,7 @@ public class DependencyCollector {
 	 * @return 是否应该跳过
 	 */
 	private boolean shouldSkip(String className, int currentDepth) {
-		return collected.contains(className) || (AppConfigManager.get().getMaxDepth() > 0 && currentDepth > AppConfigManager.get().getMaxDepth())
-				|| CommonUtil.isExcludedPackage(className);
+		return collected.contains(className) || context.exceedsMaxDepth(currentDepth) || context.isExcludedPackage(className);
 	}
 
 	public List<ClassDependency> collectFromClasses(Set<String> classes) throws Exception {
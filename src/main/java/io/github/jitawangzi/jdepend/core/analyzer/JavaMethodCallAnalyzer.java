@@ -22,8 +22,8 @@ import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.resolution.declarations.ResolvedMethodDeclaration;
 import com.github.javaparser.resolution.types.ResolvedType;
 
-import io.github.jitawangzi.jdepend.config.AppConfigManager;
 import io.github.jitawangzi.jdepend.util.CommonUtil;
+import io.github.jitawangzi.jdepend.util.MethodSignatureUtil;
 import io.github.jitawangzi.jdepend.util.ParseUtil;
 
 /**
@@ -38,7 +38,7 @@ public class JavaMethodCallAnalyzer {
 	 * 方法调用信息类，包含调用方法和被调用方法的信息
 	 */
 	public static class MethodCallInfo {
-		// 方法名
+		// 方法名，参数类型可以解析时带有参数签名，例如 send(java.lang.String,int)
 		private String methodName;
 		// 类名
 		private String className;
@@ -76,9 +76,9 @@ public class JavaMethodCallAnalyzer {
 			return methodCalls;
 		}
 
-		public void addMethodCall(String scope, String methodName) {
+		public void addMethodCall(String scope, String methodName, String parameters) {
 			methodCalls.putIfAbsent(scope, new ArrayList<>());
-			methodCalls.get(scope).add(new MethodCall(scope, methodName));
+			methodCalls.get(scope).add(new MethodCall(scope, methodName, parameters));
 		}
 	}
 
@@ -90,10 +90,13 @@ public class JavaMethodCallAnalyzer {
 		private String scope;
 		// 方法名
 		private String methodName;
+		// 参数签名，例如 (java.lang.String,int)，无法解析时为空字符串
+		private String parameters;
 
-		public MethodCall(String scope, String methodName) {
+		public MethodCall(String scope, String methodName, String parameters) {
 			this.scope = scope;
 			this.methodName = methodName;
+			this.parameters = parameters;
 		}
 
 		public String getScope() {
@@ -104,6 +107,17 @@ public class JavaMethodCallAnalyzer {
 			return methodName;
 		}
 
+		public String getParameters() {
+			return parameters;
+		}
+
+		/**
+		 * 获取方法签名：方法名加参数签名，无法解析参数时只有方法名
+		 */
+		public String getSignature() {
+			return methodName + parameters;
+		}
+
 		@Override
 		public String toString() {
 			return scope + "." + methodName + "()";
@@ -114,10 +128,11 @@ public class JavaMethodCallAnalyzer {
 	 * 分析单个Java文件中的方法调用
 	 * 
 	 * @param CompilationUnit cu 
+	 * @param showErrorStacktrace 解析失败时是否输出异常堆栈
 	 * @return 方法调用信息的Map，key为调用方法名(类里的方法)，value为方法调用信息（调用了哪些方法）
 	 * @throws IOException 如果文件读取异常
 	 */
-	public static Map<String, MethodCallInfo> analyzeJavaFile(CompilationUnit cu) throws IOException {
+	public static Map<String, MethodCallInfo> analyzeJavaFile(CompilationUnit cu, boolean showErrorStacktrace) throws IOException {
 
 		// 获取类名和包名
 		String className = CommonUtil.getClassName(cu);
@@ -132,21 +147,23 @@ public class JavaMethodCallAnalyzer {
 				log.debug("  方法: " + method.getName());
 				method.findAll(MethodCallExpr.class).forEach(methodCall -> {
 					try {
-						// 获取调用者方法
+						// 获取调用者方法（带参数签名，区分重载）
 						String callerMethodName = methodCall.findAncestor(com.github.javaparser.ast.body.MethodDeclaration.class)
-								.map(md -> md.getNameAsString())
+								.map(md -> md.getNameAsString() + MethodSignatureUtil.parametersOf(md))
 								.orElse("unknown");
 						String resolvedClassName = null;
 						String resolvedMethodName = null;
+						String resolvedParameters = "";
 						try {
 							ResolvedMethodDeclaration resolvedMethod = methodCall.resolve();
 							resolvedClassName = resolvedMethod.getPackageName() + "." + resolvedMethod.getClassName();
 							resolvedMethodName = resolvedMethod.getName();
+							resolvedParameters = MethodSignatureUtil.parametersOf(resolvedMethod);
 							log.debug("SymbolSolver解析" + className + "中的方法" + callerMethodName + "调用成功: " + resolvedClassName + " "
 									+ resolvedMethodName);
 						} catch (Exception e) {
 							log.debug("SymbolSolver解析" + className + "中的方法" + callerMethodName + "调用失败，退化为自定义方式 ");
-							if (AppConfigManager.get().showErrorStacktrace()) {
+							if (showErrorStacktrace) {
 								log.error("SymbolSolver解析" + className + "中的方法" + callerMethodName + "调用失败,failCount : "
 										+ failedCount.incrementAndGet(), e);
 							} else {
@@ -170,9 +187,9 @@ public class JavaMethodCallAnalyzer {
 						MethodCallInfo info = methodCallsMap.get(callerMethodName);
 						info.setClassName(className);
 						info.setPackageName(packageName);
-						info.addMethodCall(resolvedClassName, resolvedMethodName);
+						info.addMethodCall(resolvedClassName, resolvedMethodName, resolvedParameters);
 					} catch (Exception e) {
-						if (AppConfigManager.get().showErrorStacktrace()) {
+						if (showErrorStacktrace) {
 							log.error("解析方法调用失败: " + methodCall, e);
 						} else {
 							log.error("解析方法调用失败: " + methodCall + ",请检查代码是否有错误");
@@ -1,7 +1,8 @@
 package io.github.jitawangzi.jdepend.core.analyzer;
 
 import java.io.IOException;
-import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -14,16 +15,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.javaparser.ast.CompilationUnit;
-import com.github.javaparser.ast.ImportDeclaration;
-import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
-import com.github.javaparser.ast.type.ClassOrInterfaceType;
 
-import io.github.jitawangzi.jdepend.config.AppConfigManager;
+import io.github.jitawangzi.jdepend.config.AnalysisContext;
+import io.github.jitawangzi.jdepend.core.analyzer.ClassHierarchyIndex.UnitHierarchy;
 import io.github.jitawangzi.jdepend.core.analyzer.JavaMethodCallAnalyzer.MethodCallInfo;
+import io.github.jitawangzi.jdepend.core.graph.CallGraph;
 import io.github.jitawangzi.jdepend.core.model.MethodReferenceInfo;
 import io.github.jitawangzi.jdepend.util.CommonUtil;
 import io.github.jitawangzi.jdepend.util.FileLocator;
+import io.github.jitawangzi.jdepend.util.MethodSignatureUtil;
 
 /**
  * 方法级依赖分析器 - 分析实际方法调用来确定依赖关系
@@ -37,13 +38,20 @@ public class MethodDependencyAnalyzer {
 	private final Set<String> analyzedClasses = new HashSet<>();
 	private final Queue<ClassAnalysisTask> pendingClasses = new LinkedList<>();
 
-	// 方法调用依赖映射（方法到类的映射）key:完整类名+方法名，value:这个方法调用到的类集合
+	// 方法调用依赖映射（方法到类的映射）key:方法签名（完整类名.方法名(参数类型)），value:这个方法调用到的类集合
 	private Map<String, Set<String>> methodDependencies = new HashMap<>();
 
-	// 方法调用依赖映射（方法到方法的映射）key:完整类名+方法名 ,value:这个方法调用到的其他方法（完整类名+方法名）集合
+	// 方法调用依赖映射（方法到方法的映射）key:方法签名 ,value:这个方法调用到的其他方法签名集合
+	// 参数类型无法解析的方法只有 完整类名.方法名，代表该名称的所有重载，见 MethodSignatureUtil
 	private Map<String, Set<String>> methodToMethodDependencies = new HashMap<>();
 
-	// 方法引用信息，key是方法全名（类名.方法名），value是引用信息
+	// 同名重载方法，key:完整类名.方法名，value:出现过的带参数签名集合
+	private final Map<String, Set<String>> overloads = new HashMap<>();
+
+	// 类继承关系索引，在分析类时同步构建，用于展开接口/抽象方法调用
+	private final ClassHierarchyIndex hierarchyIndex;
+
+	// 方法引用信息，key是方法签名，value是引用信息
 	private Map<String, MethodReferenceInfo> methodReferences = new HashMap<>();
 
 	// 跟踪从主类开始的实际调用路径
@@ -70,10 +78,16 @@ public class MethodDependencyAnalyzer {
 		}
 	}
 
+	private final AnalysisContext context;
+
 	/**
 	 * 构造函数
+	 * 
+	 * @param context 分析配置
 	 */
-	public MethodDependencyAnalyzer() {
+	public MethodDependencyAnalyzer(AnalysisContext context) {
+		this.context = context;
+		this.hierarchyIndex = new ClassHierarchyIndex(context);
 	}
 
 	/**
@@ -113,10 +127,7 @@ public class MethodDependencyAnalyzer {
 		}
 
 		// 添加必要的接口和父类依赖
-		Set<String> finalDependencies = new HashSet<>(actualDependencies);
-		for (String className : actualDependencies) {
-			addEssentialDependencies(className, finalDependencies);
-		}
+		Set<String> finalDependencies = addEssentialDependencies(actualDependencies);
 
 		log.info("实际依赖分析完成，从 {} 个潜在依赖中筛选出 {} 个实际依赖", allDependencies.size(), finalDependencies.size());
 		return finalDependencies;
@@ -134,8 +145,7 @@ public class MethodDependencyAnalyzer {
 			int depth = task.getDepth();
 
 			// 跳过已分析的类、排除的包，以及超出深度限制的类
-			if (analyzedClasses.contains(className) || CommonUtil.isExcludedPackage(className) || !CommonUtil.isProjectClass(className)
-					|| (AppConfigManager.get().getMaxDepth() > 0 && depth > AppConfigManager.get().getMaxDepth())) {
+			if (analyzedClasses.contains(className) || !context.isProjectClass(className) || context.exceedsMaxDepth(depth)) {
 				continue;
 			}
 
@@ -158,13 +168,16 @@ public class MethodDependencyAnalyzer {
 
 		// 解析类文件
 		CompilationUnit cu = CommonUtil.parseCompilationUnit(className);
+		if (cu != null) {
+			hierarchyIndex.addCompilationUnit(cu);
+		}
 
-		boolean keepMethods = CommonUtil.shouldKeepMethods(className, depth);
+		boolean keepMethods = context.shouldKeepMethods(className, depth);
 		if (keepMethods) {// 只有在保留方法体的时候，才需要处理引用的其他类，否则可以忽略
 			// 收集类级别依赖（导入、接口、父类等）
-			Set<String> collectClassLevelDependencies = CommonUtil.collectClassLevelDependencies(cu, className);
+			Set<String> collectClassLevelDependencies = CommonUtil.collectClassLevelDependencies(context, cu, className);
 			for (String string : collectClassLevelDependencies) {
-				if (CommonUtil.isProjectClass(string) && !allDependencies.containsKey(string)) {
+				if (context.isProjectClass(string) && !allDependencies.containsKey(string)) {
 					allDependencies.put(string, depth + 1);
 					pendingClasses.add(new ClassAnalysisTask(string, depth + 1));
 				}
@@ -183,55 +196,115 @@ public class MethodDependencyAnalyzer {
 	private void analyzeMethodCallsForClass(CompilationUnit cu, String className, int depth) {
 		try {
 			// 分析类中的方法调用
-			Map<String, MethodCallInfo> methodCalls = JavaMethodCallAnalyzer.analyzeJavaFile(cu);
-
-			// 处理分析结果
-			for (MethodCallInfo info : methodCalls.values()) {
-				String callerMethod = className + "." + info.getMethodName();
-
-				// 初始化依赖集合
-				methodDependencies.putIfAbsent(callerMethod, new HashSet<>());
-				methodToMethodDependencies.putIfAbsent(callerMethod, new HashSet<>());
-
-				// 处理被调用的方法
-				for (Map.Entry<String, List<JavaMethodCallAnalyzer.MethodCall>> entry : info.getMethodCalls().entrySet()) {
-					for (JavaMethodCallAnalyzer.MethodCall call : entry.getValue()) {
-						String scope = call.getScope();
-						String methodName = call.getMethodName();
-
-						// 调用类的全限定名
-						String calledClass = scope;
-						// 如果是当前类的方法调用
-						if (scope.equals("this")) {
-							calledClass = className;
-						}
+			Map<String, MethodCallInfo> methodCalls = JavaMethodCallAnalyzer.analyzeJavaFile(cu, context.isShowErrorStacktrace());
+			recordMethodCalls(className, methodCalls, depth);
+		} catch (Exception e) {
+			log.error("分析类 {} 的方法调用时出错", className, e);
+		}
+	}
 
-						if (CommonUtil.isProjectClass(calledClass)) {
-							String calledMethod = calledClass + "." + methodName;
-							methodDependencies.get(callerMethod).add(calledClass);
-							methodToMethodDependencies.get(callerMethod).add(calledMethod);
+	/**
+	 * 记录类中的方法调用，被调用的项目类加入待分析队列
+	 * 
+	 * @param className 类名
+	 * @param methodCalls JavaMethodCallAnalyzer 的分析结果
+	 * @param depth 当前深度
+	 */
+	private void recordMethodCalls(String className, Map<String, MethodCallInfo> methodCalls, int depth) {
+		// 处理分析结果
+		for (MethodCallInfo info : methodCalls.values()) {
+			String callerMethod = className + "." + info.getMethodName();
+			registerOverload(callerMethod);
+
+			// 初始化依赖集合
+			methodDependencies.putIfAbsent(callerMethod, new HashSet<>());
+			methodToMethodDependencies.putIfAbsent(callerMethod, new HashSet<>());
+
+			// 处理被调用的方法
+			for (Map.Entry<String, List<JavaMethodCallAnalyzer.MethodCall>> entry : info.getMethodCalls().entrySet()) {
+				for (JavaMethodCallAnalyzer.MethodCall call : entry.getValue()) {
+					String scope = call.getScope();
+					String methodName = call.getSignature();
+
+					// 调用类的全限定名
+					String calledClass = scope;
+					// 如果是当前类的方法调用
+					if (scope.equals("this")) {
+						calledClass = className;
+					}
+
+					if (context.isProjectClass(calledClass)) {
+						String calledMethod = calledClass + "." + methodName;
+						registerOverload(calledMethod);
+						methodDependencies.get(callerMethod).add(calledClass);
+						methodToMethodDependencies.get(callerMethod).add(calledMethod);
 
-							// 更新方法引用信息
-							methodReferences.putIfAbsent(calledMethod, new MethodReferenceInfo(calledClass, methodName));
-							methodReferences.get(calledMethod).addCaller(callerMethod);
+						// 更新方法引用信息
+						methodReferences.putIfAbsent(calledMethod, new MethodReferenceInfo(calledClass, methodName));
+						methodReferences.get(calledMethod).addCaller(callerMethod);
 
-							// 将被调用的类添加到待分析队列
-							if (!analyzedClasses.contains(calledClass)) {
+						// 将被调用的类添加到待分析队列
+						if (!analyzedClasses.contains(calledClass)) {
 //								pendingClasses.add(new ClassAnalysisTask(calledClass, 0)); // 重置深度，因为这是直接调用
-								int nextDepth = allDependencies.containsKey(calledClass) ? allDependencies.get(calledClass) : depth + 1;
-								pendingClasses.add(new ClassAnalysisTask(calledClass, nextDepth));
-							}
-						} else {
-							log.debug("跳过非项目类的调用: {}", calledClass);
+							int nextDepth = allDependencies.containsKey(calledClass) ? allDependencies.get(calledClass) : depth + 1;
+							pendingClasses.add(new ClassAnalysisTask(calledClass, nextDepth));
 						}
+					} else {
+						log.debug("跳过非项目类的调用: {}", calledClass);
 					}
 				}
 			}
-		} catch (Exception e) {
-			log.error("分析类 {} 的方法调用时出错", className, e);
 		}
 	}
 
+	/**
+	 * 记录带参数签名的方法，用于把只有方法名的键展开为所有重载
+	 */
+	private void registerOverload(String methodKey) {
+		if (!MethodSignatureUtil.isNameOnly(methodKey)) {
+			overloads.computeIfAbsent(MethodSignatureUtil.nameKey(methodKey), k -> new HashSet<>()).add(methodKey);
+		}
+	}
+
+	/**
+	 * 获取方法直接调用的方法
+	 * 只有方法名的键代表该名称的所有重载，所以它的后继包括所有已知重载；
+	 * 带参数签名的方法还要合并记录在只有方法名的键下的调用（方法声明的参数类型无法解析时）；
+	 * 对接口或父类方法的调用还会分派到子类型中的实现
+	 * 
+	 * @param methodKey 方法签名
+	 * @return 被调用的方法签名集合
+	 */
+	private Set<String> calledMethodsOf(String methodKey) {
+		Set<String> calledMethods = new HashSet<>(methodToMethodDependencies.getOrDefault(methodKey, Set.of()));
+		if (MethodSignatureUtil.isNameOnly(methodKey)) {
+			calledMethods.addAll(overloads.getOrDefault(methodKey, Set.of()));
+		} else {
+			calledMethods.addAll(methodToMethodDependencies.getOrDefault(MethodSignatureUtil.nameKey(methodKey), Set.of()));
+		}
+		calledMethods.addAll(dispatchTargetsOf(methodKey));
+		calledMethods.remove(methodKey);
+		return calledMethods;
+	}
+
+	/**
+	 * 获取虚方法调用可能分派到的子类型实现
+	 * CHA：所有子类型中的实现；RTA：只考虑本身或子类型被实例化过的类型；NONE：不展开
+	 * 
+	 * @param methodKey 被调用的方法签名
+	 * @return 子类型中的实现方法签名集合
+	 */
+	private Set<String> dispatchTargetsOf(String methodKey) {
+		String dispatch = context.getCallGraphDispatch();
+		if ("RTA".equalsIgnoreCase(dispatch)) {
+			return hierarchyIndex.findImplementations(methodKey, hierarchyIndex::isInstantiatedOrSubtype);
+		}
+		if ("CHA".equalsIgnoreCase(dispatch)) {
+			return hierarchyIndex.findImplementations(methodKey, type -> true);
+		}
+		return Set.of();
+	}
+
 	/**
 	 * 计算从主类开始可达的所有方法
 	 * 
@@ -290,12 +363,9 @@ public class MethodDependencyAnalyzer {
 		reachableMethods.add(methodName);
 
 		// 获取该方法调用的所有方法
-		if (methodToMethodDependencies.containsKey(methodName)) {
-			Set<String> calledMethods = methodToMethodDependencies.get(methodName);
-			for (String calledMethod : calledMethods) {
-				log.debug("方法 {} 调用了 {}", methodName, calledMethod);
-				markReachableMethods(calledMethod, visitedMethods);
-			}
+		for (String calledMethod : calledMethodsOf(methodName)) {
+			log.debug("方法 {} 调用了 {}", methodName, calledMethod);
+			markReachableMethods(calledMethod, visitedMethods);
 		}
 	}
 
@@ -315,8 +385,8 @@ public class MethodDependencyAnalyzer {
 		analyzedMethods.add(methodName);
 
 		// 获取方法所在的类
-		String className = methodName.substring(0, methodName.lastIndexOf("."));
-		String simpleMethodName = methodName.substring(methodName.lastIndexOf(".") + 1);
+		String className = MethodSignatureUtil.classNameOf(methodName);
+		String simpleMethodName = MethodSignatureUtil.methodNameOf(methodName);
 		actualDependencies.add(className);
 
 		// 获取这个方法体里面直接引用的类
@@ -324,70 +394,88 @@ public class MethodDependencyAnalyzer {
 			Set<String> referencedClasses = methodDependencies.get(methodName);
 			actualDependencies.addAll(referencedClasses);
 		}
+		if (!MethodSignatureUtil.isNameOnly(methodName)) {
+			actualDependencies.addAll(methodDependencies.getOrDefault(MethodSignatureUtil.nameKey(methodName), Set.of()));
+		}
 		CompilationUnit cu = CommonUtil.parseCompilationUnit(className);
 		if (cu == null) {
 			log.warn("无法解析类 {} 的编译单元，跳过方法依赖分析", className);
 			return;
 		}
 		cu.findAll(MethodDeclaration.class).forEach(method -> {
-			if (method.getNameAsString().equals(simpleMethodName)) {
+			if (method.getNameAsString().equals(simpleMethodName) && isSameOverload(methodName, method)) {
 				// 获取这个方法参数、返回值等引用的类
-				CommonUtil.collectDependenciesFromMethod(actualDependencies, method);
+				CommonUtil.collectDependenciesFromMethod(context, actualDependencies, method);
 			}
 		});
-		// 获取这个方法调用的所有方法
-		if (methodToMethodDependencies.containsKey(methodName)) {
-			Set<String> calledMethods = methodToMethodDependencies.get(methodName);
-			// 递归分析被调用的方法
-			for (String calledMethod : calledMethods) {
-				if (!analyzedMethods.contains(calledMethod)) {
-					analyzeMethodDependenciesRecursively(calledMethod, actualDependencies, analyzedMethods);
-				}
+		// 获取这个方法调用的所有方法，递归分析被调用的方法
+		for (String calledMethod : calledMethodsOf(methodName)) {
+			if (!analyzedMethods.contains(calledMethod)) {
+				analyzeMethodDependenciesRecursively(calledMethod, actualDependencies, analyzedMethods);
 			}
 		}
 	}
 
+	/**
+	 * 判断方法声明是否是签名对应的重载
+	 * 只有方法名的签名匹配所有重载，参数类型无法解析的方法声明也视为匹配
+	 */
+	private static boolean isSameOverload(String methodKey, MethodDeclaration method) {
+		if (MethodSignatureUtil.isNameOnly(methodKey)) {
+			return true;
+		}
+		String parameters = MethodSignatureUtil.parametersOf(method);
+		return parameters.isEmpty() || methodKey.endsWith(parameters);
+	}
+
 	/**
 	 * 添加必要的依赖（接口、父类等）
+	 * 父类型取自分析阶段构建的类继承关系索引，按父类型表迭代求传递闭包；
+	 * 没有经过分析的类（例如超出深度的父类）在这里解析一次并补充到索引中。
+	 * 索引按类文件主类名记录，内部类（例如 a.b.Order.Line）先换成所在文件的主类名再查找
 	 * 
-	 * @param className 类名
-	 * @param dependencies 依赖集合
+	 * @param classes 实际依赖的类集合
+	 * @return 加上所有项目内父类和接口后的依赖集合
+	 */
+	private Set<String> addEssentialDependencies(Set<String> classes) {
+		Set<String> dependencies = new HashSet<>(classes);
+		Set<String> visitedUnits = new HashSet<>();
+		Deque<String> pending = new ArrayDeque<>(classes);
+		while (!pending.isEmpty()) {
+			String unitName = unitOf(pending.pop());
+			if (unitName == null || !visitedUnits.add(unitName)) {
+				continue;
+			}
+			if (!hierarchyIndex.containsUnit(unitName)) {
+				indexUnanalyzedClass(unitName);
+			}
+			for (String supertype : hierarchyIndex.getUnitSupertypes(unitName)) {
+				if (context.isProjectClass(supertype) && dependencies.add(supertype)) {
+					pending.push(supertype);
+				}
+			}
+		}
+		return dependencies;
+	}
+
+	/**
+	 * 类所在文件的主类名，先查索引，索引中没有时按文件定位；找不到类文件时返回null
 	 */
-	private void addEssentialDependencies(String className, Set<String> dependencies) {
+	private String unitOf(String className) {
+		String unitName = hierarchyIndex.getUnitOf(className);
+		return unitName != null ? unitName : FileLocator.getInstance().getTopLevelClassName(className);
+	}
+
+	/**
+	 * 解析分析阶段没有经过的类，补充到类继承关系索引中
+	 */
+	private void indexUnanalyzedClass(String className) {
 		try {
-			Path file = FileLocator.getInstance().locate(className);
-			if (file != null) {
+			if (FileLocator.getInstance().locate(className) != null) {
 				CompilationUnit cu = CommonUtil.parseCompilationUnit(className);
-				// 添加接口和父类
-				cu.findAll(ClassOrInterfaceDeclaration.class).forEach(classDecl -> {
-					// 添加实现的接口
-					for (ClassOrInterfaceType implementedType : classDecl.getImplementedTypes()) {
-						for (ImportDeclaration importDecl : cu.getImports()) {
-							String importName = importDecl.getNameAsString();
-							if (importName.endsWith("." + implementedType.getNameAsString())) {
-								if (CommonUtil.isProjectClass(importName) && !dependencies.contains(importName)) {
-									dependencies.add(importName);
-									// 递归添加接口的依赖
-									addEssentialDependencies(importName, dependencies);
-								}
-							}
-						}
-					}
-
-					// 添加继承的类
-					for (ClassOrInterfaceType extendedType : classDecl.getExtendedTypes()) {
-						for (ImportDeclaration importDecl : cu.getImports()) {
-							String importName = importDecl.getNameAsString();
-							if (importName.endsWith("." + extendedType.getNameAsString())) {
-								if (CommonUtil.isProjectClass(importName) && !dependencies.contains(importName)) {
-									dependencies.add(importName);
-									// 递归添加父类的依赖
-									addEssentialDependencies(importName, dependencies);
-								}
-							}
-						}
-					}
-				});
+				if (cu != null) {
+					hierarchyIndex.addCompilationUnit(cu);
+				}
 			}
 		} catch (Exception e) {
 			log.error("添加必要依赖时出错", e);
@@ -416,6 +504,45 @@ public class MethodDependencyAnalyzer {
 		return calculateActualDependencies(classes);
 	}
 
+	/**
+	 * 记录一个已在外部解析并分析过方法调用的类，用于全项目并行构建调用图（见 ProjectGraphBuilder）
+	 * 不会把被调用的类加入待分析队列，调用方负责提供项目中的所有类；这里只合并数据，不做符号解析
+	 * 
+	 * @param hierarchy 类文件的继承关系，由 getHierarchyIndex().describe(cu) 在解析该类的线程中得到
+	 * @param className 类名
+	 * @param methodCalls JavaMethodCallAnalyzer 的分析结果
+	 */
+	public void addAnalyzedClass(UnitHierarchy hierarchy, String className, Map<String, MethodCallInfo> methodCalls) {
+		analyzedClasses.add(className);
+		allDependencies.putIfAbsent(className, 0);
+		hierarchyIndex.add(hierarchy);
+		recordMethodCalls(className, methodCalls, 0);
+		pendingClasses.clear();
+	}
+
+	/**
+	 * 构建方法调用图
+	 * 边与可达性分析使用的后继一致：包括只有方法名的键和它的各个重载之间的边，以及按 call.graph.dispatch 展开到子类型实现的边
+	 * 
+	 * @return 方法调用图
+	 */
+	public CallGraph buildCallGraph() {
+		Map<String, Set<String>> edges = new HashMap<>();
+		Deque<String> pending = new ArrayDeque<>(methodToMethodDependencies.keySet());
+		Set<String> visited = new HashSet<>(pending);
+		while (!pending.isEmpty()) {
+			String methodKey = pending.pop();
+			Set<String> calledMethods = calledMethodsOf(methodKey);
+			edges.put(methodKey, calledMethods);
+			for (String calledMethod : calledMethods) {
+				if (visited.add(calledMethod)) {
+					pending.push(calledMethod);
+				}
+			}
+		}
+		return CallGraph.of(edges);
+	}
+
 	/**
 	 * 计算指定入口类的实际依赖
 	 * 
@@ -439,10 +566,7 @@ public class MethodDependencyAnalyzer {
 		});
 
 		// 添加必要的接口和父类依赖
-		Set<String> finalDependencies = new HashSet<>(actualDependencies);
-		actualDependencies.forEach(className -> addEssentialDependencies(className, finalDependencies));
-
-		return finalDependencies;
+		return addEssentialDependencies(actualDependencies);
 	}
 
 
@@ -472,4 +596,8 @@ public class MethodDependencyAnalyzer {
 		return methodToMethodDependencies;
 	}
 
+	public ClassHierarchyIndex getHierarchyIndex() {
+		return hierarchyIndex;
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,179 @@
+package io.github.jitawangzi.jdepend.core.analyzer;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+
+import io.github.jitawangzi.jdepend.config.AnalysisContext;
+import io.github.jitawangzi.jdepend.core.analyzer.ClassHierarchyIndex.UnitHierarchy;
+import io.github.jitawangzi.jdepend.core.analyzer.JavaMethodCallAnalyzer.MethodCallInfo;
+import io.github.jitawangzi.jdepend.core.graph.CallGraph;
+import io.github.jitawangzi.jdepend.util.CommonUtil;
+import io.github.jitawangzi.jdepend.util.FileLocator;
+import io.github.jitawangzi.jdepend.util.MethodSignatureUtil;
+
+/**
+ * 构建整个项目的方法调用图和类依赖图
+ * 与从 main.class 出发的按需分析不同，这里一次处理源码目录中的所有项目类：
+ * 解析、方法调用分析、类继承关系解析和类级别依赖收集按类并行执行（每个工作线程有自己的符号解析器，见 JavaParserInit.configureCurrentThread），
+ * 结果再按顺序合并到 MethodDependencyAnalyzer 中，合并时只复制数据，调用图的边与类分析模式一致。
+ */
+public class ProjectGraphBuilder {
+	private static Logger log = LoggerFactory.getLogger(ProjectGraphBuilder.class);
+
+	private final AnalysisContext context;
+	private CallGraph methodGraph;
+	private CallGraph classGraph;
+	private int classCount;
+	// 主类型是接口或抽象类的类，用于计算包的抽象程度
+	private final Set<String> abstractClasses = new HashSet<>();
+	private long buildMillis;
+
+	/**
+	 * 单个类的分析结果
+	 */
+	private static class ClassResult {
+		private final String className;
+		private final UnitHierarchy hierarchy;
+		private final Map<String, MethodCallInfo> methodCalls;
+		private final Set<String> classDependencies;
+		private final boolean abstractType;
+
+		ClassResult(String className, UnitHierarchy hierarchy, Map<String, MethodCallInfo> methodCalls, Set<String> classDependencies,
+				boolean abstractType) {
+			this.className = className;
+			this.hierarchy = hierarchy;
+			this.methodCalls = methodCalls;
+			this.classDependencies = classDependencies;
+			this.abstractType = abstractType;
+		}
+	}
+
+	public ProjectGraphBuilder(AnalysisContext context) {
+		this.context = context;
+	}
+
+	/**
+	 * 构建项目的方法调用图和类依赖图
+	 */
+	public void build() {
+		long timeMillis = System.currentTimeMillis();
+		List<String> classNames = FileLocator.getInstance()
+				.findAllClassNames()
+				.stream()
+				.filter(context::isProjectClass)
+				.collect(Collectors.toList());
+		log.info("开始构建项目依赖图，共 {} 个项目类", classNames.size());
+
+		MethodDependencyAnalyzer methodAnalyzer = new MethodDependencyAnalyzer(context);
+		ClassHierarchyIndex hierarchyIndex = methodAnalyzer.getHierarchyIndex();
+		List<ClassResult> results = classNames.parallelStream()
+				.map(className -> analyzeClass(className, hierarchyIndex))
+				.filter(Objects::nonNull)
+				.collect(Collectors.toList());
+		log.info("并行分析完成，耗时 {} ms", System.currentTimeMillis() - timeMillis);
+
+		Map<String, Set<String>> classEdges = new HashMap<>();
+		for (ClassResult result : results) {
+			methodAnalyzer.addAnalyzedClass(result.hierarchy, result.className, result.methodCalls);
+			classEdges.computeIfAbsent(result.className, k -> new HashSet<>()).addAll(result.classDependencies);
+			if (result.abstractType) {
+				abstractClasses.add(result.className);
+			}
+		}
+		// 方法体中调用到的类也算作类级别的依赖
+		for (Map.Entry<String, Set<String>> entry : methodAnalyzer.getMethodDependencies().entrySet()) {
+			classEdges.computeIfAbsent(MethodSignatureUtil.classNameOf(entry.getKey()), k -> new HashSet<>()).addAll(entry.getValue());
+		}
+		// 类依赖图只包含类文件主类，内部类换成所在的类文件
+		Set<String> units = results.stream().map(result -> result.className).collect(Collectors.toSet());
+		Map<String, Set<String>> unitEdges = new HashMap<>();
+		for (Map.Entry<String, Set<String>> entry : classEdges.entrySet()) {
+			String unit = CommonUtil.getTopLevelClassName(entry.getKey(), units);
+			if (unit == null) {
+				continue;
+			}
+			Set<String> dependencies = unitEdges.computeIfAbsent(unit, k -> new HashSet<>());
+			for (String dependency : entry.getValue()) {
+				String dependencyUnit = CommonUtil.getTopLevelClassName(dependency, units);
+				if (dependencyUnit != null && !dependencyUnit.equals(unit)) {
+					dependencies.add(dependencyUnit);
+				}
+			}
+		}
+
+		methodGraph = methodAnalyzer.buildCallGraph();
+		classGraph = CallGraph.of(unitEdges);
+		classCount = results.size();
+		buildMillis = System.currentTimeMillis() - timeMillis;
+		log.info("项目依赖图构建完成：{} 个类，方法调用图 {} 个节点 {} 条边，类依赖图 {} 个节点 {} 条边，耗时 {} ms", classCount,
+				methodGraph.getNodeCount(), methodGraph.getEdgeCount(), classGraph.getNodeCount(), classGraph.getEdgeCount(), buildMillis);
+	}
+
+	/**
+	 * 在工作线程中分析一个类，所有需要符号解析的工作都在这里完成
+	 */
+	private ClassResult analyzeClass(String className, ClassHierarchyIndex hierarchyIndex) {
+		CompilationUnit cu = CommonUtil.parseCompilationUnit(className);
+		if (cu == null) {
+			return null;
+		}
+		try {
+			Map<String, MethodCallInfo> methodCalls = JavaMethodCallAnalyzer.analyzeJavaFile(cu, context.isShowErrorStacktrace());
+			Set<String> dependencies = CommonUtil.collectClassLevelDependencies(context, cu, className)
+					.stream()
+					.filter(context::isProjectClass)
+					.collect(Collectors.toSet());
+			UnitHierarchy hierarchy = hierarchyIndex.describe(cu);
+			return new ClassResult(className, hierarchy, methodCalls, dependencies, isAbstractType(cu, className));
+		} catch (Exception e) {
+			log.error("分析类 {} 时出错", className, e);
+			return null;
+		}
+	}
+
+	/**
+	 * 类文件的主类型是否是接口或抽象类
+	 */
+	private static boolean isAbstractType(CompilationUnit cu, String className) {
+		String simpleName = className.substring(className.lastIndexOf('.') + 1);
+		return cu.getTypes()
+				.stream()
+				.filter(type -> type.getNameAsString().equals(simpleName))
+				.findFirst()
+				.filter(ClassOrInterfaceDeclaration.class::isInstance)
+				.map(ClassOrInterfaceDeclaration.class::cast)
+				.map(type -> type.isInterface() || type.isAbstract())
+				.orElse(false);
+	}
+
+	public CallGraph getMethodGraph() {
+		return methodGraph;
+	}
+
+	public CallGraph getClassGraph() {
+		return classGraph;
+	}
+
+	public int getClassCount() {
+		return classCount;
+	}
+
+	public Set<String> getAbstractClasses() {
+		return abstractClasses;
+	}
+
+	public long getBuildMillis() {
+		return buildMillis;
+	}
+}
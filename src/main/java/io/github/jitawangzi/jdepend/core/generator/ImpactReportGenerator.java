@@ -0,0 +1,117 @@
+package io.github.jitawangzi.jdepend.core.generator;
+
+import java.util.List;
+
+import io.github.jitawangzi.jdepend.core.graph.CallGraph;
+import io.github.jitawangzi.jdepend.core.model.ImpactResult;
+import io.github.jitawangzi.jdepend.util.JsonUtil;
+
+/**
+ * 影响分析报告生成器，输出 Markdown 或 JSON
+ */
+public class ImpactReportGenerator {
+
+	private final int classCount;
+	private final CallGraph methodGraph;
+	private final CallGraph classGraph;
+	private final long buildMillis;
+
+	/**
+	 * 构造函数
+	 *
+	 * @param classCount 分析的项目类数量
+	 * @param methodGraph 方法调用图
+	 * @param classGraph 类依赖图
+	 * @param buildMillis 构建依赖图的耗时
+	 */
+	public ImpactReportGenerator(int classCount, CallGraph methodGraph, CallGraph classGraph, long buildMillis) {
+		this.classCount = classCount;
+		this.methodGraph = methodGraph;
+		this.classGraph = classGraph;
+		this.buildMillis = buildMillis;
+	}
+
+	/**
+	 * 按格式生成报告
+	 *
+	 * @param format MARKDOWN 或 JSON
+	 * @param results 各个查询目标的影响分析结果
+	 * @param queryMillis 查询总耗时
+	 * @return 报告内容
+	 */
+	public String generate(String format, List<ImpactResult> results, long queryMillis) {
+		return "JSON".equalsIgnoreCase(format) ? generateJson(results, queryMillis) : generateMarkdown(results, queryMillis);
+	}
+
+	/**
+	 * 生成Markdown报告
+	 */
+	public String generateMarkdown(List<ImpactResult> results, long queryMillis) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("# Impact Analysis\n\n");
+		sb.append("## Project Graph\n");
+		sb.append("- Classes analyzed: ").append(classCount).append("\n");
+		sb.append("- Method call graph: ").append(methodGraph.getNodeCount()).append(" methods, ").append(methodGraph.getEdgeCount()).append(" calls\n");
+		sb.append("- Class dependency graph: ").append(classGraph.getNodeCount()).append(" classes, ").append(classGraph.getEdgeCount())
+				.append(" dependencies\n");
+		sb.append("- Graph build time: ").append(buildMillis).append(" ms\n");
+		sb.append("- Query time: ").append(queryMillis).append(" ms\n\n");
+
+		for (ImpactResult result : results) {
+			sb.append("## ").append(result.getTarget()).append("\n\n");
+			if (!result.isFound()) {
+				sb.append("Not found in the project graph.\n\n");
+				continue;
+			}
+			sb.append("- Matched: ").append(result.getMatchedNodes().size()).append("\n");
+			sb.append("- Affected methods: ").append(result.getAffectedMethodCount()).append("\n");
+			sb.append("- Affected classes: ").append(result.getAffectedClasses().size()).append("\n");
+			sb.append("- Entry points: ").append(result.getEntryPoints().size()).append("\n\n");
+			appendList(sb, "Entry Points", result.getEntryPoints());
+			appendList(sb, "Affected Classes", result.getAffectedClasses());
+			appendList(sb, "Direct Callers", result.getDirectCallers());
+		}
+		return sb.toString();
+	}
+
+	private void appendList(StringBuilder sb, String title, List<String> items) {
+		if (items.isEmpty()) {
+			return;
+		}
+		sb.append("### ").append(title).append("\n");
+		items.forEach(item -> sb.append("- `").append(item).append("`\n"));
+		sb.append("\n");
+	}
+
+	/**
+	 * 生成JSON报告
+	 */
+	public String generateJson(List<ImpactResult> results, long queryMillis) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("{\n");
+		sb.append("  \"classCount\": ").append(classCount).append(",\n");
+		sb.append("  \"methodGraph\": {\"nodes\": ").append(methodGraph.getNodeCount()).append(", \"edges\": ").append(methodGraph.getEdgeCount())
+				.append("},\n");
+		sb.append("  \"classGraph\": {\"nodes\": ").append(classGraph.getNodeCount()).append(", \"edges\": ").append(classGraph.getEdgeCount())
+				.append("},\n");
+		sb.append("  \"buildMillis\": ").append(buildMillis).append(",\n");
+		sb.append("  \"queryMillis\": ").append(queryMillis).append(",\n");
+		sb.append("  \"targets\": [");
+		for (int i = 0; i < results.size(); i++) {
+			ImpactResult result = results.get(i);
+			sb.append(i == 0 ? "\n" : ",\n");
+			sb.append("    {\n");
+			sb.append("      \"target\": ").append(JsonUtil.quote(result.getTarget())).append(",\n");
+			sb.append("      \"found\": ").append(result.isFound()).append(",\n");
+			sb.append("      \"affectedMethodCount\": ").append(result.getAffectedMethodCount()).append(",\n");
+			sb.append("      \"matched\": ").append(JsonUtil.array(result.getMatchedNodes())).append(",\n");
+			sb.append("      \"entryPoints\": ").append(JsonUtil.array(result.getEntryPoints())).append(",\n");
+			sb.append("      \"affectedClasses\": ").append(JsonUtil.array(result.getAffectedClasses())).append(",\n");
+			sb.append("      \"directCallers\": ").append(JsonUtil.array(result.getDirectCallers())).append("\n");
+			sb.append("    }");
+		}
+		sb.append(results.isEmpty() ? "]\n" : "\n  ]\n");
+		sb.append("}\n");
+		return sb.toString();
+	}
+}
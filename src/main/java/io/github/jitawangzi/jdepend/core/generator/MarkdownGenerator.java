@@ -10,10 +10,10 @@ import java.util.stream.Collectors;
 
 import com.github.javaparser.ast.body.MethodDeclaration;
 
-import io.github.jitawangzi.jdepend.config.AppConfig;
-import io.github.jitawangzi.jdepend.config.AppConfigManager;
-import io.github.jitawangzi.jdepend.config.ImportConfig;
+import io.github.jitawangzi.jdepend.config.AnalysisContext;
+import io.github.jitawangzi.jdepend.core.graph.MethodCostReport;
 import io.github.jitawangzi.jdepend.core.model.ClassDependency;
+import io.github.jitawangzi.jdepend.core.model.MethodCost;
 import io.github.jitawangzi.jdepend.core.model.MethodDependency;
 import io.github.jitawangzi.jdepend.core.model.MethodReference;
 import io.github.jitawangzi.jdepend.core.processor.TokenCounter;
@@ -22,13 +22,16 @@ import io.github.jitawangzi.jdepend.core.processor.TokenCounter;
  * Markdown生成器，用于生成分析结果的Markdown文档
  */
 public class MarkdownGenerator {
-	
+
+	private final AnalysisContext context;
+
     /**
      * 构造函数
      * 
-     * @param config 配置对象
+     * @param context 分析配置
      */
-	public MarkdownGenerator() {
+	public MarkdownGenerator(AnalysisContext context) {
+		this.context = context;
     }
 	/**
 	 * 生成完整的Markdown文档
@@ -40,12 +43,32 @@ public class MarkdownGenerator {
 	 */
 	public String generate(List<ClassDependency> dependencies, Map<String, String> classContents, TokenCounter.TokenStats tokenStats,
 			Map<String, List<MethodDeclaration>> omittedAccessors, Map<String, List<MethodDeclaration>> removedUnreferencedMethods) {
+		return generate(dependencies, classContents, tokenStats, omittedAccessors, removedUnreferencedMethods, null);
+	}
+
+	/**
+	 * 生成完整的Markdown文档，包含可达方法的token开销
+	 * 
+	 * @param dependencies 依赖列表
+	 * @param classContents 类内容映射
+	 * @param tokenStats 令牌统计信息
+	 * @param methodCosts 可达方法的token开销，为null时不输出
+	 * @return 生成的Markdown文档
+	 */
+	public String generate(List<ClassDependency> dependencies, Map<String, String> classContents, TokenCounter.TokenStats tokenStats,
+			Map<String, List<MethodDeclaration>> omittedAccessors, Map<String, List<MethodDeclaration>> removedUnreferencedMethods,
+			MethodCostReport methodCosts) {
 		StringBuilder sb = new StringBuilder();
 		sb.append("# Code Context Analysis\n\n");
 
 		// 添加Token统计信息
 		appendTokenStats(sb, tokenStats);
 
+		// 添加方法的token开销
+		if (methodCosts != null) {
+			appendMethodCosts(sb, methodCosts);
+		}
+
 		// 添加导入提示信息
 		appendImportInfo(sb);
 
@@ -61,11 +84,11 @@ public class MarkdownGenerator {
 		appendCodeContents(sb, classContents);
 
 		// 添加被省略的Bean方法
-		if (AppConfigManager.get().isShowOmittedAccessors() && AppConfigManager.get().isOmitBeanMethods() && !omittedAccessors.isEmpty()) {
+		if (context.isShowOmittedAccessors() && context.isOmitBeanMethods() && !omittedAccessors.isEmpty()) {
 			appendOmittedAccessors(sb, omittedAccessors);
 		}
 		// 添加被移除的未引用方法
-		if (AppConfigManager.get().isKeepOnlyReferencedMethods() && AppConfigManager.get().isShowRemovedMethods()
+		if (context.isKeepOnlyReferencedMethods() && context.isShowRemovedMethods()
 				&& !removedUnreferencedMethods.isEmpty()) {
 			appendRemovedUnreferencedMethods(sb, removedUnreferencedMethods);
 		}
@@ -117,13 +140,44 @@ public class MarkdownGenerator {
 				.append("%)\n\n");
 	}
 
+	/**
+	 * 添加可达方法的token开销：自身开销最大的方法和调用子树累计开销最大的方法
+	 * 
+	 * @param sb StringBuilder对象
+	 * @param methodCosts 可达方法的token开销
+	 */
+	private void appendMethodCosts(StringBuilder sb, MethodCostReport methodCosts) {
+		int limit = context.getMethodCostReportSize();
+		sb.append("## Method Token Costs\n");
+		sb.append("- Reachable method tokens: ").append(methodCosts.getMethodTokenTotal()).append("\n");
+		sb.append("- Class header tokens: ").append(methodCosts.getHeaderTokenTotal()).append("\n\n");
+
+		sb.append("### Heaviest Methods\n");
+		sb.append("| Method | Tokens | Call depth |\n");
+		sb.append("|---|---|---|\n");
+		for (MethodCost cost : methodCosts.heaviestMethods(limit)) {
+			sb.append("| `").append(cost.getMethod()).append("` | ").append(cost.getTokens()).append(" | ").append(cost.getCallDepth()).append(" |\n");
+		}
+		sb.append("\n");
+
+		// 子树的累计开销包括子树中方法所在类文件的头部，同一个类文件只计一次
+		sb.append("### Heaviest Call Subtrees\n");
+		sb.append("| Method | Subtree tokens | Methods | Call depth |\n");
+		sb.append("|---|---|---|---|\n");
+		for (MethodCost cost : methodCosts.heaviestSubtrees(limit)) {
+			sb.append("| `").append(cost.getMethod()).append("` | ").append(cost.getSubtreeTokens());
+			sb.append(" | ").append(cost.getSubtreeMethods()).append(" | ").append(cost.getCallDepth()).append(" |\n");
+		}
+		sb.append("\n");
+	}
+
 	/**
 	 * 添加导入信息
 	 * 
 	 * @param sb StringBuilder对象
 	 */
 	private void appendImportInfo(StringBuilder sb) {
-		if (ImportConfig.INSTANCE.isSkipEnabled()) {
+		if (context.isImportSkipEnabled()) {
 			sb.append("## Import Information\n");
 			sb.append("为减少代码体积，分析器已忽略了某些导入声明。通常这些是jdk常见类，或者项目内部类, " + "这不会影响代码分析的完整性，但在查看源代码时可能会发现某些导入语句被省略。\n\n");
 		}
@@ -135,7 +189,7 @@ public class MarkdownGenerator {
 	 * @param sb StringBuilder对象
 	 */
 	private void appendGetterAndSetterInfo(StringBuilder sb) {
-		if (AppConfigManager.get().isOmitBeanMethods()) {
+		if (context.isOmitBeanMethods()) {
 			sb.append("## Getter and Setter Information\n");
 			sb.append("为减少代码体积，分析器可能忽略了一些标准的java bean getter  setter方法。\n\n");
 		}
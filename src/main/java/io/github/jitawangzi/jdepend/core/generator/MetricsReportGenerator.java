@@ -0,0 +1,158 @@
+package io.github.jitawangzi.jdepend.core.generator;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+import io.github.jitawangzi.jdepend.core.graph.ArchitectureMetrics;
+import io.github.jitawangzi.jdepend.core.graph.CallGraph;
+import io.github.jitawangzi.jdepend.core.model.PackageMetrics;
+import io.github.jitawangzi.jdepend.util.JsonUtil;
+
+/**
+ * 架构度量报告生成器，输出 Markdown 报告和 JSON 文件
+ */
+public class MetricsReportGenerator {
+
+	/** Markdown 报告中扇入/扇出排行显示的类数量 */
+	private static final int TOP_CLASSES = 20;
+
+	private final ArchitectureMetrics metrics;
+	private final long buildMillis;
+	private final long metricsMillis;
+
+	/**
+	 * 构造函数
+	 *
+	 * @param metrics 度量结果
+	 * @param buildMillis 构建依赖图的耗时
+	 * @param metricsMillis 计算度量的耗时
+	 */
+	public MetricsReportGenerator(ArchitectureMetrics metrics, long buildMillis, long metricsMillis) {
+		this.metrics = metrics;
+		this.buildMillis = buildMillis;
+		this.metricsMillis = metricsMillis;
+	}
+
+	/**
+	 * 生成Markdown报告
+	 */
+	public String generateMarkdown() {
+		CallGraph classGraph = metrics.getClassGraph();
+		StringBuilder sb = new StringBuilder();
+		sb.append("# Architecture Metrics\n\n");
+		sb.append("## Summary\n");
+		sb.append("- Classes: ").append(classGraph.getNodeCount()).append("\n");
+		sb.append("- Class dependencies: ").append(classGraph.getEdgeCount()).append("\n");
+		sb.append("- Packages: ").append(metrics.getPackageGraph().getNodeCount()).append("\n");
+		sb.append("- Package dependencies: ").append(metrics.getPackageGraph().getEdgeCount()).append("\n");
+		sb.append("- Class cycles: ").append(metrics.getClassCycles().size()).append("\n");
+		sb.append("- Package cycles: ").append(metrics.getPackageCycles().size()).append("\n");
+		sb.append("- Graph build time: ").append(buildMillis).append(" ms\n");
+		sb.append("- Metrics time: ").append(metricsMillis).append(" ms\n\n");
+
+		sb.append("## Packages\n");
+		sb.append("Ca: afferent couplings, Ce: efferent couplings, I: instability, A: abstractness, D: distance from the main sequence\n\n");
+		sb.append("| Package | Classes | Abstract | Ca | Ce | I | A | D | Layer | Cycle |\n");
+		sb.append("|---|---|---|---|---|---|---|---|---|---|\n");
+		for (PackageMetrics pkg : metrics.getPackageMetrics()) {
+			sb.append("| ").append(pkg.getPackageName().isEmpty() ? "(default)" : pkg.getPackageName());
+			sb.append(" | ").append(pkg.getClassCount());
+			sb.append(" | ").append(pkg.getAbstractClassCount());
+			sb.append(" | ").append(pkg.getAfferentCoupling());
+			sb.append(" | ").append(pkg.getEfferentCoupling());
+			sb.append(" | ").append(JsonUtil.number(pkg.getInstability()));
+			sb.append(" | ").append(JsonUtil.number(pkg.getAbstractness()));
+			sb.append(" | ").append(JsonUtil.number(pkg.getDistance()));
+			sb.append(" | ").append(pkg.getLayer());
+			sb.append(" | ").append(pkg.isInCycle() ? "yes" : "");
+			sb.append(" |\n");
+		}
+		sb.append("\n");
+
+		appendCycles(sb, "Package Cycles", metrics.getPackageCycles());
+		appendCycles(sb, "Class Cycles", metrics.getClassCycles());
+		appendTopClasses(sb, "Highest Fan-in", metrics::fanIn);
+		appendTopClasses(sb, "Highest Fan-out", metrics::fanOut);
+		return sb.toString();
+	}
+
+	private void appendCycles(StringBuilder sb, String title, List<List<String>> cycles) {
+		if (cycles.isEmpty()) {
+			return;
+		}
+		sb.append("## ").append(title).append("\n");
+		for (List<String> cycle : cycles) {
+			sb.append("- (").append(cycle.size()).append(") ").append(String.join(", ", cycle)).append("\n");
+		}
+		sb.append("\n");
+	}
+
+	private void appendTopClasses(StringBuilder sb, String title, IntUnaryOperator degree) {
+		CallGraph classGraph = metrics.getClassGraph();
+		List<Integer> nodes = new ArrayList<>(classGraph.getNodeCount());
+		for (int node = 0; node < classGraph.getNodeCount(); node++) {
+			if (degree.applyAsInt(node) > 0) {
+				nodes.add(node);
+			}
+		}
+		if (nodes.isEmpty()) {
+			return;
+		}
+		nodes.sort(Comparator.comparingInt((Integer node) -> degree.applyAsInt(node)).reversed());
+		sb.append("## ").append(title).append("\n");
+		for (int node : nodes.subList(0, Math.min(TOP_CLASSES, nodes.size()))) {
+			sb.append("- ").append(degree.applyAsInt(node)).append(" `").append(classGraph.getNode(node)).append("`\n");
+		}
+		sb.append("\n");
+	}
+
+	/**
+	 * 生成JSON，包含所有包和类的度量
+	 */
+	public String generateJson() {
+		CallGraph classGraph = metrics.getClassGraph();
+		StringBuilder sb = new StringBuilder();
+		sb.append("{\n");
+		sb.append("  \"buildMillis\": ").append(buildMillis).append(",\n");
+		sb.append("  \"metricsMillis\": ").append(metricsMillis).append(",\n");
+		sb.append("  \"packages\": [");
+		List<PackageMetrics> packages = metrics.getPackageMetrics();
+		for (int i = 0; i < packages.size(); i++) {
+			PackageMetrics pkg = packages.get(i);
+			sb.append(i == 0 ? "\n" : ",\n");
+			sb.append("    {\"name\": ").append(JsonUtil.quote(pkg.getPackageName()));
+			sb.append(", \"classes\": ").append(pkg.getClassCount());
+			sb.append(", \"abstractClasses\": ").append(pkg.getAbstractClassCount());
+			sb.append(", \"ca\": ").append(pkg.getAfferentCoupling());
+			sb.append(", \"ce\": ").append(pkg.getEfferentCoupling());
+			sb.append(", \"instability\": ").append(JsonUtil.number(pkg.getInstability()));
+			sb.append(", \"abstractness\": ").append(JsonUtil.number(pkg.getAbstractness()));
+			sb.append(", \"distance\": ").append(JsonUtil.number(pkg.getDistance()));
+			sb.append(", \"layer\": ").append(pkg.getLayer());
+			sb.append(", \"inCycle\": ").append(pkg.isInCycle()).append("}");
+		}
+		sb.append(packages.isEmpty() ? "],\n" : "\n  ],\n");
+		sb.append("  \"classes\": [");
+		for (int node = 0; node < classGraph.getNodeCount(); node++) {
+			sb.append(node == 0 ? "\n" : ",\n");
+			sb.append("    {\"name\": ").append(JsonUtil.quote(classGraph.getNode(node)));
+			sb.append(", \"fanIn\": ").append(metrics.fanIn(node));
+			sb.append(", \"fanOut\": ").append(metrics.fanOut(node)).append("}");
+		}
+		sb.append(classGraph.getNodeCount() == 0 ? "],\n" : "\n  ],\n");
+		sb.append("  \"packageCycles\": ").append(cyclesJson(metrics.getPackageCycles())).append(",\n");
+		sb.append("  \"classCycles\": ").append(cyclesJson(metrics.getClassCycles())).append("\n");
+		sb.append("}\n");
+		return sb.toString();
+	}
+
+	private static String cyclesJson(List<List<String>> cycles) {
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < cycles.size(); i++) {
+			sb.append(i == 0 ? "\n    " : ",\n    ").append(JsonUtil.array(cycles.get(i)));
+		}
+		return sb.append(cycles.isEmpty() ? "]" : "\n  ]").toString();
+	}
+}
@@ -0,0 +1,161 @@
+package io.github.jitawangzi.jdepend.core.graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.jitawangzi.jdepend.core.model.PackageMetrics;
+
+/**
+ * 基于类依赖图计算架构度量
+ * 类的扇入/扇出直接取图的入度/出度；类之间的依赖按包聚合成包依赖图，
+ * 在包依赖图上计算 JDepend 的 Ca、Ce、不稳定性、抽象程度、与主序列的距离，以及循环依赖和层级。
+ * 计算全部基于节点编号的 int 数组，不需要为每条边创建对象。
+ */
+public class ArchitectureMetrics {
+
+	private final CallGraph classGraph;
+	private final CallGraph packageGraph;
+	private final List<PackageMetrics> packageMetrics;
+	private final List<List<String>> classCycles;
+	private final List<List<String>> packageCycles;
+
+	/**
+	 * 计算度量
+	 *
+	 * @param classGraph 类依赖图，节点是类文件主类名
+	 * @param abstractClasses 接口和抽象类
+	 */
+	public ArchitectureMetrics(CallGraph classGraph, Set<String> abstractClasses) {
+		this.classGraph = classGraph;
+
+		// 类节点 -> 包名，并按包聚合边
+		int classCount = classGraph.getNodeCount();
+		String[] packageOfClass = new String[classCount];
+		Map<String, Set<String>> packageEdges = new HashMap<>();
+		for (int node = 0; node < classCount; node++) {
+			packageOfClass[node] = packageOf(classGraph.getNode(node));
+			packageEdges.computeIfAbsent(packageOfClass[node], k -> new HashSet<>());
+		}
+		for (int node = 0; node < classCount; node++) {
+			for (int edge = classGraph.successorStart(node); edge < classGraph.successorEnd(node); edge++) {
+				String targetPackage = packageOfClass[classGraph.target(edge)];
+				if (!targetPackage.equals(packageOfClass[node])) {
+					packageEdges.get(packageOfClass[node]).add(targetPackage);
+				}
+			}
+		}
+		this.packageGraph = CallGraph.of(packageEdges);
+
+		int packageCount = packageGraph.getNodeCount();
+		int[] classesPerPackage = new int[packageCount];
+		int[] abstractPerPackage = new int[packageCount];
+		for (int node = 0; node < classCount; node++) {
+			int packageNode = packageGraph.indexOf(packageOfClass[node]);
+			classesPerPackage[packageNode]++;
+			if (abstractClasses.contains(classGraph.getNode(node))) {
+				abstractPerPackage[packageNode]++;
+			}
+		}
+
+		GraphQuery packageQuery = new GraphQuery(packageGraph);
+		int[] component = packageQuery.componentIds();
+		int[] componentSize = new int[packageCount];
+		for (int packageNode = 0; packageNode < packageCount; packageNode++) {
+			componentSize[component[packageNode]]++;
+		}
+		int[] layers = layers(component);
+
+		List<PackageMetrics> metrics = new ArrayList<>(packageCount);
+		for (int packageNode = 0; packageNode < packageCount; packageNode++) {
+			metrics.add(new PackageMetrics(packageGraph.getNode(packageNode), classesPerPackage[packageNode], abstractPerPackage[packageNode],
+					packageGraph.predecessorEnd(packageNode) - packageGraph.predecessorStart(packageNode),
+					packageGraph.successorEnd(packageNode) - packageGraph.successorStart(packageNode), layers[component[packageNode]],
+					componentSize[component[packageNode]] > 1));
+		}
+		this.packageMetrics = metrics;
+		this.packageCycles = packageQuery.cycles();
+		this.classCycles = new GraphQuery(classGraph).cycles();
+	}
+
+	/**
+	 * 按强连通分量计算层级
+	 * Tarjan算法按逆拓扑序给分量编号（被依赖的分量先完成），所以按编号从小到大计算时，依赖的分量的层级已经确定
+	 */
+	private int[] layers(int[] component) {
+		int componentCount = 0;
+		for (int id : component) {
+			componentCount = Math.max(componentCount, id + 1);
+		}
+		List<List<Integer>> members = new ArrayList<>(componentCount);
+		for (int i = 0; i < componentCount; i++) {
+			members.add(new ArrayList<>());
+		}
+		for (int node = 0; node < component.length; node++) {
+			members.get(component[node]).add(node);
+		}
+		int[] layer = new int[componentCount];
+		for (int id = 0; id < componentCount; id++) {
+			for (int node : members.get(id)) {
+				for (int edge = packageGraph.successorStart(node); edge < packageGraph.successorEnd(node); edge++) {
+					int target = component[packageGraph.target(edge)];
+					if (target != id) {
+						layer[id] = Math.max(layer[id], layer[target] + 1);
+					}
+				}
+			}
+		}
+		return layer;
+	}
+
+	private static String packageOf(String className) {
+		int lastDot = className.lastIndexOf('.');
+		return lastDot < 0 ? "" : className.substring(0, lastDot);
+	}
+
+	public CallGraph getClassGraph() {
+		return classGraph;
+	}
+
+	public CallGraph getPackageGraph() {
+		return packageGraph;
+	}
+
+	/**
+	 * 各个包的度量，按包名排序
+	 */
+	public List<PackageMetrics> getPackageMetrics() {
+		return packageMetrics;
+	}
+
+	/**
+	 * 类之间的循环依赖，按大小降序
+	 */
+	public List<List<String>> getClassCycles() {
+		return classCycles;
+	}
+
+	/**
+	 * 包之间的循环依赖，按大小降序
+	 */
+	public List<List<String>> getPackageCycles() {
+		return packageCycles;
+	}
+
+	/**
+	 * 类的扇入（依赖它的类数量）
+	 */
+	public int fanIn(int classNode) {
+		return classGraph.predecessorEnd(classNode) - classGraph.predecessorStart(classNode);
+	}
+
+	/**
+	 * 类的扇出（它依赖的类数量）
+	 */
+	public int fanOut(int classNode) {
+		return classGraph.successorEnd(classNode) - classGraph.successorStart(classNode);
+	}
+}
@@ -0,0 +1,237 @@
+package io.github.jitawangzi.jdepend.core.graph;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * 图的紧凑二进制格式，用于快速重新加载
+ *
+ * <pre>
+ * 魔数 "JDG1"
+ * varint 节点数 n
+ * 字符串表：n 个节点名（已排序），前缀压缩：varint 与上一个名称共享的UTF-8字节数，varint 剩余字节数，剩余字节
+ * n 个 varint 深度+1（0 表示没有深度）
+ * CSR：每个节点 varint 出度，随后是升序后继编号的差分 varint（第一个为原值）
+ * </pre>
+ *
+ * 方法签名大多共享很长的包名前缀，前缀压缩后字符串表通常只有原来的几分之一；
+ * 读取时整个文件读入一个字节数组顺序解码，除节点名外不需要为每条边分配对象。
+ */
+public class BinaryGraphCodec {
+
+	private static final byte[] MAGIC = { 'J', 'D', 'G', '1' };
+
+	private BinaryGraphCodec() {
+	}
+
+	/**
+	 * 写入图
+	 *
+	 * @param graph 图
+	 * @param file 输出文件
+	 * @throws IOException 写入失败
+	 */
+	public static void write(CallGraph graph, Path file) throws IOException {
+		try (OutputStream out = Files.newOutputStream(file)) {
+			out.write(encode(graph));
+		}
+	}
+
+	/**
+	 * 读取图
+	 *
+	 * @param file 二进制图文件
+	 * @return 图
+	 * @throws IOException 读取失败或格式不正确
+	 */
+	public static CallGraph read(Path file) throws IOException {
+		return decode(Files.readAllBytes(file));
+	}
+
+	/**
+	 * 把图编码为字节数组
+	 */
+	public static byte[] encode(CallGraph graph) {
+		String[] nodes = graph.nodes();
+		int[] depths = graph.depths();
+		int[] offsets = graph.offsets();
+		int[] targets = graph.targets();
+
+		ByteBuffer out = new ByteBuffer(nodes.length * 16 + targets.length * 2 + 16);
+		out.writeBytes(MAGIC, 0, MAGIC.length);
+		out.writeVarint(nodes.length);
+		byte[] previous = new byte[0];
+		for (String node : nodes) {
+			byte[] current = node.getBytes(StandardCharsets.UTF_8);
+			int shared = 0;
+			int limit = Math.min(previous.length, current.length);
+			while (shared < limit && previous[shared] == current[shared]) {
+				shared++;
+			}
+			out.writeVarint(shared);
+			out.writeVarint(current.length - shared);
+			out.writeBytes(current, shared, current.length - shared);
+			previous = current;
+		}
+		for (int depth : depths) {
+			out.writeVarint(depth + 1);
+		}
+		for (int node = 0; node < nodes.length; node++) {
+			out.writeVarint(offsets[node + 1] - offsets[node]);
+			int last = 0;
+			for (int edge = offsets[node]; edge < offsets[node + 1]; edge++) {
+				out.writeVarint(targets[edge] - last);
+				last = targets[edge];
+			}
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * 从字节数组解码图
+	 *
+	 * @throws IOException 格式不正确
+	 */
+	public static CallGraph decode(byte[] data) throws IOException {
+		if (data.length < MAGIC.length || !Arrays.equals(Arrays.copyOf(data, MAGIC.length), MAGIC)) {
+			throw new IOException("不是有效的图文件（魔数不匹配）");
+		}
+		Reader in = new Reader(data, MAGIC.length);
+		try {
+			// 每个节点至少占4个字节（共享前缀长度、后缀长度、深度、出度），数量必须与剩余字节相符，避免按损坏的数量分配数组
+			int nodeCount = in.readCount(4);
+			String[] nodes = new String[nodeCount];
+			byte[] name = new byte[64];
+			int previousLength = 0;
+			for (int i = 0; i < nodeCount; i++) {
+				// 共享前缀不能超过上一个名称的长度
+				int shared = in.readVarint();
+				int suffix = in.readCount(1);
+				if (shared < 0 || shared > previousLength) {
+					throw corrupt(null);
+				}
+				if (shared + suffix > name.length) {
+					name = Arrays.copyOf(name, Math.max(name.length * 2, shared + suffix));
+				}
+				in.readBytes(name, shared, suffix);
+				nodes[i] = new String(name, 0, shared + suffix, StandardCharsets.UTF_8);
+				previousLength = shared + suffix;
+			}
+			int[] depths = new int[nodeCount];
+			for (int i = 0; i < nodeCount; i++) {
+				depths[i] = in.readVarint() - 1;
+			}
+			int[] offsets = new int[nodeCount + 1];
+			int[] targets = new int[Math.max(16, data.length / 2)];
+			int edgeCount = 0;
+			for (int node = 0; node < nodeCount; node++) {
+				offsets[node] = edgeCount;
+				int degree = in.readCount(1);
+				if (edgeCount + degree > targets.length) {
+					targets = Arrays.copyOf(targets, Math.max(targets.length * 2, edgeCount + degree));
+				}
+				int last = 0;
+				for (int j = 0; j < degree; j++) {
+					last += in.readVarint();
+					if (last < 0 || last >= nodeCount) {
+						throw corrupt(null);
+					}
+					targets[edgeCount++] = last;
+				}
+			}
+			offsets[nodeCount] = edgeCount;
+			return new CallGraph(nodes, depths, offsets, Arrays.copyOf(targets, edgeCount));
+		} catch (IndexOutOfBoundsException e) {
+			throw corrupt(e);
+		}
+	}
+
+	private static IOException corrupt(Exception cause) {
+		return new IOException("图文件已损坏或被截断", cause);
+	}
+
+	/**
+	 * 可增长的字节缓冲区
+	 */
+	private static class ByteBuffer {
+		private byte[] bytes;
+		private int size;
+
+		ByteBuffer(int capacity) {
+			this.bytes = new byte[capacity];
+		}
+
+		void writeVarint(int value) {
+			ensureCapacity(5);
+			while ((value & ~0x7F) != 0) {
+				bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			bytes[size++] = (byte) value;
+		}
+
+		void writeBytes(byte[] source, int offset, int length) {
+			ensureCapacity(length);
+			System.arraycopy(source, offset, bytes, size, length);
+			size += length;
+		}
+
+		private void ensureCapacity(int extra) {
+			if (size + extra > bytes.length) {
+				bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+			}
+		}
+
+		byte[] toByteArray() {
+			return Arrays.copyOf(bytes, size);
+		}
+	}
+
+	/**
+	 * 顺序读取字节数组
+	 */
+	private static class Reader {
+		private final byte[] data;
+		private int position;
+
+		Reader(byte[] data, int position) {
+			this.data = data;
+			this.position = position;
+		}
+
+		int readVarint() throws IOException {
+			int value = 0;
+			int shift = 0;
+			byte b;
+			do {
+				if (shift > 28) {
+					throw corrupt(null);
+				}
+				b = data[position++];
+				value |= (b & 0x7F) << shift;
+				shift += 7;
+			} while (b < 0);
+			return value;
+		}
+
+		/**
+		 * 读取一个数量，数量不能为负，且每个元素至少占 minBytes 个字节时剩余的字节要够用
+		 */
+		int readCount(int minBytes) throws IOException {
+			int count = readVarint();
+			if (count < 0 || count > (data.length - position) / minBytes) {
+				throw corrupt(null);
+			}
+			return count;
+		}
+
+		void readBytes(byte[] target, int offset, int length) {
+			System.arraycopy(data, position, target, offset, length);
+			position += length;
+		}
+	}
+}
@@ -0,0 +1,263 @@
+package io.github.jitawangzi.jdepend.core.graph;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+import io.github.jitawangzi.jdepend.core.model.ClassDependency;
+import io.github.jitawangzi.jdepend.util.CommonUtil;
+import io.github.jitawangzi.jdepend.util.MethodSignatureUtil;
+
+/**
+ * 不可变的有向图，节点是方法签名或类名
+ * 节点按名称排序后编号，边用CSR（压缩稀疏行）存储：节点 i 的后继是 targets[offsets[i] .. offsets[i+1])，且按编号升序。
+ * 这样导出的文件内容稳定，二进制格式也可以直接按数组读回。
+ * 反向边（前驱）在第一次查询时由正向边计数排序得到，同样以CSR存储。
+ */
+public final class CallGraph {
+
+	/** 没有深度信息的节点 */
+	public static final int UNKNOWN_DEPTH = -1;
+
+	private final String[] nodes;
+	private final int[] depths;
+	private final int[] offsets;
+	private final int[] targets;
+	// 反向CSR，节点 i 的前驱是 sources[reverseOffsets[i] .. reverseOffsets[i+1])，按需构建
+	private volatile int[] reverseOffsets;
+	private int[] sources;
+
+	CallGraph(String[] nodes, int[] depths, int[] offsets, int[] targets) {
+		this.nodes = nodes;
+		this.depths = depths;
+		this.offsets = offsets;
+		this.targets = targets;
+	}
+
+	/**
+	 * 由邻接表构建图，例如 MethodDependencyAnalyzer.getMethodToMethodDependencies()
+	 *
+	 * @param edges 节点 -> 后继节点集合，只出现在后继中的节点也会成为图中的节点
+	 * @return 图
+	 */
+	public static CallGraph of(Map<String, ? extends Collection<String>> edges) {
+		return of(edges, Map.of());
+	}
+
+	/**
+	 * 由类依赖列表和方法引用的类构建类级别的依赖图
+	 * 边 A -> B 表示类 A 的某个方法引用了类 B，或者 B 是 A 的父类型，只保留依赖列表中的类。
+	 * 依赖列表按类文件主类记录，方法所在的类和引用的类是内部类时换成所在的类文件
+	 *
+	 * @param classes 类依赖列表，深度作为节点属性
+	 * @param methodDependencies 方法签名 -> 方法引用的类集合，见 MethodDependencyAnalyzer.getMethodDependencies()
+	 * @param supertypesOf 类 -> 直接父类型，例如 ClassHierarchyIndex::getUnitSupertypes，为null时不添加继承边
+	 * @return 类依赖图
+	 */
+	public static CallGraph ofClasses(List<ClassDependency> classes, Map<String, Set<String>> methodDependencies,
+			Function<String, ? extends Collection<String>> supertypesOf) {
+		Map<String, Integer> depths = new HashMap<>();
+		Map<String, Set<String>> edges = new HashMap<>();
+		for (ClassDependency dependency : classes) {
+			depths.put(dependency.getClassName(), dependency.getDepth());
+			edges.put(dependency.getClassName(), new TreeSet<>());
+		}
+		for (Map.Entry<String, Set<String>> entry : methodDependencies.entrySet()) {
+			String className = CommonUtil.getTopLevelClassName(MethodSignatureUtil.classNameOf(entry.getKey()), depths.keySet());
+			if (className == null) {
+				continue;
+			}
+			Set<String> referenced = edges.get(className);
+			for (String target : entry.getValue()) {
+				String targetClass = CommonUtil.getTopLevelClassName(target, depths.keySet());
+				if (targetClass != null && !targetClass.equals(className)) {
+					referenced.add(targetClass);
+				}
+			}
+		}
+		if (supertypesOf != null) {
+			for (Map.Entry<String, Set<String>> entry : edges.entrySet()) {
+				for (String supertype : supertypesOf.apply(entry.getKey())) {
+					String supertypeClass = CommonUtil.getTopLevelClassName(supertype, depths.keySet());
+					if (supertypeClass != null && !supertypeClass.equals(entry.getKey())) {
+						entry.getValue().add(supertypeClass);
+					}
+				}
+			}
+		}
+		return of(edges, depths);
+	}
+
+	private static CallGraph of(Map<String, ? extends Collection<String>> edges, Map<String, Integer> depthByNode) {
+		Set<String> names = new TreeSet<>(edges.keySet());
+		edges.values().forEach(names::addAll);
+		String[] nodes = names.toArray(new String[0]);
+		Map<String, Integer> index = new HashMap<>(nodes.length * 2);
+		for (int i = 0; i < nodes.length; i++) {
+			index.put(nodes[i], i);
+		}
+
+		int[] depths = new int[nodes.length];
+		int[] offsets = new int[nodes.length + 1];
+		int edgeCount = 0;
+		for (int i = 0; i < nodes.length; i++) {
+			depths[i] = depthByNode.getOrDefault(nodes[i], UNKNOWN_DEPTH);
+			Collection<String> successors = edges.get(nodes[i]);
+			edgeCount += successors == null ? 0 : successors.size();
+		}
+		int[] targets = new int[edgeCount];
+		int cursor = 0;
+		for (int i = 0; i < nodes.length; i++) {
+			offsets[i] = cursor;
+			int start = cursor;
+			Collection<String> successors = edges.get(nodes[i]);
+			if (successors != null) {
+				for (String target : successors) {
+					targets[cursor++] = index.get(target);
+				}
+			}
+			Arrays.sort(targets, start, cursor);
+			// 去掉重复的边（邻接集合是 List 时可能重复）
+			int unique = start;
+			for (int j = start; j < cursor; j++) {
+				if (unique == start || targets[unique - 1] != targets[j]) {
+					targets[unique++] = targets[j];
+				}
+			}
+			cursor = unique;
+		}
+		offsets[nodes.length] = cursor;
+		return new CallGraph(nodes, depths, offsets, cursor == targets.length ? targets : Arrays.copyOf(targets, cursor));
+	}
+
+	public int getNodeCount() {
+		return nodes.length;
+	}
+
+	public int getEdgeCount() {
+		return targets.length;
+	}
+
+	/**
+	 * 获取节点名称
+	 */
+	public String getNode(int node) {
+		return nodes[node];
+	}
+
+	/**
+	 * 获取节点编号，节点名有序，直接二分查找
+	 *
+	 * @return 节点编号，不存在时返回-1
+	 */
+	public int indexOf(String name) {
+		int node = Arrays.binarySearch(nodes, name);
+		return node < 0 ? -1 : node;
+	}
+
+	/**
+	 * 获取节点的深度属性，没有时返回 UNKNOWN_DEPTH
+	 */
+	public int getDepth(int node) {
+		return depths[node];
+	}
+
+	/**
+	 * 节点后继在 targets 数组中的起始位置
+	 */
+	public int successorStart(int node) {
+		return offsets[node];
+	}
+
+	/**
+	 * 节点后继在 targets 数组中的结束位置（不含）
+	 */
+	public int successorEnd(int node) {
+		return offsets[node + 1];
+	}
+
+	/**
+	 * 获取 targets 数组中指定位置的后继节点
+	 */
+	public int target(int edge) {
+		return targets[edge];
+	}
+
+	/**
+	 * 节点前驱在 sources 数组中的起始位置
+	 */
+	public int predecessorStart(int node) {
+		return reverseOffsets()[node];
+	}
+
+	/**
+	 * 节点前驱在 sources 数组中的结束位置（不含）
+	 */
+	public int predecessorEnd(int node) {
+		return reverseOffsets()[node + 1];
+	}
+
+	/**
+	 * 获取 sources 数组中指定位置的前驱节点，需要先调用 predecessorStart / predecessorEnd
+	 */
+	public int source(int edge) {
+		return sources[edge];
+	}
+
+	private int[] reverseOffsets() {
+		int[] result = reverseOffsets;
+		if (result == null) {
+			synchronized (this) {
+				result = reverseOffsets;
+				if (result == null) {
+					result = buildReverse();
+					reverseOffsets = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 计数排序构建反向CSR，按源节点顺序填充，每个节点的前驱自然升序
+	 */
+	private int[] buildReverse() {
+		int[] counts = new int[nodes.length + 1];
+		for (int target : targets) {
+			counts[target + 1]++;
+		}
+		for (int i = 0; i < nodes.length; i++) {
+			counts[i + 1] += counts[i];
+		}
+		int[] cursor = Arrays.copyOf(counts, nodes.length);
+		int[] reverse = new int[targets.length];
+		for (int node = 0; node < nodes.length; node++) {
+			for (int edge = offsets[node]; edge < offsets[node + 1]; edge++) {
+				reverse[cursor[targets[edge]]++] = node;
+			}
+		}
+		sources = reverse;
+		return counts;
+	}
+
+	String[] nodes() {
+		return nodes;
+	}
+
+	int[] depths() {
+		return depths;
+	}
+
+	int[] offsets() {
+		return offsets;
+	}
+
+	int[] targets() {
+		return targets;
+	}
+}
@@ -0,0 +1,174 @@
+package io.github.jitawangzi.jdepend.core.graph;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.jitawangzi.jdepend.config.AnalysisContext;
+
+/**
+ * 依赖图导出
+ * DOT（Graphviz）和 GraphML（yEd、Gephi）用于查看，BINARY 是 BinaryGraphCodec 的紧凑格式，用于快速重新加载
+ */
+public class GraphExporter {
+	private static Logger log = LoggerFactory.getLogger(GraphExporter.class);
+
+	private GraphExporter() {
+	}
+
+	/**
+	 * 按配置的格式导出方法调用图和类依赖图
+	 * 输出文件为 {graph.export.path}.methods.{扩展名} 和 {graph.export.path}.classes.{扩展名}
+	 *
+	 * @param context 分析配置
+	 * @param methodGraph 方法调用图
+	 * @param classGraph 类依赖图
+	 * @throws IOException 写入失败
+	 */
+	public static void exportAll(AnalysisContext context, CallGraph methodGraph, CallGraph classGraph) throws IOException {
+		for (String format : context.getGraphExportFormats()) {
+			String extension = extensionOf(format);
+			if (extension == null) {
+				log.warn("不支持的图导出格式: {}，可选 DOT, GRAPHML, BINARY", format);
+				continue;
+			}
+			export(format, methodGraph, Path.of(context.getGraphExportPath() + ".methods." + extension));
+			export(format, classGraph, Path.of(context.getGraphExportPath() + ".classes." + extension));
+		}
+	}
+
+	private static void export(String format, CallGraph graph, Path file) throws IOException {
+		switch (format.toUpperCase()) {
+		case "DOT":
+			writeDot(graph, file);
+			break;
+		case "GRAPHML":
+			writeGraphMl(graph, file);
+			break;
+		default:
+			BinaryGraphCodec.write(graph, file);
+			break;
+		}
+		log.info("依赖图已导出: {}（{} 个节点，{} 条边）", file.toAbsolutePath(), graph.getNodeCount(), graph.getEdgeCount());
+	}
+
+	private static String extensionOf(String format) {
+		switch (format.toUpperCase()) {
+		case "DOT":
+			return "dot";
+		case "GRAPHML":
+			return "graphml";
+		case "BINARY":
+			return "bin";
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * 写入 Graphviz DOT 格式
+	 */
+	public static void writeDot(CallGraph graph, Path file) throws IOException {
+		try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			writeDot(graph, out);
+		}
+	}
+
+	/**
+	 * 写入 Graphviz DOT 格式
+	 */
+	public static void writeDot(CallGraph graph, Writer out) throws IOException {
+		out.write("digraph dependencies {\n");
+		out.write("  rankdir=LR;\n");
+		out.write("  node [shape=box];\n");
+		for (int node = 0; node < graph.getNodeCount(); node++) {
+			out.write("  ");
+			out.write(dotId(graph.getNode(node)));
+			if (graph.getDepth(node) != CallGraph.UNKNOWN_DEPTH) {
+				out.write(" [depth=" + graph.getDepth(node) + "]");
+			}
+			out.write(";\n");
+		}
+		for (int node = 0; node < graph.getNodeCount(); node++) {
+			String source = dotId(graph.getNode(node));
+			for (int edge = graph.successorStart(node); edge < graph.successorEnd(node); edge++) {
+				out.write("  ");
+				out.write(source);
+				out.write(" -> ");
+				out.write(dotId(graph.getNode(graph.target(edge))));
+				out.write(";\n");
+			}
+		}
+		out.write("}\n");
+	}
+
+	/**
+	 * 写入 GraphML 格式，节点名称作为 label 属性，深度作为 depth 属性
+	 */
+	public static void writeGraphMl(CallGraph graph, Path file) throws IOException {
+		try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			writeGraphMl(graph, out);
+		}
+	}
+
+	/**
+	 * 写入 GraphML 格式，节点名称作为 label 属性，深度作为 depth 属性
+	 */
+	public static void writeGraphMl(CallGraph graph, Writer out) throws IOException {
+		out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		out.write("<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\">\n");
+		out.write("  <key id=\"d0\" for=\"node\" attr.name=\"label\" attr.type=\"string\"/>\n");
+		out.write("  <key id=\"d1\" for=\"node\" attr.name=\"depth\" attr.type=\"int\"/>\n");
+		out.write("  <graph id=\"dependencies\" edgedefault=\"directed\">\n");
+		for (int node = 0; node < graph.getNodeCount(); node++) {
+			out.write("    <node id=\"n" + node + "\">");
+			out.write("<data key=\"d0\">");
+			out.write(escapeXml(graph.getNode(node)));
+			out.write("</data>");
+			if (graph.getDepth(node) != CallGraph.UNKNOWN_DEPTH) {
+				out.write("<data key=\"d1\">" + graph.getDepth(node) + "</data>");
+			}
+			out.write("</node>\n");
+		}
+		for (int node = 0; node < graph.getNodeCount(); node++) {
+			for (int edge = graph.successorStart(node); edge < graph.successorEnd(node); edge++) {
+				out.write("    <edge source=\"n" + node + "\" target=\"n" + graph.target(edge) + "\"/>\n");
+			}
+		}
+		out.write("  </graph>\n");
+		out.write("</graphml>\n");
+	}
+
+	private static String dotId(String name) {
+		return "\"" + name.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+	}
+
+	private static String escapeXml(String text) {
+		StringBuilder builder = new StringBuilder(text.length() + 16);
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			switch (c) {
+			case '<':
+				builder.append("&lt;");
+				break;
+			case '>':
+				builder.append("&gt;");
+				break;
+			case '&':
+				builder.append("&amp;");
+				break;
+			case '"':
+				builder.append("&quot;");
+				break;
+			default:
+				builder.append(c);
+			}
+		}
+		return builder.toString();
+	}
+}
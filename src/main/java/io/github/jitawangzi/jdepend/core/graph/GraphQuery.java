@@ -0,0 +1,284 @@
+package io.github.jitawangzi.jdepend.core.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.github.jitawangzi.jdepend.util.MethodSignatureUtil;
+
+/**
+ * 依赖图查询：直接调用者/被调用者、带深度限制的传递闭包、最短路径和强连通分量
+ * 所有遍历都在 CallGraph 的 int 数组上进行，反向边由 CallGraph 按需构建，
+ * 对从二进制文件加载的图，单次查询一般只需要毫秒级。
+ */
+public class GraphQuery {
+
+	/** 不限制遍历深度 */
+	public static final int UNLIMITED = -1;
+
+	private final CallGraph graph;
+
+	public GraphQuery(CallGraph graph) {
+		this.graph = graph;
+	}
+
+	public CallGraph getGraph() {
+		return graph;
+	}
+
+	/**
+	 * 按名称查找节点
+	 * 依次尝试：完整名称；方法名或类名相同（或以 ".名称" 结尾），例如 PlayerDao.save 匹配它的所有重载；
+	 * 方法图中按类名匹配该类的所有方法。
+	 *
+	 * @param name 节点名称
+	 * @return 匹配的节点编号，没有匹配时返回空列表
+	 */
+	public List<Integer> findNodes(String name) {
+		int exact = graph.indexOf(name);
+		if (exact >= 0) {
+			return List.of(exact);
+		}
+		String suffix = "." + name;
+		List<Integer> result = new ArrayList<>();
+		for (int node = 0; node < graph.getNodeCount(); node++) {
+			String nameKey = MethodSignatureUtil.nameKey(graph.getNode(node));
+			if (nameKey.equals(name) || nameKey.endsWith(suffix)) {
+				result.add(node);
+			}
+		}
+		if (!result.isEmpty()) {
+			return result;
+		}
+		for (int node = 0; node < graph.getNodeCount(); node++) {
+			String nodeName = graph.getNode(node);
+			if (MethodSignatureUtil.isNameOnly(nodeName)) {
+				continue;
+			}
+			String className = MethodSignatureUtil.classNameOf(nodeName);
+			if (className.equals(name) || className.endsWith(suffix)) {
+				result.add(node);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 直接被调用（依赖）的节点
+	 */
+	public List<String> callees(int node) {
+		List<String> result = new ArrayList<>(graph.successorEnd(node) - graph.successorStart(node));
+		for (int edge = graph.successorStart(node); edge < graph.successorEnd(node); edge++) {
+			result.add(graph.getNode(graph.target(edge)));
+		}
+		return result;
+	}
+
+	/**
+	 * 直接调用（依赖）该节点的节点
+	 */
+	public List<String> callers(int node) {
+		List<String> result = new ArrayList<>(graph.predecessorEnd(node) - graph.predecessorStart(node));
+		for (int edge = graph.predecessorStart(node); edge < graph.predecessorEnd(node); edge++) {
+			result.add(graph.getNode(graph.source(edge)));
+		}
+		return result;
+	}
+
+	/**
+	 * 传递被调用者，广度优先
+	 *
+	 * @param start 起始节点
+	 * @param maxDepth 最大深度，UNLIMITED 表示不限制
+	 * @return 节点名称 -> 距离起始节点的最短深度，按发现顺序排列，不含起始节点
+	 */
+	public Map<String, Integer> transitiveCallees(Collection<Integer> start, int maxDepth) {
+		return traverse(start, maxDepth, false);
+	}
+
+	/**
+	 * 传递调用者，广度优先
+	 *
+	 * @param start 起始节点
+	 * @param maxDepth 最大深度，UNLIMITED 表示不限制
+	 * @return 节点名称 -> 距离起始节点的最短深度，按发现顺序排列，不含起始节点
+	 */
+	public Map<String, Integer> transitiveCallers(Collection<Integer> start, int maxDepth) {
+		return traverse(start, maxDepth, true);
+	}
+
+	private Map<String, Integer> traverse(Collection<Integer> start, int maxDepth, boolean reverse) {
+		int[] depth = new int[graph.getNodeCount()];
+		Arrays.fill(depth, -1);
+		int[] queue = new int[graph.getNodeCount()];
+		int head = 0;
+		int tail = 0;
+		for (int node : start) {
+			if (depth[node] < 0) {
+				depth[node] = 0;
+				queue[tail++] = node;
+			}
+		}
+		Map<String, Integer> result = new LinkedHashMap<>();
+		while (head < tail) {
+			int node = queue[head++];
+			if (maxDepth != UNLIMITED && depth[node] >= maxDepth) {
+				continue;
+			}
+			int begin = reverse ? graph.predecessorStart(node) : graph.successorStart(node);
+			int end = reverse ? graph.predecessorEnd(node) : graph.successorEnd(node);
+			for (int edge = begin; edge < end; edge++) {
+				int next = reverse ? graph.source(edge) : graph.target(edge);
+				if (depth[next] < 0) {
+					depth[next] = depth[node] + 1;
+					queue[tail++] = next;
+					result.put(graph.getNode(next), depth[next]);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 最短调用路径，广度优先
+	 *
+	 * @param from 起始节点（任意一个）
+	 * @param to 目标节点（任意一个）
+	 * @return 路径上的节点名称，包含两端，不可达时返回空列表
+	 */
+	public List<String> shortestPath(Collection<Integer> from, Collection<Integer> to) {
+		boolean[] isTarget = new boolean[graph.getNodeCount()];
+		to.forEach(node -> isTarget[node] = true);
+		int[] parent = new int[graph.getNodeCount()];
+		Arrays.fill(parent, -2);
+		int[] queue = new int[graph.getNodeCount()];
+		int head = 0;
+		int tail = 0;
+		for (int node : from) {
+			if (parent[node] == -2) {
+				parent[node] = -1;
+				queue[tail++] = node;
+			}
+		}
+		while (head < tail) {
+			int node = queue[head++];
+			if (isTarget[node]) {
+				List<String> path = new ArrayList<>();
+				for (int current = node; current >= 0; current = parent[current]) {
+					path.add(graph.getNode(current));
+				}
+				Collections.reverse(path);
+				return path;
+			}
+			for (int edge = graph.successorStart(node); edge < graph.successorEnd(node); edge++) {
+				int next = graph.target(edge);
+				if (parent[next] == -2) {
+					parent[next] = node;
+					queue[tail++] = next;
+				}
+			}
+		}
+		return List.of();
+	}
+
+	/**
+	 * 强连通分量（Tarjan算法，用显式栈实现，深层调用链不会栈溢出）
+	 *
+	 * @return 每个节点所属分量的编号，编号按分量完成的顺序（逆拓扑序）分配
+	 */
+	public int[] componentIds() {
+		int n = graph.getNodeCount();
+		int[] index = new int[n];
+		int[] lowLink = new int[n];
+		int[] component = new int[n];
+		boolean[] onStack = new boolean[n];
+		Arrays.fill(index, -1);
+		int[] sccStack = new int[n];
+		int sccTop = 0;
+		// DFS 调用栈：节点和下一条待访问的边
+		int[] callNode = new int[n];
+		int[] callEdge = new int[n];
+		int nextIndex = 0;
+		int componentCount = 0;
+
+		for (int root = 0; root < n; root++) {
+			if (index[root] >= 0) {
+				continue;
+			}
+			int callTop = 0;
+			callNode[0] = root;
+			callEdge[0] = graph.successorStart(root);
+			index[root] = lowLink[root] = nextIndex++;
+			sccStack[sccTop++] = root;
+			onStack[root] = true;
+			while (callTop >= 0) {
+				int node = callNode[callTop];
+				int edge = callEdge[callTop];
+				if (edge < graph.successorEnd(node)) {
+					callEdge[callTop]++;
+					int next = graph.target(edge);
+					if (index[next] < 0) {
+						index[next] = lowLink[next] = nextIndex++;
+						sccStack[sccTop++] = next;
+						onStack[next] = true;
+						callTop++;
+						callNode[callTop] = next;
+						callEdge[callTop] = graph.successorStart(next);
+					} else if (onStack[next]) {
+						lowLink[node] = Math.min(lowLink[node], index[next]);
+					}
+					continue;
+				}
+				if (lowLink[node] == index[node]) {
+					int member;
+					do {
+						member = sccStack[--sccTop];
+						onStack[member] = false;
+						component[member] = componentCount;
+					} while (member != node);
+					componentCount++;
+				}
+				callTop--;
+				if (callTop >= 0) {
+					int parent = callNode[callTop];
+					lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+				}
+			}
+		}
+		return component;
+	}
+
+	/**
+	 * 循环依赖：包含多个节点或有自环的强连通分量
+	 *
+	 * @return 每个分量的节点名称，按分量大小降序
+	 */
+	public List<List<String>> cycles() {
+		int[] component = componentIds();
+		Map<Integer, List<String>> members = new LinkedHashMap<>();
+		for (int node = 0; node < graph.getNodeCount(); node++) {
+			members.computeIfAbsent(component[node], key -> new ArrayList<>()).add(graph.getNode(node));
+		}
+		List<List<String>> result = new ArrayList<>();
+		for (List<String> group : members.values()) {
+			if (group.size() > 1 || hasSelfLoop(graph.indexOf(group.get(0)))) {
+				result.add(group);
+			}
+		}
+		result.sort((a, b) -> Integer.compare(b.size(), a.size()));
+		return result;
+	}
+
+	private boolean hasSelfLoop(int node) {
+		for (int edge = graph.successorStart(node); edge < graph.successorEnd(node); edge++) {
+			if (graph.target(edge) == node) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
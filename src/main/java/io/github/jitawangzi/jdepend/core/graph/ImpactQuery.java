@@ -0,0 +1,98 @@
+package io.github.jitawangzi.jdepend.core.graph;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import io.github.jitawangzi.jdepend.core.model.ImpactResult;
+import io.github.jitawangzi.jdepend.util.MethodSignatureUtil;
+
+/**
+ * 反向依赖（影响）查询：修改一个类或方法后，哪些入口点和类会受到影响
+ * 方法的影响沿方法调用图的反向边传递；类的影响包括类中所有方法的传递调用者，以及类依赖图上的所有传递依赖者。
+ */
+public class ImpactQuery {
+
+	private final GraphQuery methods;
+	private final GraphQuery classes;
+
+	/**
+	 * 构造函数
+	 *
+	 * @param methodGraph 方法调用图
+	 * @param classGraph 类依赖图
+	 */
+	public ImpactQuery(CallGraph methodGraph, CallGraph classGraph) {
+		this.methods = new GraphQuery(methodGraph);
+		this.classes = new GraphQuery(classGraph);
+	}
+
+	/**
+	 * 分析修改指定类或方法的影响
+	 *
+	 * @param target 类名（全限定名或简单类名）或方法（完整签名、类名.方法名、简单类名.方法名）
+	 * @return 影响分析结果，找不到时 isFound() 为 false
+	 */
+	public ImpactResult analyze(String target) {
+		CallGraph methodGraph = methods.getGraph();
+		CallGraph classGraph = classes.getGraph();
+
+		List<Integer> classStarts = classes.findNodes(target);
+		boolean classTarget = !classStarts.isEmpty();
+		Set<Integer> methodStarts = new LinkedHashSet<>();
+		Set<String> targetClasses = new TreeSet<>();
+		if (classTarget) {
+			for (int classNode : classStarts) {
+				targetClasses.add(classGraph.getNode(classNode));
+				methodStarts.addAll(methods.findNodes(classGraph.getNode(classNode)));
+			}
+		} else {
+			methodStarts.addAll(methods.findNodes(target));
+			methodStarts.forEach(node -> targetClasses.add(MethodSignatureUtil.classNameOf(methodGraph.getNode(node))));
+		}
+
+		List<String> matchedNodes = new ArrayList<>();
+		if (classTarget) {
+			matchedNodes.addAll(targetClasses);
+		} else {
+			methodStarts.forEach(node -> matchedNodes.add(methodGraph.getNode(node)));
+		}
+		if (matchedNodes.isEmpty()) {
+			return new ImpactResult(target, List.of(), List.of(), List.of(), List.of(), 0);
+		}
+
+		Map<String, Integer> affectedMethods = methods.transitiveCallers(methodStarts, GraphQuery.UNLIMITED);
+
+		Set<String> entryPoints = new TreeSet<>();
+		for (int node : methodStarts) {
+			if (methodGraph.predecessorStart(node) == methodGraph.predecessorEnd(node)) {
+				entryPoints.add(methodGraph.getNode(node));
+			}
+		}
+		for (String method : affectedMethods.keySet()) {
+			int node = methodGraph.indexOf(method);
+			if (methodGraph.predecessorStart(node) == methodGraph.predecessorEnd(node)) {
+				entryPoints.add(method);
+			}
+		}
+
+		Set<String> affectedClasses = new TreeSet<>();
+		affectedMethods.keySet().forEach(method -> affectedClasses.add(MethodSignatureUtil.classNameOf(method)));
+		if (classTarget) {
+			affectedClasses.addAll(classes.transitiveCallers(classStarts, GraphQuery.UNLIMITED).keySet());
+		}
+		affectedClasses.removeAll(targetClasses);
+
+		Set<String> directCallers = new TreeSet<>();
+		for (int node : methodStarts) {
+			directCallers.addAll(methods.callers(node));
+		}
+		methodStarts.forEach(node -> directCallers.remove(methodGraph.getNode(node)));
+
+		return new ImpactResult(target, matchedNodes, new ArrayList<>(entryPoints), new ArrayList<>(affectedClasses),
+				new ArrayList<>(directCallers), affectedMethods.size());
+	}
+}
@@ -0,0 +1,209 @@
+package io.github.jitawangzi.jdepend.core.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import io.github.jitawangzi.jdepend.core.model.MethodCost;
+import io.github.jitawangzi.jdepend.util.MethodSignatureUtil;
+
+/**
+ * 可达方法的token开销
+ * 把渲染时统计的每个方法和每个类文件头部的token数量挂到方法调用图的节点上，
+ * 从主类的方法开始按广度优先遍历得到调用树（每个方法挂在第一次到达它的调用者下面），
+ * 再按逆序一次自底向上累计每棵子树的开销：子树中所有方法的token，加上这些方法所在类文件的头部（同一个类文件只计一次）。
+ */
+public class MethodCostReport {
+
+	private static final int UNREACHED = -1;
+
+	private final CallGraph methodGraph;
+	private final long[] tokens;
+	private final int[] callDepth;
+	private final long[] subtreeTokens;
+	private final int[] subtreeMethods;
+	private final List<MethodCost> costs = new ArrayList<>();
+	private long methodTokenTotal;
+	private long headerTokenTotal;
+
+	/**
+	 * 计算开销
+	 *
+	 * @param methodGraph 方法调用图，见 MethodDependencyAnalyzer.buildCallGraph()
+	 * @param mainClass 主类名，主类的方法是调用树的根
+	 * @param methodTokens 方法签名 -> 方法输出后的token数量，见 ContentProcessor.getMethodTokens()
+	 * @param classHeaderTokens 类文件主类名 -> 方法以外部分的token数量，见 ContentProcessor.getClassHeaderTokens()
+	 */
+	public MethodCostReport(CallGraph methodGraph, String mainClass, Map<String, Long> methodTokens, Map<String, Long> classHeaderTokens) {
+		this.methodGraph = methodGraph;
+		int nodeCount = methodGraph.getNodeCount();
+		this.tokens = new long[nodeCount];
+		this.callDepth = new int[nodeCount];
+		this.subtreeTokens = new long[nodeCount];
+		this.subtreeMethods = new int[nodeCount];
+
+		// 类文件编号，节点所在的类文件（内部类的方法属于外部类的文件）
+		String[] files = classHeaderTokens.keySet().stream().sorted().toArray(String[]::new);
+		long[] headerTokens = new long[files.length];
+		for (int file = 0; file < files.length; file++) {
+			headerTokens[file] = classHeaderTokens.get(files[file]);
+		}
+		int[] fileOf = new int[nodeCount];
+		boolean[] rendered = new boolean[nodeCount];
+		for (int node = 0; node < nodeCount; node++) {
+			String method = methodGraph.getNode(node);
+			Long methodToken = methodTokens.get(method);
+			rendered[node] = methodToken != null;
+			tokens[node] = methodToken == null ? 0 : methodToken;
+			fileOf[node] = fileOf(files, MethodSignatureUtil.classNameOf(method));
+		}
+
+		// 广度优先得到调用树，order 是访问顺序，父节点总在子节点之前
+		int[] parent = new int[nodeCount];
+		Arrays.fill(callDepth, UNREACHED);
+		int[] order = new int[nodeCount];
+		int size = 0;
+		int mainFile = fileOf(files, mainClass);
+		for (int node = 0; node < nodeCount; node++) {
+			String className = MethodSignatureUtil.classNameOf(methodGraph.getNode(node));
+			if (className.equals(mainClass) || mainFile >= 0 && fileOf[node] == mainFile) {
+				callDepth[node] = 0;
+				parent[node] = UNREACHED;
+				order[size++] = node;
+			}
+		}
+		for (int head = 0; head < size; head++) {
+			int node = order[head];
+			for (int edge = methodGraph.successorStart(node); edge < methodGraph.successorEnd(node); edge++) {
+				int target = methodGraph.target(edge);
+				if (callDepth[target] == UNREACHED) {
+					callDepth[target] = callDepth[node] + 1;
+					parent[target] = node;
+					order[size++] = target;
+				}
+			}
+		}
+
+		// 逆序自底向上累计，子节点的类文件集合合并到父节点后即可丢弃
+		BitSet[] subtreeFiles = new BitSet[nodeCount];
+		BitSet reachedFiles = new BitSet(files.length);
+		for (int i = size - 1; i >= 0; i--) {
+			int node = order[i];
+			if (rendered[node]) {
+				subtreeMethods[node]++;
+				methodTokenTotal += tokens[node];
+			}
+			subtreeTokens[node] += tokens[node];
+			BitSet nodeFiles = subtreeFiles[node] == null ? new BitSet(files.length) : subtreeFiles[node];
+			if (fileOf[node] >= 0) {
+				nodeFiles.set(fileOf[node]);
+				reachedFiles.set(fileOf[node]);
+			}
+			long methodSubtreeTokens = subtreeTokens[node];
+			for (int file = nodeFiles.nextSetBit(0); file >= 0; file = nodeFiles.nextSetBit(file + 1)) {
+				subtreeTokens[node] += headerTokens[file];
+			}
+			if (rendered[node]) {
+				costs.add(new MethodCost(methodGraph.getNode(node), callDepth[node], tokens[node], subtreeTokens[node], subtreeMethods[node]));
+			}
+			subtreeFiles[node] = null;
+			int up = parent[node];
+			if (up != UNREACHED) {
+				// 父节点先只累计方法的token，类文件头部在父节点完成时按合并后的集合计算
+				subtreeTokens[up] += methodSubtreeTokens;
+				subtreeMethods[up] += subtreeMethods[node];
+				if (subtreeFiles[up] == null) {
+					subtreeFiles[up] = nodeFiles;
+				} else {
+					subtreeFiles[up].or(nodeFiles);
+				}
+			}
+		}
+		for (int file = reachedFiles.nextSetBit(0); file >= 0; file = reachedFiles.nextSetBit(file + 1)) {
+			headerTokenTotal += headerTokens[file];
+		}
+	}
+
+	/**
+	 * 查找类所在的类文件编号：依次去掉最后一段，直到匹配类文件主类名
+	 */
+	private static int fileOf(String[] files, String className) {
+		String name = className;
+		while (true) {
+			int file = Arrays.binarySearch(files, name);
+			if (file >= 0) {
+				return file;
+			}
+			int lastDot = name.lastIndexOf('.');
+			if (lastDot < 0) {
+				return -1;
+			}
+			name = name.substring(0, lastDot);
+		}
+	}
+
+	public CallGraph getMethodGraph() {
+		return methodGraph;
+	}
+
+	/**
+	 * 节点方法自身的token数量，没有输出的方法为0
+	 */
+	public long getTokens(int node) {
+		return tokens[node];
+	}
+
+	/**
+	 * 节点在调用树中的深度，从主类不可达时返回-1
+	 */
+	public int getCallDepth(int node) {
+		return callDepth[node];
+	}
+
+	/**
+	 * 节点调用子树的累计token数量，包括涉及的类文件头部
+	 */
+	public long getSubtreeTokens(int node) {
+		return subtreeTokens[node];
+	}
+
+	/**
+	 * 所有可达方法的token总数
+	 */
+	public long getMethodTokenTotal() {
+		return methodTokenTotal;
+	}
+
+	/**
+	 * 可达方法所在类文件的头部token总数
+	 */
+	public long getHeaderTokenTotal() {
+		return headerTokenTotal;
+	}
+
+	/**
+	 * 自身开销最大的可达方法
+	 *
+	 * @param limit 数量
+	 */
+	public List<MethodCost> heaviestMethods(int limit) {
+		return top(Comparator.comparingLong(MethodCost::getTokens).reversed(), limit);
+	}
+
+	/**
+	 * 调用子树累计开销最大的可达方法
+	 *
+	 * @param limit 数量
+	 */
+	public List<MethodCost> heaviestSubtrees(int limit) {
+		return top(Comparator.comparingLong(MethodCost::getSubtreeTokens).reversed().thenComparingInt(MethodCost::getCallDepth), limit);
+	}
+
+	private List<MethodCost> top(Comparator<MethodCost> comparator, int limit) {
+		return costs.stream().sorted(comparator.thenComparing(MethodCost::getMethod)).limit(limit).collect(Collectors.toList());
+	}
+}
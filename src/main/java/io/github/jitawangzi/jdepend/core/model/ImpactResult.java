@@ -0,0 +1,66 @@
+package io.github.jitawangzi.jdepend.core.model;
+
+import java.util.List;
+
+/**
+ * 影响分析结果，表示修改一个类或方法后受影响的入口点、类和方法
+ */
+public class ImpactResult {
+	private final String target;
+	private final List<String> matchedNodes;
+	private final List<String> entryPoints;
+	private final List<String> affectedClasses;
+	private final List<String> directCallers;
+	private final int affectedMethodCount;
+
+	/**
+	 * 构造函数
+	 * 
+	 * @param target 查询的类或方法
+	 * @param matchedNodes 图中匹配到的节点
+	 * @param entryPoints 受影响的入口点（没有调用者的方法）
+	 * @param affectedClasses 受影响的类
+	 * @param directCallers 直接调用者
+	 * @param affectedMethodCount 受影响的方法总数（传递调用者）
+	 */
+	public ImpactResult(String target, List<String> matchedNodes, List<String> entryPoints, List<String> affectedClasses,
+			List<String> directCallers, int affectedMethodCount) {
+		this.target = target;
+		this.matchedNodes = matchedNodes;
+		this.entryPoints = entryPoints;
+		this.affectedClasses = affectedClasses;
+		this.directCallers = directCallers;
+		this.affectedMethodCount = affectedMethodCount;
+	}
+
+	public String getTarget() {
+		return target;
+	}
+
+	public List<String> getMatchedNodes() {
+		return matchedNodes;
+	}
+
+	public List<String> getEntryPoints() {
+		return entryPoints;
+	}
+
+	public List<String> getAffectedClasses() {
+		return affectedClasses;
+	}
+
+	public List<String> getDirectCallers() {
+		return directCallers;
+	}
+
+	public int getAffectedMethodCount() {
+		return affectedMethodCount;
+	}
+
+	/**
+	 * 是否在图中找到了查询的类或方法
+	 */
+	public boolean isFound() {
+		return !matchedNodes.isEmpty();
+	}
+}
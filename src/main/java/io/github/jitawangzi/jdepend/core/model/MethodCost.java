@@ -0,0 +1,49 @@
+package io.github.jitawangzi.jdepend.core.model;
+
+/**
+ * 一个可达方法在输出中的token开销
+ */
+public class MethodCost {
+	private final String method;
+	private final int callDepth;
+	private final long tokens;
+	private final long subtreeTokens;
+	private final int subtreeMethods;
+
+	/**
+	 * 构造函数
+	 *
+	 * @param method 方法签名
+	 * @param callDepth 在调用树中的深度，主类的方法为0
+	 * @param tokens 方法自身（简化后的方法体）的token数量
+	 * @param subtreeTokens 调用子树的累计token数量：子树中所有方法，加上这些方法所在类文件的类头部（每个类文件计一次）
+	 * @param subtreeMethods 调用子树中的方法数量，包括方法本身
+	 */
+	public MethodCost(String method, int callDepth, long tokens, long subtreeTokens, int subtreeMethods) {
+		this.method = method;
+		this.callDepth = callDepth;
+		this.tokens = tokens;
+		this.subtreeTokens = subtreeTokens;
+		this.subtreeMethods = subtreeMethods;
+	}
+
+	public String getMethod() {
+		return method;
+	}
+
+	public int getCallDepth() {
+		return callDepth;
+	}
+
+	public long getTokens() {
+		return tokens;
+	}
+
+	public long getSubtreeTokens() {
+		return subtreeTokens;
+	}
+
+	public int getSubtreeMethods() {
+		return subtreeMethods;
+	}
+}
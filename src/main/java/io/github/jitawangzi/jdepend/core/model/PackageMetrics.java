@@ -0,0 +1,86 @@
+package io.github.jitawangzi.jdepend.core.model;
+
+/**
+ * 包级别的依赖度量（JDepend 定义）
+ */
+public class PackageMetrics {
+	private final String packageName;
+	private final int classCount;
+	private final int abstractClassCount;
+	private final int afferentCoupling;
+	private final int efferentCoupling;
+	private final int layer;
+	private final boolean inCycle;
+
+	/**
+	 * 构造函数
+	 * 
+	 * @param packageName 包名
+	 * @param classCount 包中的类数量
+	 * @param abstractClassCount 包中的接口和抽象类数量
+	 * @param afferentCoupling 传入耦合 Ca：依赖这个包的其他包数量
+	 * @param efferentCoupling 传出耦合 Ce：这个包依赖的其他包数量
+	 * @param layer 层级：不依赖其他包的包为0，否则为所依赖的包的最大层级加1（循环依赖的包属于同一层）
+	 * @param inCycle 是否处于包之间的循环依赖中
+	 */
+	public PackageMetrics(String packageName, int classCount, int abstractClassCount, int afferentCoupling, int efferentCoupling, int layer,
+			boolean inCycle) {
+		this.packageName = packageName;
+		this.classCount = classCount;
+		this.abstractClassCount = abstractClassCount;
+		this.afferentCoupling = afferentCoupling;
+		this.efferentCoupling = efferentCoupling;
+		this.layer = layer;
+		this.inCycle = inCycle;
+	}
+
+	public String getPackageName() {
+		return packageName;
+	}
+
+	public int getClassCount() {
+		return classCount;
+	}
+
+	public int getAbstractClassCount() {
+		return abstractClassCount;
+	}
+
+	public int getAfferentCoupling() {
+		return afferentCoupling;
+	}
+
+	public int getEfferentCoupling() {
+		return efferentCoupling;
+	}
+
+	public int getLayer() {
+		return layer;
+	}
+
+	public boolean isInCycle() {
+		return inCycle;
+	}
+
+	/**
+	 * 不稳定性 I = Ce / (Ca + Ce)，没有任何耦合时为0
+	 */
+	public double getInstability() {
+		int total = afferentCoupling + efferentCoupling;
+		return total == 0 ? 0 : (double) efferentCoupling / total;
+	}
+
+	/**
+	 * 抽象程度 A = 抽象类数量 / 类数量
+	 */
+	public double getAbstractness() {
+		return classCount == 0 ? 0 : (double) abstractClassCount / classCount;
+	}
+
+	/**
+	 * 与主序列的距离 D = |A + I - 1|
+	 */
+	public double getDistance() {
+		return Math.abs(getAbstractness() + getInstability() - 1);
+	}
+}
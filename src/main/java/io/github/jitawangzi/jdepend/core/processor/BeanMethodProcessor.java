@@ -4,6 +4,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.NodeList;
@@ -17,15 +19,13 @@ import com.github.javaparser.ast.stmt.BlockStmt;
 import com.github.javaparser.ast.stmt.ReturnStmt;
 import com.github.javaparser.ast.stmt.Statement;
 
-import io.github.jitawangzi.jdepend.config.AppConfigManager;
-
 /**
  * JavaBean方法处理器，用于识别和处理JavaBean的getter和setter方法
  */
 public class BeanMethodProcessor {
 
-	// 存储每个类中被省略的访问器方法
-	private final Map<String, List<MethodDeclaration>> omittedAccessors = new HashMap<>();
+	// 存储每个类中被省略的访问器方法，多个类并行处理时同时写入，按类名排序使报告顺序与处理顺序无关
+	private final Map<String, List<MethodDeclaration>> omittedAccessors = new ConcurrentSkipListMap<>();
 
 	/**
 	 * 构造函数
@@ -36,16 +36,14 @@ public class BeanMethodProcessor {
 	}
 
 	/**
-	 * 处理编译单元中的JavaBean方法
+	 * 查找编译单元中的JavaBean访问器方法并记录为被省略的方法，但不修改编译单元
 	 * 
 	 * @param cu 编译单元
 	 * @param className 类名
+	 * @param excluded 已经被移除的方法，不再作为访问器记录
+	 * @return 访问器方法节点（编译单元中的原始节点）
 	 */
-	public void process(CompilationUnit cu, String className) {
-		if (!AppConfigManager.get().isOmitBeanMethods()) {
-			return;
-		}
-
+	public List<MethodDeclaration> findAccessors(CompilationUnit cu, String className, Set<MethodDeclaration> excluded) {
 		// 收集类中的所有字段
 		Map<String, String> fieldTypes = new HashMap<>();
 		cu.findAll(FieldDeclaration.class).forEach(field -> {
@@ -55,25 +53,23 @@ public class BeanMethodProcessor {
 		});
 
 		// 处理类中的方法
+		List<MethodDeclaration> accessors = new ArrayList<>();
 		cu.findAll(ClassOrInterfaceDeclaration.class).forEach(classDecl -> {
-			List<MethodDeclaration> accessorsToRemove = new ArrayList<>();
-
 			for (MethodDeclaration method : classDecl.getMethods()) {
-				if (isBeanAccessor(method, fieldTypes)) {
-					accessorsToRemove.add(method.clone());
+				if (!excluded.contains(method) && isBeanAccessor(method, fieldTypes)) {
+					accessors.add(method);
 				}
 			}
+		});
 
-			// 保存被省略的访问器方法
-			if (!accessorsToRemove.isEmpty()) {
-				omittedAccessors.put(className, accessorsToRemove);
-
-				// 从类中移除这些方法
-				for (MethodDeclaration method : accessorsToRemove) {
-					classDecl.getMembers().remove(method);
-				}
+		// 保存被省略的访问器方法
+		if (!accessors.isEmpty()) {
+			List<MethodDeclaration> omitted = omittedAccessors.computeIfAbsent(className, k -> new ArrayList<>());
+			for (MethodDeclaration method : accessors) {
+				omitted.add(method.clone());
 			}
-		});
+		}
+		return accessors;
 	}
 
 	/**
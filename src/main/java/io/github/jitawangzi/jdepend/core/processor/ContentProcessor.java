@@ -1,54 +1,71 @@
 package io.github.jitawangzi.jdepend.core.processor;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.javaparser.JavaParser;
 import com.github.javaparser.ParseProblemException;
-import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ParseResult;
 import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
-import com.github.javaparser.ast.comments.LineComment;
-import com.github.javaparser.ast.stmt.BlockStmt;
+import com.github.javaparser.ast.body.TypeDeclaration;
 import com.github.javaparser.ast.stmt.ExplicitConstructorInvocationStmt;
-import com.github.javaparser.ast.stmt.Statement;
-import com.github.javaparser.printer.DefaultPrettyPrinter;
 
-import io.github.jitawangzi.jdepend.config.AppConfigManager;
-import io.github.jitawangzi.jdepend.config.ImportConfig;
-import io.github.jitawangzi.jdepend.config.RuntimeConfig;
+import io.github.jitawangzi.jdepend.config.AnalysisContext;
 import io.github.jitawangzi.jdepend.util.CommonUtil;
+import io.github.jitawangzi.jdepend.util.JavaParserInit;
+import io.github.jitawangzi.jdepend.util.MethodSignatureUtil;
 
 /**
  * 内容处理器，负责处理类的源代码
+ * 处理过程只读取编译单元，不同的类可以在多个线程中同时处理，但同一个编译单元不能同时交给多个线程
  */
 public class ContentProcessor {
 	private static Logger log = LoggerFactory.getLogger(ContentProcessor.class);
 
+	/** 没有现成编译单元时（目录模式）使用的轻量级解析器，不做符号解析；JavaParser实例不是线程安全的，每个线程一个 */
+	private static final ThreadLocal<JavaParser> LIGHTWEIGHT_PARSER = ThreadLocal.withInitial(JavaParserInit::newLightweightParser);
+
+	private static final String OMITTED_COMMENT = "// Implementation details omitted";
+
+	private final AnalysisContext context;
 	private final BeanMethodProcessor beanMethodProcessor;
 	private final MethodFilter methodFilter;
+	// 保留下来的每个方法输出后的token数量（方法签名 -> token），以及每个类文件除方法以外部分的token数量（类名 -> token）
+	private final Map<String, Long> methodTokens = new ConcurrentHashMap<>();
+	private final Map<String, Long> classHeaderTokens = new ConcurrentHashMap<>();
+	private final boolean collectTokenCosts;
 
 	/**
 	 * 构造函数
 	 * 
-	 * @param config 配置对象
-	 * @param importConfig 导入配置对象
+	 * @param context 分析配置
 	 * @param reachableMethods 可达方法集合
 	 */
-	public ContentProcessor(Set<String> reachableMethods) {
+	public ContentProcessor(AnalysisContext context, Set<String> reachableMethods) {
+		this.context = context;
 		this.beanMethodProcessor = new BeanMethodProcessor();
-		this.methodFilter = new MethodFilter(reachableMethods, AppConfigManager.get().getMainClass());
+		this.methodFilter = new MethodFilter(context, reachableMethods);
+		this.collectTokenCosts = !context.isDirectoryMode() && context.getMethodCostReportSize() > 0;
 	}
 
 	 
     /**
 	 * 处理类的源代码
+	 * 需要删除的导入、方法以及需要简化的方法体都按源码位置记录为编辑，最后在原始源码上一次拼接，
+	 * 不重新打印语法树，未修改部分的格式和注释原样保留
 	 * 
-	 * @param cu 编译单元
+	 * @param cu 编译单元，为null时（目录模式）使用不带符号解析的轻量级解析器解析源代码
 	 * @param sourceCode 源代码
 	 * @param depth 依赖深度，一般在类分析模式下使用，用来判断是否需要简化方法体
 	 * @return 处理后的源代码
@@ -56,145 +73,177 @@ public class ContentProcessor {
 	public String process(CompilationUnit cu, String sourceCode, int depth) {
         try {
 			if (cu == null) {
-				cu = StaticJavaParser.parse(sourceCode);
+				cu = parse(sourceCode);
 			}
 			String className = CommonUtil.getFullClassName(cu);
+			SourceEdits edits = new SourceEdits(cu, sourceCode);
+
             // 处理导入语句
-            processImports(cu);
-            
+			processImports(cu, edits);
+
+			Set<MethodDeclaration> removedMethods = Collections.newSetFromMap(new IdentityHashMap<>());
             // 先过滤未被引用的方法 - 这一步必须在处理JavaBean方法之前
 			// 只有在类分析模式下才进行未引用方法过滤，目录模式不过滤，全部保存
-			if (!RuntimeConfig.isDirectoryMode && AppConfigManager.get().isKeepOnlyReferencedMethods()) {
-                methodFilter.filterUnreferencedMethods(cu, className);
+			if (!context.isDirectoryMode() && context.isKeepOnlyReferencedMethods()) {
+				removedMethods.addAll(methodFilter.findUnreferencedMethods(cu, className));
             }
             
             // 然后处理JavaBean方法
-			if (AppConfigManager.get().isOmitBeanMethods()) {
-                beanMethodProcessor.process(cu, className);
+			if (context.isOmitBeanMethods()) {
+				removedMethods.addAll(beanMethodProcessor.findAccessors(cu, className, removedMethods));
             }
-            
-//			boolean isMainClass = className.equals(AppConfigManager.get().getMainClass());
-			boolean keepMethods = CommonUtil.shouldKeepMethods(className, depth);
-            
+			removedMethods.forEach(edits::delete);
+
+			boolean keepMethods = context.shouldKeepMethods(className, depth);
             if (!keepMethods) {
-                // 处理剩余方法体（简化方法实现）
-                processMethodBodies(cu);
+				// 处理剩余方法体（简化方法实现），被删除方法内部的替换会在拼接时被忽略
+				processMethodBodies(cu, edits);
             }
             
-            return new DefaultPrettyPrinter().print(cu);
+			String result = edits.render();
+			if (collectTokenCosts) {
+				recordTokenCosts(cu, className, removedMethods, edits, result);
+			}
+			return result;
         } catch (Exception e) {
 			log.error("处理类失败: " + sourceCode, e);
             return sourceCode;
         }
     }
-    
+
+	/**
+	 * 在生成输出的同时统计每个保留方法的token开销，类文件中方法以外的部分（导入、字段、构造函数、类声明等）计入类头部
+	 * 
+	 * @param cu 编译单元
+	 * @param className 类名
+	 * @param removedMethods 被删除的方法
+	 * @param edits 源码编辑集合
+	 * @param result 处理后的源代码
+	 */
+	private void recordTokenCosts(CompilationUnit cu, String className, Set<MethodDeclaration> removedMethods, SourceEdits edits, String result) {
+		long methodTotal = 0;
+		for (MethodDeclaration method : cu.findAll(MethodDeclaration.class)) {
+			if (removedMethods.contains(method) || !isMemberMethod(method)) {
+				continue;
+			}
+			String declaringClassName = ((TypeDeclaration<?>) method.getParentNode().get()).getFullyQualifiedName().orElse(className);
+			long tokens = TokenCounter.estimateTokens(edits.render(method));
+			methodTokens.merge(MethodSignatureUtil.of(declaringClassName, method), tokens, Long::sum);
+			methodTotal += tokens;
+		}
+		classHeaderTokens.put(className, Math.max(0, TokenCounter.estimateTokens(result) - methodTotal));
+	}
+
+	/**
+	 * 是否是类型的成员方法，局部类和匿名类中的方法属于外层方法的方法体
+	 */
+	private static boolean isMemberMethod(MethodDeclaration method) {
+		Node parent = method.getParentNode().orElse(null);
+		while (parent instanceof TypeDeclaration) {
+			parent = parent.getParentNode().orElse(null);
+		}
+		return parent instanceof CompilationUnit;
+	}
+
+	/**
+	 * 使用轻量级解析器解析源代码
+	 */
+	private static CompilationUnit parse(String sourceCode) {
+		ParseResult<CompilationUnit> result = LIGHTWEIGHT_PARSER.get().parse(sourceCode);
+		if (!result.isSuccessful() || !result.getResult().isPresent()) {
+			throw new ParseProblemException(result.getProblems());
+		}
+		return result.getResult().get();
+	}
 
 	/**
 	 * 简化方法体实现
 	 * 
 	 * @param cu 编译单元
+	 * @param edits 源码编辑集合
 	 */
-	private static void processMethodBodies(CompilationUnit cu) {
+	private static void processMethodBodies(CompilationUnit cu, SourceEdits edits) {
 		cu.findAll(ClassOrInterfaceDeclaration.class).forEach(classDecl -> {
 			classDecl.getMethods().forEach(method -> {
 				if (method.getBody().isPresent()) {
 
 					boolean singleLineMethod = CommonUtil.isSingleLineMethod(method);
 					if (!singleLineMethod) {
-						BlockStmt newBody = new BlockStmt();
 						// 对于非void方法添加return语句
-						if (!method.getType().isVoidType()) {
-							addDefaultReturn(newBody, method.getType().toString());
-						}
-						// 直接添加注释到方法体
-						newBody.addOrphanComment(new LineComment(" Implementation details omitted"));
-
-						method.setBody(newBody);
+						String returnStmt = method.getType().isVoidType() ? null : defaultReturn(method.getType().toString());
+						edits.replace(method.getBody().get(), omittedBody(edits, method, returnStmt));
 					}
 
 				}
 			});
 
 			classDecl.getConstructors().forEach(constructor -> {
-				BlockStmt newBody = new BlockStmt();
-				constructor.findFirst(ExplicitConstructorInvocationStmt.class).ifPresent(newBody::addStatement);
-				// 直接添加注释
-				newBody.addOrphanComment(new LineComment(" Implementation details omitted"));
-				constructor.setBody(newBody);
+				// 保留显式的 this(...) / super(...) 调用
+				String invocation = constructor.findFirst(ExplicitConstructorInvocationStmt.class).map(edits::getText).orElse(null);
+				edits.replace(constructor.getBody(), omittedBody(edits, constructor, invocation));
 			});
 		});
 	}
 
 	/**
-	 * 添加默认的return语句
+	 * 生成简化后的方法体文本，缩进与方法声明所在行保持一致
 	 * 
-	 * @param body 方法体
-	 * @param returnType 返回类型
+	 * @param edits 源码编辑集合
+	 * @param declaration 方法或构造函数声明
+	 * @param statement 保留的语句，可以为null
+	 * @return 方法体文本
 	 */
-	private static void addDefaultReturn(BlockStmt body, String returnType) {
-		try {
-			String returnStmt;
-			switch (returnType) {
-			case "boolean":
-				returnStmt = "return false;";
-				break;
-			case "int":
-			case "long":
-			case "short":
-			case "byte":
-				returnStmt = "return 0;";
-				break;
-			case "double":
-			case "float":
-				returnStmt = "return 0.0;";
-				break;
-			case "char":
-				returnStmt = "return '\\0';";
-				break;
-			default:
-				// 对象类型和泛型
-				returnStmt = "return null;";
-				break;
-			}
-
-			Statement stmt = StaticJavaParser.parseStatement(returnStmt);
-			body.addStatement(stmt);
-		} catch (ParseProblemException e) {
-			System.err.println("生成默认return语句失败: " + returnType);
+	private static String omittedBody(SourceEdits edits, Node declaration, String statement) {
+		String indent = edits.getIndent(declaration);
+		String innerIndent = indent + (indent.startsWith(" ") ? "    " : "\t");
+		String newline = edits.getLineSeparator();
+		StringBuilder sb = new StringBuilder("{").append(newline);
+		if (statement != null) {
+			sb.append(innerIndent).append(statement).append(newline);
 		}
+		sb.append(innerIndent).append(OMITTED_COMMENT).append(newline);
+		sb.append(indent).append('}');
+		return sb.toString();
 	}
 
 	/**
-	 * 处理导入语句，根据配置移除不需要的导入
+	 * 获取返回类型对应的默认return语句
 	 * 
-	 * @param cu 编译单元
+	 * @param returnType 返回类型
+	 * @return return语句
 	 */
-	private static void processImports(CompilationUnit cu) {
-		cu.getImports().removeIf(imp -> {
-			String importName = imp.getNameAsString();
-			if (imp.isStatic()) {
-				return false;
-			}
-			return !shouldKeepImport(importName);
-		});
+	private static String defaultReturn(String returnType) {
+		switch (returnType) {
+		case "boolean":
+			return "return false;";
+		case "int":
+		case "long":
+		case "short":
+		case "byte":
+			return "return 0;";
+		case "double":
+		case "float":
+			return "return 0.0;";
+		case "char":
+			return "return '\\0';";
+		default:
+			// 对象类型和泛型
+			return "return null;";
+		}
 	}
 
 	/**
-	 * 判断是否需要保留该导入
+	 * 处理导入语句，根据配置移除不需要的导入
+	 * 
+	 * @param cu 编译单元
+	 * @param edits 源码编辑集合
 	 */
-	private static boolean shouldKeepImport(String importName) {
-		if (importName.startsWith("static ")) {
-			return true;
-		}
-
-		if (ImportConfig.INSTANCE.getKeepPrefixes().stream().anyMatch(importName::startsWith)) {
-			return true;
-		}
-
-		if (ImportConfig.INSTANCE.isSkipEnabled() && ImportConfig.INSTANCE.getSkipPrefixes().stream().anyMatch(importName::startsWith)) {
-			return false;
+	private void processImports(CompilationUnit cu, SourceEdits edits) {
+		for (ImportDeclaration imp : cu.getImports()) {
+			if (!imp.isStatic() && !context.shouldKeepImport(imp.getNameAsString())) {
+				edits.delete(imp);
+			}
 		}
-		return true;
 	}
 
 	/**
@@ -214,4 +263,22 @@ public class ContentProcessor {
 	public Map<String, List<MethodDeclaration>> getRemovedUnreferencedMethods() {
 		return methodFilter.getRemovedMethods();
 	}
+
+	/**
+	 * 获取保留下来的方法在输出中的token数量，只在配置了 method.cost.report.size 的类分析模式下统计
+	 * 
+	 * @return 方法签名 -> token数量
+	 */
+	public Map<String, Long> getMethodTokens() {
+		return methodTokens;
+	}
+
+	/**
+	 * 获取每个类文件中方法以外部分在输出中的token数量，只在配置了 method.cost.report.size 的类分析模式下统计
+	 * 
+	 * @return 类文件主类名 -> token数量
+	 */
+	public Map<String, Long> getClassHeaderTokens() {
+		return classHeaderTokens;
+	}
 }
\ No newline at end of file
@@ -1,10 +1,11 @@
 package io.github.jitawangzi.jdepend.core.processor;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -14,8 +15,8 @@ import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
 
-import io.github.jitawangzi.jdepend.config.AppConfigManager;
-import io.github.jitawangzi.jdepend.config.RuntimeConfig;
+import io.github.jitawangzi.jdepend.config.AnalysisContext;
+import io.github.jitawangzi.jdepend.util.MethodSignatureUtil;
 
 /**
  * 方法过滤器，用于移除未被引用的方法
@@ -24,50 +25,65 @@ public class MethodFilter {
 	private static Logger log = LoggerFactory.getLogger(MethodFilter.class);
 
 	private final Set<String> reachableMethods;
+	// 可达方法的 类名.方法名，用于参数类型无法解析的方法声明
+	private final Set<String> reachableNames = new HashSet<>();
+	// 只有方法名的可达方法（调用处无法解析参数类型），该名称的所有重载都视为可达
+	private final Set<String> reachableAllOverloads = new HashSet<>();
 	private final String mainClassName;
+	private final AnalysisContext context;
 
-	// 存储每个类中被移除的方法
-	private final Map<String, List<MethodDeclaration>> removedMethods = new HashMap<>();
+	// 存储每个类中被移除的方法，多个类并行处理时同时写入，按类名排序使报告顺序与处理顺序无关
+	private final Map<String, List<MethodDeclaration>> removedMethods = new ConcurrentSkipListMap<>();
 
 	/**
 	 * 构造函数
 	 * 
-	 * @param config 配置对象
+	 * @param context 分析配置
 	 * @param reachableMethods 可达方法集合
-	 * @param mainClassName 主类名
 	 */
-	public MethodFilter(Set<String> reachableMethods, String mainClassName) {
+	public MethodFilter(AnalysisContext context, Set<String> reachableMethods) {
+		this.context = context;
 		this.reachableMethods = reachableMethods;
-		this.mainClassName = mainClassName;
+		this.mainClassName = context.getMainClass();
+		for (String method : reachableMethods) {
+			reachableNames.add(MethodSignatureUtil.nameKey(method));
+			if (MethodSignatureUtil.isNameOnly(method)) {
+				reachableAllOverloads.add(method);
+			}
+		}
 
 		// 调试信息
 		log.debug("可达方法总数: {}", reachableMethods.size());
 	}
 
 	/**
-	 * 过滤类中未被引用的方法
+	 * 查找类中未被引用的方法并记录为被移除的方法，但不修改编译单元
 	 * 
 	 * @param cu 编译单元
 	 * @param className 类名
+	 * @return 需要移除的方法节点（编译单元中的原始节点）
 	 */
-	public void filterUnreferencedMethods(CompilationUnit cu, String className) {
-		if (!RuntimeConfig.isDirectoryMode && !AppConfigManager.get().isKeepOnlyReferencedMethods() || className.equals(mainClassName)) {
+	public List<MethodDeclaration> findUnreferencedMethods(CompilationUnit cu, String className) {
+		List<MethodDeclaration> unreferenced = new ArrayList<>();
+		if (!context.isDirectoryMode() && !context.isKeepOnlyReferencedMethods() || className.equals(mainClassName)) {
 			// 如果不启用过滤或者是主类，跳过处理
-			return;
+			return unreferenced;
 		}
 
 		// 处理类中的方法
 		cu.findAll(ClassOrInterfaceDeclaration.class).forEach(classDecl -> {
 			List<MethodDeclaration> methodsToRemove = new ArrayList<>();
 			int totalMethods = classDecl.getMethods().size();
+			// 内部类的方法在调用图中以内部类的全名记录，例如 a.b.Outer.Inner.method()
+			String declaringClassName = classDecl.getFullyQualifiedName().orElse(className);
 
 			// 首先标识所有需要移除的方法
 			for (MethodDeclaration method : classDecl.getMethods()) {
-				String methodName = method.getNameAsString();
-				String fullMethodName = className + "." + methodName;
+				String fullMethodName = MethodSignatureUtil.of(declaringClassName, method);
 
-				// 检查方法是否可达
-				boolean isReachable = reachableMethods.contains(fullMethodName);
+				// 检查方法是否可达，分析外部类时内部类的方法也会以外部类名记录
+				boolean isReachable = isReachable(fullMethodName)
+						|| !declaringClassName.equals(className) && isReachable(MethodSignatureUtil.of(className, method));
 
 				// 如果方法没有被引用，且不是特殊方法，标记为移除
 				if (!isReachable && !isSpecialMethod(method, classDecl)) {
@@ -83,12 +99,8 @@ public class MethodFilter {
 				// 克隆方法用于记录
 				List<MethodDeclaration> clonedMethods = methodsToRemove.stream().map(MethodDeclaration::clone).collect(Collectors.toList());
 
-				removedMethods.put(className, clonedMethods);
-
-				// 然后从AST中移除这些方法
-				for (MethodDeclaration method : methodsToRemove) {
-					classDecl.remove(method);
-				}
+				removedMethods.computeIfAbsent(className, k -> new ArrayList<>()).addAll(clonedMethods);
+				unreferenced.addAll(methodsToRemove);
 
 				log.debug("类 {} 共有 {} 个方法，移除了 {} 个未引用方法，保留 {} 个方法", className, totalMethods, methodsToRemove.size(),
 						(totalMethods - methodsToRemove.size()));
@@ -96,6 +108,21 @@ public class MethodFilter {
 				log.debug("类 {} 的所有方法都被保留", className);
 			}
 		});
+		return unreferenced;
+	}
+
+	/**
+	 * 判断方法签名是否可达，同名的其他重载可达并不代表这个重载可达
+	 * 
+	 * @param methodKey 方法签名
+	 * @return 是否可达
+	 */
+	private boolean isReachable(String methodKey) {
+		if (MethodSignatureUtil.isNameOnly(methodKey)) {
+			// 方法声明的参数类型无法解析，只能按名称判断
+			return reachableNames.contains(methodKey);
+		}
+		return reachableMethods.contains(methodKey) || reachableAllOverloads.contains(MethodSignatureUtil.nameKey(methodKey));
 	}
 
 	/**
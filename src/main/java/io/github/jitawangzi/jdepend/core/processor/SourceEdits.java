@@ -0,0 +1,303 @@
+package io.github.jitawangzi.jdepend.core.processor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.javaparser.JavaToken;
+import com.github.javaparser.TokenRange;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+
+/**
+ * 基于源码位置的编辑集合
+ * 记录对原始源码的删除和替换，最后按位置顺序一次拼接输出，未修改的部分原样保留。
+ * 源码位置通过遍历token累加计算，而不是使用行列号（行列号按字节计算，遇到中文等非ASCII字符时不准确）。
+ */
+public class SourceEdits {
+
+	private final String source;
+	private final Map<JavaToken, Integer> tokenOffsets = new IdentityHashMap<>();
+	private final List<Edit> edits = new ArrayList<>();
+	private boolean sorted;
+	private final String lineSeparator;
+
+	/**
+	 * 构造函数
+	 *
+	 * @param cu 由 source 解析得到的编译单元
+	 * @param source 原始源码
+	 */
+	public SourceEdits(CompilationUnit cu, String source) {
+		this.source = source;
+		this.lineSeparator = source.contains("\r\n") ? "\r\n" : "\n";
+
+		JavaToken token = cu.getTokenRange().orElseThrow(() -> new IllegalStateException("编译单元没有token信息")).getBegin();
+		while (token.getPreviousToken().isPresent()) {
+			token = token.getPreviousToken().get();
+		}
+		int offset = 0;
+		for (; token != null; token = token.getNextToken().orElse(null)) {
+			tokenOffsets.put(token, offset);
+			offset += token.getText().length();
+		}
+		if (offset != source.length()) {
+			throw new IllegalStateException("token与源码不一致，无法按位置编辑");
+		}
+	}
+
+	/**
+	 * 用新文本替换节点
+	 */
+	public void replace(Node node, String text) {
+		edits.add(new Edit(beginOf(node), endOf(node), text));
+		sorted = false;
+	}
+
+	/**
+	 * 删除节点，连同紧挨着的前置注释以及所在的整行一起删除
+	 */
+	public void delete(Node node) {
+		TokenRange range = tokenRange(node);
+		JavaToken first = range.getBegin();
+		int begin = tokenOffsets.get(first);
+
+		// 向前吞掉独占一行的注释（javadoc、块注释、行注释）
+		JavaToken previous = first.getPreviousToken().orElse(null);
+		while (previous != null && (previous.getCategory().isWhitespaceOrComment())) {
+			if (previous.getCategory().isComment()) {
+				int commentBegin = tokenOffsets.get(previous);
+				if (!isLineStart(commentBegin)) {
+					break;
+				}
+				begin = commentBegin;
+			}
+			previous = previous.getPreviousToken().orElse(null);
+		}
+		int end = endOf(node);
+
+		// 同一行末尾的行注释一起删除
+		JavaToken next = range.getEnd().getNextToken().orElse(null);
+		while (next != null && next.getCategory().isWhitespaceOrComment() && !next.getCategory().isEndOfLine()) {
+			if (next.getCategory().isComment()) {
+				if (next.getText().startsWith("//")) {
+					end = tokenOffsets.get(next) + next.getText().length();
+				}
+				break;
+			}
+			next = next.getNextToken().orElse(null);
+		}
+
+		// 扩展为整行删除
+		int lineBegin = lineBeginOf(begin);
+		int lineEnd = lineEndOf(end);
+		if (lineBegin >= 0 && lineEnd >= 0) {
+			begin = lineBegin;
+			end = lineEnd;
+			// 前后都是空行时多删除一个空行，避免留下连续空行
+			int nextLineEnd = lineEndOf(end);
+			if ((begin == 0 || isBlankLineBefore(begin)) && nextLineEnd >= 0 && nextLineEnd > end) {
+				end = nextLineEnd;
+			}
+		}
+		edits.add(new Edit(begin, end, ""));
+		sorted = false;
+	}
+
+	/**
+	 * 获取节点对应的原始源码
+	 */
+	public String getText(Node node) {
+		return source.substring(beginOf(node), endOf(node));
+	}
+
+	/**
+	 * 获取节点所在行的缩进
+	 */
+	public String getIndent(Node node) {
+		int begin = beginOf(node);
+		int lineBegin = begin;
+		while (lineBegin > 0 && source.charAt(lineBegin - 1) != '\n') {
+			lineBegin--;
+		}
+		int indentEnd = lineBegin;
+		while (indentEnd < begin && (source.charAt(indentEnd) == ' ' || source.charAt(indentEnd) == '\t')) {
+			indentEnd++;
+		}
+		return source.substring(lineBegin, indentEnd);
+	}
+
+	/**
+	 * 获取源码使用的换行符
+	 */
+	public String getLineSeparator() {
+		return lineSeparator;
+	}
+
+	/**
+	 * 按位置顺序应用所有编辑，生成结果文本
+	 * 落在前一个编辑范围内的编辑会被忽略（例如被删除方法内部的方法体替换）
+	 */
+	public String render() {
+		return render(0, source.length());
+	}
+
+	/**
+	 * 生成节点编辑后的文本，只应用完全落在节点范围内的编辑，例如方法被简化后的文本
+	 */
+	public String render(Node node) {
+		return render(beginOf(node), endOf(node));
+	}
+
+	private String render(int from, int to) {
+		if (edits.isEmpty()) {
+			return source.substring(from, to);
+		}
+		if (!sorted) {
+			edits.sort(Comparator.comparingInt((Edit edit) -> edit.begin).thenComparingInt(edit -> -edit.end));
+			sorted = true;
+		}
+		StringBuilder sb = new StringBuilder(to - from);
+		int cursor = from;
+		for (Edit edit : edits) {
+			if (edit.begin >= to) {
+				break;
+			}
+			if (edit.begin < from || edit.end > to) {
+				continue;
+			}
+			int begin = edit.begin;
+			if (begin < cursor) {
+				// 与前一个删除相邻的整行删除可能有少量重叠，其余重叠的编辑直接忽略
+				if (edit.end <= cursor || !edit.text.isEmpty()) {
+					continue;
+				}
+				begin = cursor;
+			}
+			sb.append(source, cursor, begin).append(edit.text);
+			cursor = edit.end;
+			// 整行删除后紧跟 } 时，去掉输出末尾残留的空行（例如类中最后几个方法都被删除）
+			if (edit.text.isEmpty() && cursor > 0 && source.charAt(cursor - 1) == '\n' && isClosingBraceLine(cursor)) {
+				trimTrailingBlankLine(sb);
+			}
+		}
+		sb.append(source, cursor, to);
+		return sb.toString();
+	}
+
+	private int beginOf(Node node) {
+		return tokenOffsets.get(tokenRange(node).getBegin());
+	}
+
+	private int endOf(Node node) {
+		JavaToken last = tokenRange(node).getEnd();
+		return tokenOffsets.get(last) + last.getText().length();
+	}
+
+	private static TokenRange tokenRange(Node node) {
+		return node.getTokenRange().orElseThrow(() -> new IllegalStateException("节点没有token信息: " + node.getClass().getSimpleName()));
+	}
+
+	/**
+	 * 位置之前到行首是否只有空白
+	 */
+	private boolean isLineStart(int offset) {
+		return lineBeginOf(offset) >= 0;
+	}
+
+	/**
+	 * 如果从行首到 offset 都是空白，返回行首位置，否则返回-1
+	 */
+	private int lineBeginOf(int offset) {
+		int i = offset;
+		while (i > 0) {
+			char c = source.charAt(i - 1);
+			if (c == '\n') {
+				return i;
+			}
+			if (c != ' ' && c != '\t') {
+				return -1;
+			}
+			i--;
+		}
+		return 0;
+	}
+
+	/**
+	 * 如果从 offset 到行尾都是空白，返回下一行的起始位置（文件末尾则返回文件长度），否则返回-1
+	 */
+	private int lineEndOf(int offset) {
+		int i = offset;
+		while (i < source.length()) {
+			char c = source.charAt(i);
+			if (c == '\n') {
+				return i + 1;
+			}
+			if (c != ' ' && c != '\t' && c != '\r') {
+				return -1;
+			}
+			i++;
+		}
+		return source.length();
+	}
+
+	/**
+	 * lineBegin 的上一行是否是空行
+	 */
+	private boolean isBlankLineBefore(int lineBegin) {
+		if (lineBegin == 0) {
+			return false;
+		}
+		// 跳过上一行的换行符
+		int i = lineBegin - 1;
+		if (i > 0 && source.charAt(i - 1) == '\r') {
+			i--;
+		}
+		return lineBeginOf(i) >= 0;
+	}
+
+	/**
+	 * 从 lineBegin 开始的一行去掉缩进后是否以 } 开头
+	 */
+	private boolean isClosingBraceLine(int lineBegin) {
+		int i = lineBegin;
+		while (i < source.length() && (source.charAt(i) == ' ' || source.charAt(i) == '\t')) {
+			i++;
+		}
+		return i < source.length() && source.charAt(i) == '}';
+	}
+
+	/**
+	 * 如果输出的最后一行是空行则删除该行
+	 */
+	private static void trimTrailingBlankLine(StringBuilder sb) {
+		int i = sb.length() - 1;
+		if (i < 0 || sb.charAt(i) != '\n') {
+			return;
+		}
+		int j = i - 1;
+		while (j >= 0 && (sb.charAt(j) == '\r' || sb.charAt(j) == ' ' || sb.charAt(j) == '\t')) {
+			j--;
+		}
+		if (j >= 0 && sb.charAt(j) == '\n') {
+			sb.setLength(j + 1);
+		}
+	}
+
+	/**
+	 * 单个编辑：把 [begin, end) 替换为 text
+	 */
+	private static class Edit {
+		private final int begin;
+		private final int end;
+		private final String text;
+
+		Edit(int begin, int end, String text) {
+			this.begin = begin;
+			this.end = end;
+			this.text = text;
+		}
+	}
+}
@@ -1,6 +1,10 @@
 package io.github.jitawangzi.jdepend.core.processor;
 
+import java.util.Collections;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Token计数器，用于估算代码的token数量和计算节省情况
@@ -10,7 +14,7 @@ public class TokenCounter {
 	/**
 	 * 粗略估算文本中的token数量
 	 * 注意：这只是一个简化的估算，实际token数量取决于具体的分词算法
-	 * 
+	 *
 	 * @param text 文本内容
 	 * @return 估算的token数量
 	 */
@@ -25,46 +29,142 @@ public class TokenCounter {
 
 	/**
 	 * 计算原始代码和处理后代码的token差异
-	 * 
+	 * 按内容的键统计单个文件，不区分包和深度；处理过程中可以直接使用 Accumulator 逐个文件累计，不需要再遍历一遍内容
+	 *
 	 * @param originalContents 原始代码内容
 	 * @param processedContents 处理后的代码内容
 	 * @return Token统计信息
 	 */
 	public static TokenStats calculateDifference(Map<String, String> originalContents, Map<String, String> processedContents) {
-		int originalTotal = 0;
-		int processedTotal = 0;
-
+		Accumulator accumulator = new Accumulator();
 		for (String className : originalContents.keySet()) {
-			String original = originalContents.get(className);
-			String processed = processedContents.get(className);
-			originalTotal += estimateTokens(original);
-			processedTotal += estimateTokens(processed);
+			accumulator.add(className, "", 0, originalContents.get(className), processedContents.get(className));
+		}
+		return accumulator.toStats();
+	}
+
+	/**
+	 * Token统计的累加器
+	 * 生成内容的工作线程处理完一个文件后立即计数并累加，多个线程可以同时调用 add，
+	 * 总数和各个分组都用 LongAdder 累计，所有文件处理完后调用 toStats 得到统计结果。
+	 */
+	public static class Accumulator {
+		private final LongAdder originalTokens = new LongAdder();
+		private final LongAdder processedTokens = new LongAdder();
+		private final Map<String, Counts> files = new ConcurrentHashMap<>();
+		private final Map<String, Counts> packages = new ConcurrentHashMap<>();
+		private final Map<Integer, Counts> depths = new ConcurrentHashMap<>();
+
+		/**
+		 * 统计一个文件
+		 *
+		 * @param file 文件标识，类分析模式下是类名，目录模式下是相对路径
+		 * @param packageName 文件所在的包（目录模式下是所在目录）
+		 * @param depth 依赖深度（目录模式下是目录深度）
+		 * @param original 原始内容
+		 * @param processed 处理后的内容
+		 * @return 这个文件的token数量
+		 */
+		public TokenCount add(String file, String packageName, int depth, String original, String processed) {
+			TokenCount count = new TokenCount(estimateTokens(original), estimateTokens(processed));
+			originalTokens.add(count.getOriginalTokens());
+			processedTokens.add(count.getProcessedTokens());
+			files.computeIfAbsent(file, k -> new Counts()).add(count);
+			packages.computeIfAbsent(packageName, k -> new Counts()).add(count);
+			depths.computeIfAbsent(depth, k -> new Counts()).add(count);
+			return count;
+		}
+
+		/**
+		 * 生成统计结果，各个分组按键排序
+		 *
+		 * @return Token统计信息
+		 */
+		public TokenStats toStats() {
+			return new TokenStats(originalTokens.sum(), processedTokens.sum(), snapshot(files), snapshot(packages), snapshot(depths));
+		}
+
+		private static <K> Map<K, TokenCount> snapshot(Map<K, Counts> counts) {
+			Map<K, TokenCount> result = new TreeMap<>();
+			counts.forEach((key, value) -> result.put(key, value.toTokenCount()));
+			return Collections.unmodifiableMap(result);
+		}
+	}
+
+	/**
+	 * 分组的累计值
+	 */
+	private static class Counts {
+		final LongAdder original = new LongAdder();
+		final LongAdder processed = new LongAdder();
+
+		void add(TokenCount count) {
+			original.add(count.getOriginalTokens());
+			processed.add(count.getProcessedTokens());
 		}
 
-		return new TokenStats(originalTotal, processedTotal);
+		TokenCount toTokenCount() {
+			return new TokenCount(original.sum(), processed.sum());
+		}
+	}
+
+	/**
+	 * 一个文件或一组文件的token数量
+	 */
+	public static class TokenCount {
+		private final long originalTokens;
+		private final long processedTokens;
+
+		public TokenCount(long originalTokens, long processedTokens) {
+			this.originalTokens = originalTokens;
+			this.processedTokens = processedTokens;
+		}
+
+		public long getOriginalTokens() {
+			return originalTokens;
+		}
+
+		public long getProcessedTokens() {
+			return processedTokens;
+		}
+
+		public long getSavedTokens() {
+			return originalTokens - processedTokens;
+		}
 	}
 
 	/**
 	 * Token统计信息
 	 */
 	public static class TokenStats {
-		private final int originalTokens;
-		private final int processedTokens;
+		private final long originalTokens;
+		private final long processedTokens;
+		private final Map<String, TokenCount> fileTokens;
+		private final Map<String, TokenCount> packageTokens;
+		private final Map<Integer, TokenCount> depthTokens;
 
-		public TokenStats(int originalTokens, int processedTokens) {
+		public TokenStats(long originalTokens, long processedTokens) {
+			this(originalTokens, processedTokens, Map.of(), Map.of(), Map.of());
+		}
+
+		public TokenStats(long originalTokens, long processedTokens, Map<String, TokenCount> fileTokens, Map<String, TokenCount> packageTokens,
+				Map<Integer, TokenCount> depthTokens) {
 			this.originalTokens = originalTokens;
 			this.processedTokens = processedTokens;
+			this.fileTokens = fileTokens;
+			this.packageTokens = packageTokens;
+			this.depthTokens = depthTokens;
 		}
 
-		public int getOriginalTokens() {
+		public long getOriginalTokens() {
 			return originalTokens;
 		}
 
-		public int getProcessedTokens() {
+		public long getProcessedTokens() {
 			return processedTokens;
 		}
 
-		public int getSavedTokens() {
+		public long getSavedTokens() {
 			return originalTokens - processedTokens;
 		}
 
@@ -73,5 +173,26 @@ public class TokenCounter {
 				return 0;
 			return (double) getSavedTokens() / originalTokens * 100;
 		}
+
+		/**
+		 * 每个文件的token数量，按文件排序
+		 */
+		public Map<String, TokenCount> getFileTokens() {
+			return fileTokens;
+		}
+
+		/**
+		 * 每个包的token数量，按包名排序
+		 */
+		public Map<String, TokenCount> getPackageTokens() {
+			return packageTokens;
+		}
+
+		/**
+		 * 每个依赖深度的token数量，按深度排序
+		 */
+		public Map<Integer, TokenCount> getDepthTokens() {
+			return depthTokens;
+		}
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,129 @@
+package io.github.jitawangzi.jdepend.core.solver;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javassist.ClassPath;
+import javassist.NotFoundException;
+
+/**
+ * 项目依赖jar中的类索引，所有工作线程共享
+ * 每个jar只打开、遍历一次，记录 类名 -> 所在jar；作为 javassist 的 ClassPath 供各线程的 ClassPool 按需读取类文件。
+ * 创建后只读（JarFile 支持多线程读取），不可变部分不再随线程数复制。
+ */
+public class DependencyJarIndex implements ClassPath, Closeable {
+	private static Logger log = LoggerFactory.getLogger(DependencyJarIndex.class);
+
+	private static final String CLASS_EXTENSION = ".class";
+
+	private final List<JarFile> jars = new ArrayList<>();
+	// 规范类名（内部类用 . 分隔，例如 a.b.Outer.Inner）-> ClassPool 中的类名（a.b.Outer$Inner）
+	private final Map<String, String> poolNames;
+	// ClassPool 中的类名 -> 所在jar
+	private final Map<String, JarFile> jarOfClass;
+
+	/**
+	 * 打开并索引jar，同名的类以先出现的jar为准（与依次添加 JarTypeSolver 时一致），无法打开的jar记录警告后跳过
+	 *
+	 * @param jarFiles 依赖jar
+	 */
+	public DependencyJarIndex(List<File> jarFiles) {
+		Map<String, String> names = new HashMap<>();
+		Map<String, JarFile> classes = new HashMap<>();
+		for (File file : jarFiles) {
+			JarFile jar;
+			try {
+				jar = new JarFile(file);
+			} catch (IOException e) {
+				log.warn("Could not add jar to typesolver: {}", file.getPath(), e);
+				continue;
+			}
+			jars.add(jar);
+			Enumeration<JarEntry> entries = jar.entries();
+			while (entries.hasMoreElements()) {
+				String entryName = entries.nextElement().getName();
+				if (!entryName.endsWith(CLASS_EXTENSION)) {
+					continue;
+				}
+				String poolName = entryName.substring(0, entryName.length() - CLASS_EXTENSION.length()).replace('/', '.');
+				if (classes.putIfAbsent(poolName, jar) == null) {
+					names.putIfAbsent(poolName.replace('$', '.'), poolName);
+				}
+			}
+		}
+		this.poolNames = Collections.unmodifiableMap(names);
+		this.jarOfClass = Collections.unmodifiableMap(classes);
+	}
+
+	/**
+	 * 获取类在 ClassPool 中的名称
+	 *
+	 * @param name 规范类名
+	 * @return ClassPool 中的类名，不在依赖jar中时返回null
+	 */
+	public String poolNameOf(String name) {
+		return poolNames.get(name);
+	}
+
+	/**
+	 * 索引的类数量
+	 */
+	public int size() {
+		return jarOfClass.size();
+	}
+
+	@Override
+	public InputStream openClassfile(String classname) throws NotFoundException {
+		JarFile jar = jarOfClass.get(classname);
+		if (jar == null) {
+			return null;
+		}
+		String entryName = classname.replace('.', '/') + CLASS_EXTENSION;
+		// 一次读出整个类文件，不把 jar 中的流交给调用方
+		try (InputStream in = jar.getInputStream(jar.getEntry(entryName))) {
+			return new ByteArrayInputStream(in.readAllBytes());
+		} catch (IOException e) {
+			throw new NotFoundException("无法读取类文件: " + classname, e);
+		}
+	}
+
+	@Override
+	public URL find(String classname) {
+		JarFile jar = jarOfClass.get(classname);
+		if (jar == null) {
+			return null;
+		}
+		try {
+			return new URL("jar:" + new File(jar.getName()).toURI().toURL() + "!/" + classname.replace('.', '/') + CLASS_EXTENSION);
+		} catch (MalformedURLException e) {
+			return null;
+		}
+	}
+
+	@Override
+	public void close() {
+		for (JarFile jar : jars) {
+			try {
+				jar.close();
+			} catch (IOException e) {
+				log.warn("关闭依赖jar失败: {}", jar.getName(), e);
+			}
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package io.github.jitawangzi.jdepend.core.solver;
+
+import com.github.javaparser.resolution.TypeSolver;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.model.SymbolReference;
+import com.github.javaparser.symbolsolver.javassistmodel.JavassistFactory;
+
+import javassist.ClassPool;
+import javassist.NotFoundException;
+
+/**
+ * 项目依赖jar中的类型解析器，替代为每个jar各创建一个 JarTypeSolver
+ * 类名索引和打开的jar由 DependencyJarIndex 在所有线程间共享；每个线程的解析器只持有自己的 ClassPool，
+ * 其中只缓存本线程实际解析过的类，不再随 线程数 × jar数 复制整个索引。
+ */
+public class DependencyJarTypeSolver implements TypeSolver {
+
+	private final DependencyJarIndex index;
+	// ClassPool 和它缓存的 CtClass 不是线程安全的，解析器只在一个线程的配置中使用
+	private final ClassPool classPool = new ClassPool(false);
+	private TypeSolver parent;
+
+	public DependencyJarTypeSolver(DependencyJarIndex index) {
+		this.index = index;
+		classPool.appendClassPath(index);
+	}
+
+	@Override
+	public TypeSolver getParent() {
+		return parent;
+	}
+
+	@Override
+	public void setParent(TypeSolver parent) {
+		if (parent == this) {
+			throw new IllegalStateException("The parent of this TypeSolver cannot be itself.");
+		}
+		this.parent = parent;
+	}
+
+	@Override
+	public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+		String poolName = index.poolNameOf(name);
+		if (poolName == null) {
+			return SymbolReference.unsolved();
+		}
+		try {
+			return SymbolReference.solved(JavassistFactory.toTypeDeclaration(classPool.get(poolName), getRoot()));
+		} catch (NotFoundException e) {
+			throw new IllegalStateException("Unable to get class with name " + poolName + " from class pool", e);
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package io.github.jitawangzi.jdepend.core.solver;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.javaparser.resolution.TypeSolver;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.model.SymbolReference;
+import com.github.javaparser.symbolsolver.reflectionmodel.ReflectionFactory;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+
+/**
+ * 基于 JdkTypeIndex 的 JDK 类型解析器，替代 ReflectionTypeSolver 和手工维护的各个 JDK 包解析器
+ * 覆盖当前 JDK 所有模块导出的公共类型（包括 org.w3c.dom、org.xml.sax 等非 java/javax 包）。
+ * 先在索引中查找类名，不在索引中的名称（项目类、第三方类、包名片段）直接返回未解析，不触发类加载和异常；
+ * 命中后才通过系统类加载器加载该类并生成声明，同一个解析器内每个类只生成一次。
+ * 索引不可用时退化为 ReflectionTypeSolver。
+ */
+public class JdkIndexTypeSolver implements TypeSolver {
+	private static Logger log = LoggerFactory.getLogger(JdkIndexTypeSolver.class);
+
+	private final JdkTypeIndex index;
+	private final ReflectionTypeSolver fallback;
+	// 类名 -> 类型声明，解析器只在一个线程的配置中使用
+	private final Map<String, SymbolReference<ResolvedReferenceTypeDeclaration>> declarations = new HashMap<>();
+	private TypeSolver parent;
+
+	public JdkIndexTypeSolver() {
+		this.index = JdkTypeIndex.getInstance();
+		if (index == null) {
+			fallback = new ReflectionTypeSolver();
+			fallback.setParent(this);
+		} else {
+			fallback = null;
+		}
+	}
+
+	@Override
+	public TypeSolver getParent() {
+		return parent;
+	}
+
+	@Override
+	public void setParent(TypeSolver parent) {
+		if (parent == this) {
+			throw new IllegalStateException("The parent of this TypeSolver cannot be itself.");
+		}
+		this.parent = parent;
+	}
+
+	@Override
+	public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+		if (fallback != null) {
+			return fallback.tryToSolveType(name);
+		}
+		SymbolReference<ResolvedReferenceTypeDeclaration> reference = declarations.get(name);
+		if (reference == null) {
+			reference = solve(name);
+			declarations.put(name, reference);
+		}
+		return reference;
+	}
+
+	private SymbolReference<ResolvedReferenceTypeDeclaration> solve(String name) {
+		int entry = index.find(name);
+		if (entry < 0) {
+			return SymbolReference.unsolved();
+		}
+		String binaryName = index.binaryName(entry);
+		try {
+			Class<?> clazz = Class.forName(binaryName, false, ClassLoader.getSystemClassLoader());
+			return SymbolReference.solved(ReflectionFactory.typeDeclarationFor(clazz, getRoot()));
+		} catch (ClassNotFoundException | LinkageError e) {
+			log.debug("JDK类型索引中的类无法加载: {}", binaryName, e);
+			return SymbolReference.unsolved();
+		}
+	}
+}
@@ -0,0 +1,231 @@
+package io.github.jitawangzi.jdepend.core.solver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.jitawangzi.jdepend.config.AppConfigManager;
+
+/**
+ * JDK 类型索引，由 JdkTypeIndexGenerator 生成，通过内存映射读取
+ * 文件格式（大端）：
+ * <pre>
+ * int    魔数 JDT1
+ * UTF    生成索引的 JDK 版本（java.runtime.version）
+ * int    模块数，之后每个模块一个 UTF 模块名
+ * int    类型数
+ * int    索引项区的偏移
+ * int    名称区的偏移
+ * 索引项 每个类型8字节：int 名称偏移（相对名称区），short 模块序号，byte 种类，byte 嵌套层数
+ * 名称区 每个名称：short 长度 + ASCII 字节，按规范类名（如 java.util.Map.Entry）排序
+ * </pre>
+ * 查找时在映射的缓冲区上直接二分比较字节，不创建字符串，不加载类；索引项的读取是无状态的绝对读取，可以被多个线程共享。
+ */
+public class JdkTypeIndex {
+	private static Logger log = LoggerFactory.getLogger(JdkTypeIndex.class);
+
+	static final int MAGIC = 0x4A44_5431; // "JDT1"
+	static final int ENTRY_SIZE = 8;
+
+	public static final byte KIND_CLASS = 0;
+	public static final byte KIND_INTERFACE = 1;
+	public static final byte KIND_ENUM = 2;
+	public static final byte KIND_ANNOTATION = 3;
+	public static final byte KIND_RECORD = 4;
+
+	private final ByteBuffer buffer;
+	private final String[] modules;
+	private final int typeCount;
+	private final int entriesOffset;
+	private final int namesOffset;
+
+	/**
+	 * 延迟加载当前 JDK 的索引，加载失败时为null
+	 */
+	private static class Holder {
+		private static final JdkTypeIndex INSTANCE = loadOrGenerate();
+	}
+
+	private JdkTypeIndex(ByteBuffer buffer) throws IOException {
+		this.buffer = buffer;
+		if (buffer.getInt(0) != MAGIC) {
+			throw new IOException("Not a JDK type index");
+		}
+		int position = 4;
+		String version = readUtf(position);
+		if (!version.equals(runtimeVersion())) {
+			throw new IOException("JDK type index was generated for " + version + ", running " + runtimeVersion());
+		}
+		position += 2 + (buffer.getShort(position) & 0xFFFF);
+		modules = new String[buffer.getInt(position)];
+		position += 4;
+		for (int i = 0; i < modules.length; i++) {
+			modules[i] = readUtf(position);
+			position += 2 + (buffer.getShort(position) & 0xFFFF);
+		}
+		typeCount = buffer.getInt(position);
+		entriesOffset = buffer.getInt(position + 4);
+		namesOffset = buffer.getInt(position + 8);
+		if (entriesOffset != position + 12 || namesOffset != entriesOffset + typeCount * ENTRY_SIZE || namesOffset > buffer.limit()) {
+			throw new IOException("Corrupted JDK type index");
+		}
+	}
+
+	/**
+	 * 获取当前 JDK 的索引，第一次调用时加载，索引文件不存在或与当前 JDK 版本不符时重新生成
+	 *
+	 * @return 索引，无法生成或加载时返回null
+	 */
+	public static JdkTypeIndex getInstance() {
+		return Holder.INSTANCE;
+	}
+
+	/**
+	 * 映射索引文件
+	 *
+	 * @param file 索引文件
+	 */
+	public static JdkTypeIndex load(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			// 映射在通道关闭后仍然有效
+			return new JdkTypeIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	private static JdkTypeIndex loadOrGenerate() {
+		Path file = indexFile();
+		long timeMillis = System.currentTimeMillis();
+		try {
+			if (Files.isRegularFile(file)) {
+				try {
+					JdkTypeIndex index = load(file);
+					log.debug("加载JDK类型索引 {}，{} 个类型，耗时 {} ms", file, index.size(), System.currentTimeMillis() - timeMillis);
+					return index;
+				} catch (IOException e) {
+					log.info("JDK类型索引需要重新生成: {}", e.getMessage());
+				}
+			}
+			JdkTypeIndexGenerator.generate(file);
+			return load(file);
+		} catch (Exception e) {
+			log.warn("无法生成或加载JDK类型索引 {}，退化为反射解析JDK类型", file, e);
+			return null;
+		}
+	}
+
+	private static Path indexFile() {
+		String configured = AppConfigManager.get().getJdkTypeIndexFile();
+		return configured == null || configured.trim().isEmpty() ? defaultIndexFile() : Path.of(configured.trim());
+	}
+
+	/**
+	 * 默认的索引文件：用户目录下按 JDK 版本区分的文件
+	 */
+	static Path defaultIndexFile() {
+		return Path.of(System.getProperty("user.home"), ".jdepend", "jdk-types-" + runtimeVersion().replaceAll("[^A-Za-z0-9._-]", "_") + ".idx");
+	}
+
+	static String runtimeVersion() {
+		return System.getProperty("java.runtime.version");
+	}
+
+	private String readUtf(int position) {
+		byte[] bytes = new byte[buffer.getShort(position) & 0xFFFF];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = buffer.get(position + 2 + i);
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * 类型数量
+	 */
+	public int size() {
+		return typeCount;
+	}
+
+	/**
+	 * 按规范类名查找类型
+	 *
+	 * @param canonicalName 规范类名，例如 java.util.Map.Entry
+	 * @return 索引项序号，不存在时返回-1
+	 */
+	public int find(String canonicalName) {
+		int low = 0;
+		int high = typeCount - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int cmp = compareName(mid, canonicalName);
+			if (cmp < 0) {
+				low = mid + 1;
+			} else if (cmp > 0) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	private int compareName(int entry, String name) {
+		int position = namesOffset + buffer.getInt(entriesOffset + entry * ENTRY_SIZE);
+		int length = buffer.getShort(position) & 0xFFFF;
+		position += 2;
+		int common = Math.min(length, name.length());
+		for (int i = 0; i < common; i++) {
+			int diff = (buffer.get(position + i) & 0xFF) - name.charAt(i);
+			if (diff != 0) {
+				return diff;
+			}
+		}
+		return length - name.length();
+	}
+
+	/**
+	 * 索引项的规范类名
+	 */
+	public String canonicalName(int entry) {
+		int position = namesOffset + buffer.getInt(entriesOffset + entry * ENTRY_SIZE);
+		byte[] bytes = new byte[buffer.getShort(position) & 0xFFFF];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = buffer.get(position + 2 + i);
+		}
+		return new String(bytes, StandardCharsets.US_ASCII);
+	}
+
+	/**
+	 * 索引项的二进制类名，用于加载类，例如 java.util.Map$Entry
+	 */
+	public String binaryName(int entry) {
+		int depth = buffer.get(entriesOffset + entry * ENTRY_SIZE + 7);
+		char[] name = canonicalName(entry).toCharArray();
+		for (int i = name.length - 1; i >= 0 && depth > 0; i--) {
+			if (name[i] == '.') {
+				name[i] = '$';
+				depth--;
+			}
+		}
+		return new String(name);
+	}
+
+	/**
+	 * 索引项的类型种类，KIND_* 常量之一
+	 */
+	public byte kind(int entry) {
+		return buffer.get(entriesOffset + entry * ENTRY_SIZE + 6);
+	}
+
+	/**
+	 * 索引项所在的模块
+	 */
+	public String module(int entry) {
+		return modules[buffer.getShort(entriesOffset + entry * ENTRY_SIZE + 4)];
+	}
+}
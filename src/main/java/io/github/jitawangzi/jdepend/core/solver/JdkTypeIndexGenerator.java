@@ -0,0 +1,250 @@
+package io.github.jitawangzi.jdepend.core.solver;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.module.ModuleDescriptor;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 生成 JDK 类型索引
+ * 读取当前运行的 JDK 的 jrt:/ 文件系统，收集启动模块层中所有模块无条件导出的包里的公共类型，
+ * 只解析 class 文件头（常量池和访问标志），不加载类。索引格式见 JdkTypeIndex。
+ * 索引与 JDK 版本绑定，JdkTypeIndex 第一次使用时会为当前 JDK 自动生成；也可以在构建或安装时直接运行生成：
+ * java -cp ... io.github.jitawangzi.jdepend.core.solver.JdkTypeIndexGenerator [输出文件]
+ */
+public class JdkTypeIndexGenerator {
+	private static Logger log = LoggerFactory.getLogger(JdkTypeIndexGenerator.class);
+
+	private static final int ACC_PUBLIC = 0x0001;
+	private static final int ACC_INTERFACE = 0x0200;
+	private static final int ACC_ANNOTATION = 0x2000;
+	private static final int ACC_ENUM = 0x4000;
+
+	/**
+	 * 一个类型的索引项
+	 */
+	private static class TypeEntry {
+		private final int module;
+		private final byte kind;
+		private final byte nestingDepth;
+
+		TypeEntry(int module, byte kind, byte nestingDepth) {
+			this.module = module;
+			this.kind = kind;
+			this.nestingDepth = nestingDepth;
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		Path output = args.length > 0 ? Path.of(args[0]) : JdkTypeIndex.defaultIndexFile();
+		generate(output);
+	}
+
+	/**
+	 * 为当前运行的 JDK 生成索引文件，先写临时文件再替换，其他进程不会读到写了一半的文件
+	 *
+	 * @param output 索引文件
+	 */
+	public static void generate(Path output) throws IOException {
+		long timeMillis = System.currentTimeMillis();
+		List<String> modules = new ArrayList<>();
+		// 规范类名 -> 索引项，按名称排序以便二分查找
+		TreeMap<String, TypeEntry> types = new TreeMap<>();
+
+		FileSystem jrt = FileSystems.getFileSystem(URI.create("jrt:/"));
+		List<ModuleDescriptor> descriptors = ModuleLayer.boot()
+				.modules()
+				.stream()
+				.map(Module::getDescriptor)
+				.sorted((a, b) -> a.name().compareTo(b.name()))
+				.collect(Collectors.toList());
+		for (ModuleDescriptor descriptor : descriptors) {
+			Set<String> exportedPackages = descriptor.exports()
+					.stream()
+					.filter(export -> !export.isQualified())
+					.map(ModuleDescriptor.Exports::source)
+					.collect(Collectors.toSet());
+			Path moduleRoot = jrt.getPath("/modules", descriptor.name());
+			if (exportedPackages.isEmpty() || !Files.isDirectory(moduleRoot)) {
+				continue;
+			}
+			int moduleIndex = modules.size();
+			modules.add(descriptor.name());
+			for (String packageName : exportedPackages) {
+				Path packageDir = moduleRoot.resolve(packageName.replace('.', '/'));
+				if (!Files.isDirectory(packageDir)) {
+					continue;
+				}
+				try (Stream<Path> files = Files.list(packageDir)) {
+					for (Path file : (Iterable<Path>) files::iterator) {
+						addType(types, packageName, file, moduleIndex);
+					}
+				}
+			}
+		}
+
+		Files.createDirectories(output.toAbsolutePath().getParent());
+		Path temp = Files.createTempFile(output.toAbsolutePath().getParent(), output.getFileName().toString(), ".tmp");
+		try (OutputStream out = Files.newOutputStream(temp)) {
+			write(out, modules, types);
+		}
+		Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		log.info("JDK类型索引已生成: {}，{} 个模块，{} 个类型，耗时 {} ms", output, modules.size(), types.size(),
+				System.currentTimeMillis() - timeMillis);
+	}
+
+	private static void addType(TreeMap<String, TypeEntry> types, String packageName, Path file, int moduleIndex) throws IOException {
+		String fileName = file.getFileName().toString();
+		if (!fileName.endsWith(".class") || fileName.equals("package-info.class")) {
+			return;
+		}
+		String simpleBinaryName = fileName.substring(0, fileName.length() - ".class".length());
+		// 匿名类和局部类的名称在 $ 之后以数字开头
+		String[] segments = simpleBinaryName.split("\\$", -1);
+		for (String segment : segments) {
+			if (segment.isEmpty() || Character.isDigit(segment.charAt(0))) {
+				return;
+			}
+		}
+		String canonicalName = packageName + "." + String.join(".", segments);
+		if (!isAscii(canonicalName)) {
+			return;
+		}
+		byte kind = readKind(Files.readAllBytes(file));
+		if (kind >= 0) {
+			types.put(canonicalName, new TypeEntry(moduleIndex, kind, (byte) (segments.length - 1)));
+		}
+	}
+
+	/**
+	 * 从 class 文件头读取类型种类
+	 *
+	 * @return JdkTypeIndex 中的 KIND_* 常量，不是公共类型时返回-1
+	 */
+	static byte readKind(byte[] classFile) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(classFile));
+		in.readInt(); // magic
+		in.readUnsignedShort(); // minor_version
+		in.readUnsignedShort(); // major_version
+		int constantPoolCount = in.readUnsignedShort();
+		String[] utf8 = new String[constantPoolCount];
+		int[] classNameIndex = new int[constantPoolCount];
+		for (int i = 1; i < constantPoolCount; i++) {
+			int tag = in.readUnsignedByte();
+			switch (tag) {
+			case 1: // Utf8
+				utf8[i] = in.readUTF();
+				break;
+			case 7: // Class
+				classNameIndex[i] = in.readUnsignedShort();
+				break;
+			case 8: // String
+			case 16: // MethodType
+			case 19: // Module
+			case 20: // Package
+				in.skipBytes(2);
+				break;
+			case 15: // MethodHandle
+				in.skipBytes(3);
+				break;
+			case 3: // Integer
+			case 4: // Float
+			case 9: // Fieldref
+			case 10: // Methodref
+			case 11: // InterfaceMethodref
+			case 12: // NameAndType
+			case 17: // Dynamic
+			case 18: // InvokeDynamic
+				in.skipBytes(4);
+				break;
+			case 5: // Long
+			case 6: // Double
+				in.skipBytes(8);
+				i++;
+				break;
+			default:
+				throw new IOException("Unknown constant pool tag " + tag);
+			}
+		}
+		int accessFlags = in.readUnsignedShort();
+		in.readUnsignedShort(); // this_class
+		int superClass = in.readUnsignedShort();
+		if ((accessFlags & ACC_PUBLIC) == 0) {
+			return -1;
+		}
+		if ((accessFlags & ACC_ANNOTATION) != 0) {
+			return JdkTypeIndex.KIND_ANNOTATION;
+		} else if ((accessFlags & ACC_INTERFACE) != 0) {
+			return JdkTypeIndex.KIND_INTERFACE;
+		} else if ((accessFlags & ACC_ENUM) != 0) {
+			return JdkTypeIndex.KIND_ENUM;
+		} else if (superClass != 0 && "java/lang/Record".equals(utf8[classNameIndex[superClass]])) {
+			return JdkTypeIndex.KIND_RECORD;
+		}
+		return JdkTypeIndex.KIND_CLASS;
+	}
+
+	private static boolean isAscii(String name) {
+		for (int i = 0; i < name.length(); i++) {
+			if (name.charAt(i) > 0x7f) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static void write(OutputStream output, List<String> modules, TreeMap<String, TypeEntry> types) throws IOException {
+		DataOutputStream out = new DataOutputStream(output);
+		// 魔数、版本、模块数、各模块名、类型数、索引项区偏移、名称区偏移
+		int headerSize = 4 + 2 + JdkTypeIndex.runtimeVersion().getBytes(StandardCharsets.UTF_8).length + 4 + 4 + 4 + 4;
+		for (String module : modules) {
+			headerSize += 2 + module.getBytes(StandardCharsets.UTF_8).length;
+		}
+		int entriesOffset = headerSize;
+		int namesOffset = entriesOffset + types.size() * JdkTypeIndex.ENTRY_SIZE;
+
+		out.writeInt(JdkTypeIndex.MAGIC);
+		out.writeUTF(JdkTypeIndex.runtimeVersion());
+		out.writeInt(modules.size());
+		for (String module : modules) {
+			out.writeUTF(module);
+		}
+		out.writeInt(types.size());
+		out.writeInt(entriesOffset);
+		out.writeInt(namesOffset);
+
+		// 定长索引项：名称在名称区的偏移、模块、种类、嵌套层数
+		int nameOffset = 0;
+		for (var entry : types.entrySet()) {
+			out.writeInt(nameOffset);
+			out.writeShort(entry.getValue().module);
+			out.writeByte(entry.getValue().kind);
+			out.writeByte(entry.getValue().nestingDepth);
+			nameOffset += 2 + entry.getKey().length();
+		}
+		// 名称区：长度 + ASCII 字节
+		for (String name : types.keySet()) {
+			out.writeShort(name.length());
+			out.writeBytes(name);
+		}
+		out.flush();
+	}
+}
@@ -1,33 +1,42 @@
 package io.github.jitawangzi.jdepend.util;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.DataKey;
 import com.github.javaparser.ast.ImportDeclaration;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.expr.AnnotationExpr;
+import com.github.javaparser.ast.expr.NameExpr;
 import com.github.javaparser.ast.stmt.BlockStmt;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
 import com.github.javaparser.resolution.types.ResolvedReferenceType;
 import com.github.javaparser.resolution.types.ResolvedType;
 
-import io.github.jitawangzi.jdepend.config.AppConfigManager;
-import io.github.jitawangzi.jdepend.config.RuntimeConfig;
+import io.github.jitawangzi.jdepend.config.AnalysisContext;
 
 public class CommonUtil {
 	private static Logger log = LoggerFactory.getLogger(CommonUtil.class);
-	private static Map<String, CompilationUnit> cuCacheMap = new HashMap<>();
+	private static Map<String, CompilationUnit> cuCacheMap = new ConcurrentHashMap<>();
+	/** 编译单元对应的源代码，解析时读取一次并保存在编译单元上，处理内容时直接复用 */
+	private static final DataKey<String> SOURCE_KEY = new DataKey<String>() {
+	};
 	/**
 	 * 获取当前类的全限定名（包含包名）
 	 * @param cu 编译单元对象
@@ -68,6 +77,25 @@ public class CommonUtil {
 		return className;
 	}
 
+	/**
+	 * 获取类所在的类文件主类名，按名称逐段去掉内部类部分，直到是已知的类文件主类
+	 * 
+	 * @param className 类名，可能是内部类，例如 a.b.Outer.Inner
+	 * @param topLevelClasses 已知的类文件主类名
+	 * @return 类文件主类名，不属于任何已知的类文件时返回null
+	 */
+	public static String getTopLevelClassName(String className, Set<String> topLevelClasses) {
+		String candidate = className;
+		while (!topLevelClasses.contains(candidate)) {
+			int lastDot = candidate.lastIndexOf('.');
+			if (lastDot < 0) {
+				return null;
+			}
+			candidate = candidate.substring(0, lastDot);
+		}
+		return candidate;
+	}
+
 	/**
 	 * 获取当前包名
 	 * @param cu 编译单元对象
@@ -92,61 +120,23 @@ public class CommonUtil {
 		return false;
 	}
 
-	/**
-	 * 判断是否是项目内的类
-	 * 
-	 * @param className 类名
-	 * @return 是否是项目内的类
-	 */
-	public static boolean isProjectClass(String className) {
-		Set<String> projectPackagePrefixes = AppConfigManager.get().getProjectPackagePrefixes();
-		boolean ret = false;
-		for (String prefix : projectPackagePrefixes) {
-			if (className.startsWith(prefix)) {
-				ret = true;
-			}
-		}
-		if (!ret) {
-			return false;
-		}
-		return !isExcludedPackage(className);
-	}
-
-	/**
-	 * 判断是否是被排除的包
-	 * 
-	 * @param className 类名
-	 * @return 是否被排除
-	 */
-	public static boolean isExcludedPackage(String className) {
-		return AppConfigManager.get().getExcludedPackages().stream().anyMatch(className::startsWith);
-	}
-
-	/**
-	 * 判断是否应该保留方法体
-	 * 
-	 * @param className 类名
-	 * @param depth 引用深度
-	 * @return 是否应该保留方法体
-	 */
-	public static boolean shouldKeepMethods(String className, int depth) {
-		if (RuntimeConfig.isDirectoryMode) {
-			return !AppConfigManager.get().isSimplifyMethods() || AppConfigManager.get().getMethodExceptions().contains(className);
-		}
-		return AppConfigManager.get().getMethodBodyMaxDepth() < 0 || depth <= AppConfigManager.get().getMethodBodyMaxDepth();
-	}
-
 	/**
 	 * 收集类级别的依赖（导入、接口、父类等）
 	 * 
+	 * @param context 分析配置
 	 * @param cu 编译单元
 	 * @param className 当前类名
 	 */
-	public static Set<String> collectClassLevelDependencies(CompilationUnit cu, String className) {
+	public static Set<String> collectClassLevelDependencies(AnalysisContext context, CompilationUnit cu, String className) {
 		Set<String> allDependencies = new HashSet<>();
 
 		// 1. 从导入语句中收集依赖
-		allDependencies.addAll(getProjectImports(cu));
+		allDependencies.addAll(getProjectImports(context, cu));
+
+		if (context.isSyntacticResolution()) {
+			collectClassLevelDependenciesSyntactically(context, cu, allDependencies);
+			return allDependencies;
+		}
 
 		try {
 			// 2. 收集实现的接口和继承的类
@@ -158,7 +148,7 @@ public class CommonUtil {
 						if (resolvedType.isReferenceType()) {
 							ResolvedReferenceType referenceType = resolvedType.asReferenceType();
 							String qualifiedName = referenceType.getQualifiedName();
-							if (CommonUtil.isProjectClass(qualifiedName)) {
+							if (context.isProjectClass(qualifiedName)) {
 								allDependencies.add(qualifiedName);
 							}
 						}
@@ -175,7 +165,7 @@ public class CommonUtil {
 						if (resolvedType.isReferenceType()) {
 							ResolvedReferenceType referenceType = resolvedType.asReferenceType();
 							String qualifiedName = referenceType.getQualifiedName();
-							if (CommonUtil.isProjectClass(qualifiedName)) {
+							if (context.isProjectClass(qualifiedName)) {
 								allDependencies.add(qualifiedName);
 							}
 						}
@@ -193,7 +183,7 @@ public class CommonUtil {
 					try {
 						// 解析字段类型
 						ResolvedType resolvedType = var.getType().resolve();
-						collectTypeAndGenericDependencies(resolvedType, allDependencies);
+						collectTypeAndGenericDependencies(context, resolvedType, allDependencies);
 					} catch (Exception e) {
 						// 解析失败时的处理
 						log.error("Failed to resolve field type: " + var.getType().asString());
@@ -203,7 +193,7 @@ public class CommonUtil {
 
 			// 4. 从方法参数和返回类型中收集依赖
 			cu.findAll(MethodDeclaration.class).forEach(method -> {
-				collectDependenciesFromMethod(allDependencies, method);
+				collectDependenciesFromMethod(context, allDependencies, method);
 			});
 		} catch (Exception e) {
 			log.error("Error during dependency collection: " + e.getMessage());
@@ -212,18 +202,53 @@ public class CommonUtil {
 		return allDependencies;
 	}
 
+	/**
+	 * 按名称收集类级别的依赖（接口、父类、字段、方法签名中的类型），不调用符号解析
+	 * 
+	 * @param context 分析配置
+	 * @param cu 编译单元
+	 * @param allDependencies 依赖集合
+	 */
+	private static void collectClassLevelDependenciesSyntactically(AnalysisContext context, CompilationUnit cu, Set<String> allDependencies) {
+		SyntacticTypeResolver resolver = SyntacticTypeResolver.of(cu);
+		cu.findAll(ClassOrInterfaceDeclaration.class).forEach(classDecl -> {
+			classDecl.getImplementedTypes().forEach(type -> addProjectType(context, resolver, type, allDependencies));
+			classDecl.getExtendedTypes().forEach(type -> addProjectType(context, resolver, type, allDependencies));
+		});
+		cu.findAll(FieldDeclaration.class)
+				.forEach(field -> field.getVariables().forEach(var -> resolver.collectProjectTypes(context, var.getType(), allDependencies)));
+		cu.findAll(MethodDeclaration.class).forEach(method -> collectDependenciesFromMethod(context, allDependencies, method));
+	}
+
+	private static void addProjectType(AnalysisContext context, SyntacticTypeResolver resolver, ClassOrInterfaceType type, Set<String> dependencies) {
+		String qualifiedName = resolver.resolve(context, type);
+		if (qualifiedName != null && context.isProjectClass(qualifiedName)) {
+			dependencies.add(qualifiedName);
+		}
+	}
+
 	/** 
 	 * 从方法参数和返回类型中收集依赖
 	 * 
+	 * @param context 分析配置
 	 * @param allDependencies
 	 * @param method
 	 */
-	public static void collectDependenciesFromMethod(Set<String> allDependencies, MethodDeclaration method) {
+	public static void collectDependenciesFromMethod(AnalysisContext context, Set<String> allDependencies, MethodDeclaration method) {
+		if (context.isSyntacticResolution()) {
+			SyntacticTypeResolver resolver = SyntacticTypeResolver.of(method);
+			if (resolver != null) {
+				resolver.collectProjectTypes(context, method.getType(), allDependencies);
+				method.getParameters().forEach(param -> resolver.collectProjectTypes(context, param.getType(), allDependencies));
+				method.getThrownExceptions().forEach(exception -> resolver.collectProjectTypes(context, exception, allDependencies));
+				return;
+			}
+		}
 		// 解析返回类型
 		if (!method.getType().isVoidType()) {
 			try {
 				ResolvedType returnType = method.getType().resolve();
-				collectTypeAndGenericDependencies(returnType, allDependencies);
+				collectTypeAndGenericDependencies(context, returnType, allDependencies);
 			} catch (Exception e) {
 				log.error("Failed to resolve return type: " + method.getType().asString());
 			}
@@ -233,7 +258,7 @@ public class CommonUtil {
 		method.getParameters().forEach(param -> {
 			try {
 				ResolvedType paramType = param.getType().resolve();
-				collectTypeAndGenericDependencies(paramType, allDependencies);
+				collectTypeAndGenericDependencies(context, paramType, allDependencies);
 			} catch (Exception e) {
 				log.error("Failed to resolve parameter type: " + param.getType().asString());
 			}
@@ -245,7 +270,7 @@ public class CommonUtil {
 				ResolvedType exceptionType = exception.resolve();
 				if (exceptionType.isReferenceType()) {
 					String qualifiedName = exceptionType.asReferenceType().getQualifiedName();
-					if (CommonUtil.isProjectClass(qualifiedName)) {
+					if (context.isProjectClass(qualifiedName)) {
 						allDependencies.add(qualifiedName);
 					}
 				}
@@ -258,63 +283,137 @@ public class CommonUtil {
 	/**
 	 * 收集类型及其泛型参数的依赖
 	 */
-	private static void collectTypeAndGenericDependencies(ResolvedType resolvedType, Set<String> dependencies) {
+	private static void collectTypeAndGenericDependencies(AnalysisContext context, ResolvedType resolvedType, Set<String> dependencies) {
 		if (resolvedType.isReferenceType()) {
 			ResolvedReferenceType referenceType = resolvedType.asReferenceType();
 			String qualifiedName = referenceType.getQualifiedName();
 
 			// 添加主类型
-			if (CommonUtil.isProjectClass(qualifiedName)) {
+			if (context.isProjectClass(qualifiedName)) {
 				dependencies.add(qualifiedName);
 			}
 
 			// 添加泛型参数类型
 			if (referenceType.typeParametersValues().size() > 0) {
 				for (ResolvedType typeParameter : referenceType.typeParametersValues()) {
-					collectTypeAndGenericDependencies(typeParameter, dependencies);
+					collectTypeAndGenericDependencies(context, typeParameter, dependencies);
 				}
 			}
 		} else if (resolvedType.isArray()) {
 			// 处理数组类型
-			collectTypeAndGenericDependencies(resolvedType.asArrayType().getComponentType(), dependencies);
+			collectTypeAndGenericDependencies(context, resolvedType.asArrayType().getComponentType(), dependencies);
 		}
 	}
 	/**
 	 * 获取项目中的导入类
 	 * 
+	 * @param context 分析配置
 	 * @param className 类名
 	 * @return 导入的类集合
 	 * @throws Exception 如果获取过程中发生错误
 	 */
-	public static Set<String> getProjectImports(String className) throws Exception {
-		return getProjectImports(parseCompilationUnit(className));
+	public static Set<String> getProjectImports(AnalysisContext context, String className) throws Exception {
+		return getProjectImports(context, parseCompilationUnit(className));
 	}
 
 	/**
 	 * 获取项目中的导入类
+	 * 单类型导入直接取导入的类；通配符导入和同包的类通过包索引展开，只保留编译单元中实际引用到的简单类名
 	 * 
+	 * @param context 分析配置
 	 * @param cu 编译单元
 	 * @return 导入的类集合
-	 * @throws Exception 如果获取过程中发生错误
 	 */
-	public static Set<String> getProjectImports(CompilationUnit cu) {
+	public static Set<String> getProjectImports(AnalysisContext context, CompilationUnit cu) {
 		if (cu == null) {
 			log.warn("编译单元为空，无法获取导入类");
 			return Set.of(); // 返回空集合而不是null
 		}
-		return cu.getImports()
-				.stream()
-				.filter(lambda -> {
-					if (lambda.isAsterisk()) {
-						// 过滤掉通配符导入
-						log.warn("发现通配符导入: {}.* ，暂时没有处理这种依赖", lambda.getNameAsString());
-						return false;
-					}
-					return true;
-				})
-				.map(ImportDeclaration::getNameAsString)
-				.filter(CommonUtil::isProjectClass)
-				.collect(Collectors.toSet());
+		Set<String> result = new HashSet<>();
+		Set<String> importedSimpleNames = new HashSet<>();
+		List<String> wildcardPackages = new ArrayList<>();
+		for (ImportDeclaration importDecl : cu.getImports()) {
+			if (importDecl.isStatic()) {
+				continue;
+			}
+			String importName = importDecl.getNameAsString();
+			if (importDecl.isAsterisk()) {
+				wildcardPackages.add(importName);
+				continue;
+			}
+			importedSimpleNames.add(importName.substring(importName.lastIndexOf('.') + 1));
+			if (context.isProjectClass(importName)) {
+				result.add(importName);
+			}
+		}
+
+		// 还没有通过单类型导入确定的简单类名，依次按同包、通配符导入的包查找（与Java的名称遮蔽顺序一致）
+		Set<String> unresolvedNames = collectReferencedSimpleNames(cu);
+		unresolvedNames.removeAll(importedSimpleNames);
+		// 本文件声明的类型（包括内部类，例如 Order.Line 中的 Line）不是对其他类的引用
+		cu.findAll(TypeDeclaration.class).forEach(type -> unresolvedNames.remove(type.getNameAsString()));
+		if (unresolvedNames.isEmpty()) {
+			return result;
+		}
+		String packageName = getPackageName(cu);
+		expandPackageReferences(context, packageName, unresolvedNames, result);
+		for (String wildcardPackage : wildcardPackages) {
+			if (!unresolvedNames.isEmpty()) {
+				expandPackageReferences(context, wildcardPackage, unresolvedNames, result);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 把包中被引用到的类加入结果，并从待解析的简单类名中移除
+	 * 
+	 * @param context 分析配置
+	 * @param packageName 包名
+	 * @param unresolvedNames 待解析的简单类名
+	 * @param result 结果集合
+	 */
+	private static void expandPackageReferences(AnalysisContext context, String packageName, Set<String> unresolvedNames,
+			Set<String> result) {
+		if (!context.isProjectPackage(packageName)) {
+			return;
+		}
+		Set<String> packageClasses = FileLocator.getInstance().getClassNamesInPackage(packageName);
+		Set<String> resolved = new HashSet<>();
+		for (String simpleName : unresolvedNames) {
+			if (packageClasses.contains(simpleName)) {
+				String className = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+				if (context.isProjectClass(className)) {
+					result.add(className);
+				}
+				resolved.add(simpleName);
+			}
+		}
+		unresolvedNames.removeAll(resolved);
+	}
+
+	/**
+	 * 收集编译单元中可能指向其他类的简单名称：类型引用的最外层名称、注解名以及作为表达式出现的名称（静态调用、静态字段访问）
+	 * 
+	 * @param cu 编译单元
+	 * @return 简单名称集合
+	 */
+	private static Set<String> collectReferencedSimpleNames(CompilationUnit cu) {
+		Set<String> names = new HashSet<>();
+		cu.findAll(ClassOrInterfaceType.class).forEach(type -> {
+			ClassOrInterfaceType outermost = type;
+			while (outermost.getScope().isPresent()) {
+				outermost = outermost.getScope().get();
+			}
+			names.add(outermost.getNameAsString());
+		});
+		cu.findAll(AnnotationExpr.class).forEach(annotation -> {
+			String name = annotation.getNameAsString();
+			int dot = name.indexOf('.');
+			names.add(dot < 0 ? name : name.substring(0, dot));
+		});
+		cu.findAll(NameExpr.class).forEach(nameExpr -> names.add(nameExpr.getNameAsString()));
+		return names;
 	}
 	
 	/** 
@@ -323,15 +422,62 @@ public class CommonUtil {
 	 * @return
 	 */
 	public static CompilationUnit parseCompilationUnit(String className) {
-		// 解析Java文件
-		return cuCacheMap.computeIfAbsent(className, k -> {
-			try {
-				Path file = FileLocator.getInstance().locate(className);
-				return StaticJavaParser.parse(file);
-			} catch (Exception e) {
-				log.error("解析类 {} 时发生错误: {}", className, e.getMessage());
-				return null; // 如果解析失败，返回null
-			}
-		});
+		// 内部类使用外部类文件的编译单元，按文件主类名缓存，同一个文件只解析一次
+		String topLevelClassName = FileLocator.getInstance().getTopLevelClassName(className);
+		if (topLevelClassName == null) {
+			log.error("解析类 {} 时发生错误: 找不到类文件", className);
+			return null;
+		}
+		CompilationUnit cached = cuCacheMap.get(topLevelClassName);
+		if (cached != null) {
+			return cached;
+		}
+		// 在缓存外读取和解析，不在 computeIfAbsent 中长时间占用锁；多个线程同时解析同一个文件时保留先放入的结果
+		CompilationUnit cu = parseFile(className, topLevelClassName);
+		if (cu == null) {
+			return null;
+		}
+		CompilationUnit existing = cuCacheMap.putIfAbsent(topLevelClassName, cu);
+		return existing != null ? existing : cu;
+	}
+
+	private static CompilationUnit parseFile(String className, String topLevelClassName) {
+		try {
+			Path file = FileLocator.getInstance().locate(topLevelClassName);
+			String source = readSource(file);
+			JavaParserInit.configureCurrentThread();
+			CompilationUnit cu = StaticJavaParser.parse(source);
+			// 保留文件信息，主类名等依赖于文件名
+			cu.setStorage(file, StandardCharsets.UTF_8);
+			cu.setData(SOURCE_KEY, source);
+			return cu;
+		} catch (Exception e) {
+			log.error("解析类 {} 时发生错误: {}", className, e.getMessage());
+			return null; // 如果解析失败，返回null
+		}
+	}
+
+	/**
+	 * 按UTF-8读取源文件，无法解码的字节替换为 U+FFFD
+	 * 与 Files.readString 不同，GBK 等非UTF-8编码的文件不会抛出 MalformedInputException，中文注释乱码但代码仍可解析
+	 */
+	private static String readSource(Path file) throws IOException {
+		return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * 获取编译单元的源代码
+	 * 通过 parseCompilationUnit 解析的编译单元直接返回解析时读取的文本，不再重新读取文件
+	 * 
+	 * @param cu 编译单元
+	 * @return 源代码
+	 * @throws IOException 需要读取文件时读取失败
+	 */
+	public static String getSource(CompilationUnit cu) throws IOException {
+		if (cu.containsData(SOURCE_KEY)) {
+			return cu.getData(SOURCE_KEY);
+		}
+		Path file = cu.getStorage().orElseThrow(() -> new IllegalStateException("编译单元没有对应的文件")).getPath();
+		return readSource(file);
 	}
 }
@@ -0,0 +1,284 @@
+package io.github.jitawangzi.jdepend.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.github.jitawangzi.jdepend.config.AppConfig;
+
+/**
+ * 目录模式下的文件和目录过滤器
+ * 构造时把所有包含/排除规则一次性编译好：目录规则编译为按路径段组织的前缀树，
+ * 带通配符的文件名合并为一个正则，精确文件名放入哈希集合。
+ * 判断时不再重复编译正则，也不分配对象。
+ * 注意：内部复用了正则的Matcher，不是线程安全的，每次遍历使用一个实例。
+ */
+public class DirectoryFilter {
+
+	private final int maxDepth;
+	private final String[] allowedExtensions;
+
+	private final SegmentTrie excludeFolders;
+	private final SegmentTrie includeFolders;
+
+	private final Set<String> excludeNames;
+	private final Matcher excludeGlob;
+	private final Set<String> includeNames;
+	private final Matcher includeGlob;
+	private final boolean hasIncludeFiles;
+
+	/**
+	 * 根据配置创建过滤器
+	 *
+	 * @param config 配置对象
+	 * @return 过滤器
+	 */
+	public static DirectoryFilter of(AppConfig config) {
+		return new DirectoryFilter(config.getMaxDepth(), config.getAllowedFileExtensions(), config.getIncludeFolders(),
+				config.getExcludeFolders(), config.getIncludeFiles(), config.getExcludeFiles());
+	}
+
+	public DirectoryFilter(int maxDepth, Collection<String> allowedExtensions, Collection<String> includeFolders,
+			Collection<String> excludeFolders, Collection<String> includeFiles, Collection<String> excludeFiles) {
+		this.maxDepth = maxDepth;
+
+		// 与原来的 allowed.contains(extension.toLowerCase()) 语义保持一致：只有小写形式的配置项才可能被匹配到
+		List<String> extensions = new ArrayList<>();
+		for (String extension : nullToEmpty(allowedExtensions)) {
+			if (extension != null && extension.equals(extension.toLowerCase())) {
+				extensions.add(extension);
+			}
+		}
+		this.allowedExtensions = nullToEmpty(allowedExtensions).isEmpty() ? null : extensions.toArray(new String[0]);
+
+		this.includeFolders = SegmentTrie.of(includeFolders);
+		this.excludeFolders = SegmentTrie.of(excludeFolders);
+
+		this.excludeNames = new HashSet<>();
+		this.excludeGlob = compileGlobs(excludeFiles, excludeNames);
+		this.includeNames = new HashSet<>();
+		this.includeGlob = compileGlobs(includeFiles, includeNames);
+		this.hasIncludeFiles = !nullToEmpty(includeFiles).isEmpty();
+	}
+
+	/**
+	 * 检查目录是否应该被遍历
+	 *
+	 * @param relativePath 相对起始目录的路径，使用 / 分隔，起始目录本身为空字符串
+	 * @param depth 目录深度
+	 * @return 是否遍历该目录
+	 */
+	public boolean acceptDirectory(String relativePath, int depth) {
+		// 检查是否超过最大深度限制
+		if (maxDepth >= 0 && depth > maxDepth) {
+			return false;
+		}
+
+		// 如果指定了包含文件，允许遍历所有目录以找到目标文件
+		if (hasIncludeFiles || relativePath.isEmpty()) {
+			return true;
+		}
+
+		// 检查排除目录
+		if (excludeFolders.matchesPrefixOf(relativePath)) {
+			return false;
+		}
+
+		// 如果指定了包含目录，只遍历包含目录、其子目录以及通往包含目录的父路径
+		if (!includeFolders.isEmpty()) {
+			return includeFolders.matchesPrefixOf(relativePath) || includeFolders.isStrictPrefix(relativePath);
+		}
+		return true;
+	}
+
+	/**
+	 * 检查文件是否应该被处理
+	 *
+	 * @param fileName 文件名
+	 * @param relativeDirPath 文件所在目录相对起始目录的路径，使用 / 分隔
+	 * @return 是否处理该文件
+	 */
+	public boolean acceptFile(String fileName, String relativeDirPath) {
+		// 检查文件类型
+		if (!isExtensionAllowed(fileName)) {
+			return false;
+		}
+
+		// 检查排除文件
+		if (matches(fileName, excludeNames, excludeGlob)) {
+			return false;
+		}
+
+		// 处理包含文件
+		if (hasIncludeFiles) {
+			return matches(fileName, includeNames, includeGlob);
+		}
+
+		// 处理包含目录中的文件
+		if (!includeFolders.isEmpty()) {
+			return includeFolders.matchesPrefixOf(relativeDirPath);
+		}
+		return true;
+	}
+
+	/**
+	 * 检查文件扩展名是否在允许列表中
+	 */
+	private boolean isExtensionAllowed(String fileName) {
+		if (allowedExtensions == null) {
+			return true;
+		}
+		int lastDotIndex = fileName.lastIndexOf('.');
+		int start = lastDotIndex > 0 ? lastDotIndex + 1 : fileName.length();
+		int length = fileName.length() - start;
+		for (String extension : allowedExtensions) {
+			if (extension.length() == length && fileName.regionMatches(true, start, extension, 0, length)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean matches(String fileName, Set<String> names, Matcher glob) {
+		if (fileName.isEmpty()) {
+			return false;
+		}
+		return names.contains(fileName) || (glob != null && glob.reset(fileName).matches());
+	}
+
+	/**
+	 * 把所有通配符模式合并编译成一个正则，不含通配符的放入精确匹配集合
+	 */
+	private static Matcher compileGlobs(Collection<String> patterns, Set<String> names) {
+		StringBuilder regex = new StringBuilder();
+		for (String pattern : nullToEmpty(patterns)) {
+			if (pattern == null || pattern.trim().isEmpty()) {
+				continue;
+			}
+			if (pattern.contains("*") || pattern.contains("?")) {
+				if (regex.length() > 0) {
+					regex.append('|');
+				}
+				regex.append("(?:").append(FileMatcher.wildcardToRegex(pattern)).append(')');
+			} else {
+				names.add(pattern);
+			}
+		}
+		return regex.length() == 0 ? null : Pattern.compile(regex.toString()).matcher("");
+	}
+
+	private static <T> Collection<T> nullToEmpty(Collection<T> collection) {
+		return collection == null ? List.of() : collection;
+	}
+
+	/**
+	 * 按路径段组织的前缀树，用于目录规则的前缀匹配
+	 */
+	static final class SegmentTrie {
+		private String[] names = new String[0];
+		private SegmentTrie[] children = new SegmentTrie[0];
+		private boolean terminal;
+
+		static SegmentTrie of(Collection<String> folders) {
+			SegmentTrie root = new SegmentTrie();
+			for (String folder : nullToEmpty(folders)) {
+				if (folder == null) {
+					continue;
+				}
+				String normalized = folder.trim().replace('\\', '/');
+				SegmentTrie node = root;
+				for (String segment : normalized.split("/")) {
+					if (!segment.isEmpty()) {
+						node = node.getOrAddChild(segment);
+					}
+				}
+				if (node != root) {
+					node.terminal = true;
+				}
+			}
+			return root;
+		}
+
+		boolean isEmpty() {
+			return names.length == 0;
+		}
+
+		/**
+		 * 路径本身或它的某个父路径是否是规则中的目录
+		 */
+		boolean matchesPrefixOf(String path) {
+			SegmentTrie node = this;
+			int start = 0;
+			int length = path.length();
+			while (start < length) {
+				int end = path.indexOf('/', start);
+				if (end < 0) {
+					end = length;
+				}
+				node = node.child(path, start, end);
+				if (node == null) {
+					return false;
+				}
+				if (node.terminal) {
+					return true;
+				}
+				start = end + 1;
+			}
+			return false;
+		}
+
+		/**
+		 * 路径是否是规则中某个目录的父路径
+		 */
+		boolean isStrictPrefix(String path) {
+			SegmentTrie node = this;
+			int start = 0;
+			int length = path.length();
+			while (start < length) {
+				int end = path.indexOf('/', start);
+				if (end < 0) {
+					end = length;
+				}
+				node = node.child(path, start, end);
+				if (node == null) {
+					return false;
+				}
+				start = end + 1;
+			}
+			return node != this && node.names.length > 0;
+		}
+
+		private SegmentTrie child(String path, int start, int end) {
+			int length = end - start;
+			for (int i = 0; i < names.length; i++) {
+				String name = names[i];
+				if (name.length() == length && path.regionMatches(start, name, 0, length)) {
+					return children[i];
+				}
+			}
+			return null;
+		}
+
+		private SegmentTrie getOrAddChild(String segment) {
+			for (int i = 0; i < names.length; i++) {
+				if (names[i].equals(segment)) {
+					return children[i];
+				}
+			}
+			int size = names.length;
+			String[] newNames = new String[size + 1];
+			SegmentTrie[] newChildren = new SegmentTrie[size + 1];
+			System.arraycopy(names, 0, newNames, 0, size);
+			System.arraycopy(children, 0, newChildren, 0, size);
+			newNames[size] = segment;
+			newChildren[size] = new SegmentTrie();
+			names = newNames;
+			children = newChildren;
+			return newChildren[size];
+		}
+	}
+}
@@ -1,6 +1,5 @@
 package io.github.jitawangzi.jdepend.util;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.FileSystems;
@@ -13,11 +12,11 @@ import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
@@ -42,12 +41,24 @@ public class FileLocator {
     // 缓存类名到文件路径的映射，提高重复查找性能
     private final Map<String, Path> classPathCache = new ConcurrentHashMap<>();
     
+    // 内部类名到所在文件主类名的映射，例如 a.b.Outer.Inner -> a.b.Outer，主类不在这里记录
+    private final Map<String, String> topLevelClassCache = new ConcurrentHashMap<>();
+    
+    // 已经确认找不到文件的类名，避免对同一个类名重复遍历整个项目
+    private final Set<String> missingClasses = ConcurrentHashMap.newKeySet();
+    
+    // 包名到包内类（简单类名）的索引，用于解析通配符导入和同包引用
+    private final Map<String, Set<String>> packageClassCache = new ConcurrentHashMap<>();
+    
     // 项目解析器
     private ProjectParser projectParser;
     
     // 项目根目录
     private final Path projectRootPath;
     
+    // 遍历项目时跳过的目录（隐藏目录、构建目录以及.gitignore中忽略的目录）
+    private final IgnoreEngine ignoreEngine;
+    
 	/**
 	 * 获取单例实例
 	 * 
@@ -69,6 +80,8 @@ public class FileLocator {
 	private FileLocator() {
         this.javaMatcher = FileSystems.getDefault().getPathMatcher("glob:**.java");
         this.projectRootPath = Paths.get(AppConfigManager.get().getProjectRootPath());
+        this.ignoreEngine = new IgnoreEngine(projectRootPath, IgnoreEngine.SOURCE_SCAN_PATTERNS,
+                AppConfigManager.get().isRespectIgnoreFiles());
         
         // 初始化项目解析器
         try {
@@ -141,94 +154,17 @@ public class FileLocator {
     
     /**
      * 通过解析Java文件的包声明来推断源码目录
+     * 每个目录只读取一个代表文件的文件头，各目录并行扫描
      */
-    private Set<Path> inferSourceDirectoriesFromPackages() throws IOException {
-        Set<Path> sourceDirs = new HashSet<>();
-        Map<String, Set<Path>> packageToFiles = new HashMap<>();
-        
-        // 找到所有Java文件并按包名分组
-        Files.walkFileTree(projectRootPath, new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-                String fileName = file.getFileName().toString();
-                if (fileName.endsWith(".java")) {
-                    try {
-                        // 解析Java文件的包名
-                        String packageName = extractPackageName(file);
-                        if (packageName != null && !packageName.isEmpty()) {
-                            packageToFiles.computeIfAbsent(packageName, k -> new HashSet<>()).add(file);
-                        }
-                    } catch (Exception e) {
-                        // 忽略无法解析包名的文件
-                    }
-                }
-                return FileVisitResult.CONTINUE;
-            }
-            
-            @Override
-            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
-                // 忽略隐藏目录和构建目录
-                String dirName = dir.getFileName().toString();
-                if (dirName.startsWith(".") || 
-                    dirName.equals("target") || 
-                    dirName.equals("build") || 
-                    dirName.equals("bin") ||
-                    dirName.equals("dist") ||
-                    dirName.equals("node_modules")) {
-                    return FileVisitResult.SKIP_SUBTREE;
-                }
-                return FileVisitResult.CONTINUE;
-            }
-        });
-        
-        // 对于每个包，推断源码目录
-        for (Map.Entry<String, Set<Path>> entry : packageToFiles.entrySet()) {
-            String packageName = entry.getKey();
-            Set<Path> files = entry.getValue();
-            
-            // 包路径，如 "com/example/app"
-            String packagePath = packageName.replace('.', '/');
-            
-            for (Path file : files) {
-                // 获取文件的完整路径字符串（统一使用正斜杠）
-                String filePathStr = file.toString().replace('\\', '/');
-                
-                // 查找包路径在文件路径中的位置
-                int index = filePathStr.lastIndexOf("/" + packagePath + "/");
-                if (index >= 0) {
-                    // 源码目录是包路径之前的部分
-                    String sourceRootStr = filePathStr.substring(0, index);
-                    Path sourceRoot = Paths.get(sourceRootStr);
-                    if (Files.isDirectory(sourceRoot)) {
-                        sourceDirs.add(sourceRoot);
-                    }
-                }
-            }
-        }
-        
+    private Set<Path> inferSourceDirectoriesFromPackages() {
+        long startTime = System.currentTimeMillis();
+        Set<Path> sourceDirs = new HashSet<>(JavaHeaderScanner.inferSourceRoots(projectRootPath,
+                dir -> ignoreEngine.isIgnored(dir, true)));
+        log.debug("Inferred {} source directories from package declarations in {} ms", sourceDirs.size(),
+                System.currentTimeMillis() - startTime);
         return sourceDirs;
     }
     
-    /**
-     * 从Java文件中提取包名
-     */
-    private String extractPackageName(Path javaFile) throws IOException {
-        try (BufferedReader reader = Files.newBufferedReader(javaFile)) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-                if (line.startsWith("package ")) {
-                    // 提取包名，去掉"package "前缀和结尾的分号
-                    return line.substring(8, line.endsWith(";") ? line.length() - 1 : line.length()).trim();
-                } else if (!line.isEmpty() && !line.startsWith("//") && !line.startsWith("/*")) {
-                    // 如果遇到非空行且不是注释，且还没找到package语句，则停止搜索
-                    break;
-                }
-            }
-        }
-        return null;
-    }
-    
     /**
      * 查找项目文件（pom.xml, build.gradle等）并检查标准源码目录
      */
@@ -249,11 +185,7 @@ public class FileLocator {
             @Override
             public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
                 // 忽略隐藏目录和构建目录
-                String dirName = dir.getFileName().toString();
-                if (dirName.startsWith(".") || 
-                    dirName.equals("target") || 
-                    dirName.equals("build") || 
-                    dirName.equals("bin")) {
+                if (ignoreEngine.isIgnored(dir, true)) {
                     return FileVisitResult.SKIP_SUBTREE;
                 }
                 return FileVisitResult.CONTINUE;
@@ -289,10 +221,7 @@ public class FileLocator {
             @Override
             public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
                 // 忽略隐藏目录和构建目录
-                String dirName = dir.getFileName().toString();
-                if (dirName.startsWith(".") || 
-                    dirName.equals("build") || 
-                    dirName.equals("bin")) {
+                if (ignoreEngine.isIgnored(dir, true)) {
                     return FileVisitResult.SKIP_SUBTREE;
                 }
                 return FileVisitResult.CONTINUE;
@@ -335,17 +264,12 @@ public class FileLocator {
             @Override
             public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
                 // 忽略隐藏目录和构建目录
-                String dirName = dir.getFileName().toString();
-                if (dirName.startsWith(".") || 
-                    dirName.equals("target") || 
-                    dirName.equals("build") || 
-                    dirName.equals("bin") ||
-                    dirName.equals("dist") ||
-                    dirName.equals("node_modules")) {
+                if (ignoreEngine.isIgnored(dir, true)) {
                     return FileVisitResult.SKIP_SUBTREE;
                 }
                 
                 // 检查目录名是否匹配常见源码目录模式
+                String dirName = dir.getFileName().toString();
                 boolean isSourcePattern = sourcePatterns.contains(dirName.toLowerCase());
                 
                 if (isSourcePattern) {
@@ -390,12 +314,7 @@ public class FileLocator {
             @Override
             public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
                 // 忽略隐藏目录和二进制目录
-                String dirName = dir.getFileName().toString();
-                if (dirName.startsWith(".") || 
-                    dirName.equals("target") || 
-                    dirName.equals("build") || 
-                    dirName.equals("bin") || 
-                    dirName.equals("out")) {
+                if (ignoreEngine.isIgnored(dir, true)) {
                     return FileVisitResult.SKIP_SUBTREE;
                 }
                 
@@ -451,6 +370,8 @@ public class FileLocator {
     
     /**
      * 定位类文件
+     * 内部类（例如 a.b.Outer.Inner）定位到外部类所在的文件：依次去掉最后一段，在类索引和源码目录中查找外部类，
+     * 不再为内部类遍历整个项目。找不到的类名会被记录，之后直接返回null。
      * 
      * @param className 类名
      * @return 类文件路径，如果找不到则返回null
@@ -458,33 +379,42 @@ public class FileLocator {
      */
     public Path locate(String className) throws IOException {
         // 检查缓存
-        if (classPathCache.containsKey(className)) {
-            return classPathCache.get(className);
+        Path cached = classPathCache.get(className);
+        if (cached != null) {
+            return cached;
+        }
+        if (missingClasses.contains(className)) {
+            return null;
         }
         
-        String relativePath = className.replace('.', '/') + ".java";
-        
-        // 首先，在已知的源码目录中快速查找
-        if (!sourceDirectories.isEmpty()) {
-            for (Path sourceDir : sourceDirectories) {
-                Path potentialFilePath = sourceDir.resolve(relativePath);
-                if (Files.exists(potentialFilePath)) {
-                    // 缓存结果
-                    classPathCache.put(className, potentialFilePath);
-                    return potentialFilePath;
-                }
+        // 首先，在已知的源码目录中快速查找，找不到时按内部类查找外部类
+        for (String candidate = className; candidate != null; candidate = enclosingName(candidate)) {
+            Path file = findInSourceDirectories(candidate);
+            if (file != null) {
+                return cacheLocation(className, candidate, file);
             }
         }
         
-        // 如果在源码目录中没有找到，则进行全项目搜索
-        List<Path> matches = new ArrayList<>();
+        // 如果在源码目录中没有找到，则进行全项目搜索，同时匹配类本身和可能的外部类
+        List<String> candidates = new ArrayList<>();
+        for (String candidate = className; candidate != null; candidate = enclosingName(candidate)) {
+            candidates.add(candidate);
+        }
+        String[] match = new String[1];
+        Path[] matchedFile = new Path[1];
         
         Files.walkFileTree(projectRootPath, new SimpleFileVisitor<Path>() {
             @Override
             public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-                if (javaMatcher.matches(file) && file.toString().endsWith(relativePath.replace('/', File.separatorChar))) {
-                    matches.add(file);
-                    return FileVisitResult.TERMINATE;
+                if (javaMatcher.matches(file)) {
+                    String path = file.toString().replace(File.separatorChar, '/');
+                    for (String candidate : candidates) {
+                        if (path.endsWith("/" + candidate.replace('.', '/') + ".java")) {
+                            match[0] = candidate;
+                            matchedFile[0] = file;
+                            return FileVisitResult.TERMINATE;
+                        }
+                    }
                 }
                 return FileVisitResult.CONTINUE;
             }
@@ -492,28 +422,81 @@ public class FileLocator {
             @Override
             public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
                 // 忽略隐藏目录和构建目录
-                String dirName = dir.getFileName().toString();
-                if (dirName.startsWith(".") || 
-                    dirName.equals("target") || 
-                    dirName.equals("build") ||
-                    dirName.equals("bin") ||
-                    dirName.equals("out")) {
+                if (ignoreEngine.isIgnored(dir, true)) {
                     return FileVisitResult.SKIP_SUBTREE;
                 }
                 return FileVisitResult.CONTINUE;
             }
         });
         
-        if (!matches.isEmpty()) {
-            Path result = matches.get(0);
-            // 缓存结果
-            classPathCache.put(className, result);
-            return result;
+        if (matchedFile[0] != null) {
+            return cacheLocation(className, match[0], matchedFile[0]);
         }
         
+        missingClasses.add(className);
+        return null;
+    }
+    
+    /**
+     * 获取类所在文件的主类名
+     * 
+     * @param className 类名，可能是内部类，例如 a.b.Outer.Inner
+     * @return 文件主类名，例如 a.b.Outer；类本身就是文件主类时返回类名；找不到类文件时返回null
+     */
+    public String getTopLevelClassName(String className) {
+        try {
+            if (locate(className) == null) {
+                return null;
+            }
+        } catch (IOException e) {
+            log.warn("Error locating class: {}", className, e);
+            return null;
+        }
+        return topLevelClassCache.getOrDefault(className, className);
+    }
+    
+    /**
+     * 在类索引和已知的源码目录中查找类文件，只匹配文件主类
+     */
+    private Path findInSourceDirectories(String className) {
+        Path cached = classPathCache.get(className);
+        if (cached != null && !topLevelClassCache.containsKey(className)) {
+            return cached;
+        }
+        String relativePath = className.replace('.', '/') + ".java";
+        for (Path sourceDir : sourceDirectories) {
+            Path potentialFilePath = sourceDir.resolve(relativePath);
+            if (Files.exists(potentialFilePath)) {
+                return potentialFilePath;
+            }
+        }
         return null;
     }
     
+    private Path cacheLocation(String className, String topLevelClassName, Path file) {
+        classPathCache.put(topLevelClassName, file);
+        if (!topLevelClassName.equals(className)) {
+            topLevelClassCache.put(className, topLevelClassName);
+            classPathCache.put(className, file);
+        }
+        return file;
+    }
+    
+    /**
+     * 去掉类名的最后一段得到外部类名，例如 a.b.Outer.Inner -> a.b.Outer
+     * 按Java命名习惯，剩下的最后一段不是大写字母开头时已经是包名（例如 com.acme.Foo -> com.acme），返回null，
+     * 避免把包名当作外部类去查找 com/acme.java
+     */
+    private static String enclosingName(String className) {
+        int lastDot = className.lastIndexOf('.');
+        if (lastDot < 0) {
+            return null;
+        }
+        String enclosing = className.substring(0, lastDot);
+        String simpleName = enclosing.substring(enclosing.lastIndexOf('.') + 1);
+        return !simpleName.isEmpty() && Character.isUpperCase(simpleName.charAt(0)) ? enclosing : null;
+    }
+    
     /**
      * 根据包名查找该包下的所有Java类
      * 
@@ -551,12 +534,7 @@ public class FileLocator {
             @Override
             public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
                 // 忽略隐藏目录和构建目录
-                String dirName = dir.getFileName().toString();
-                if (dirName.startsWith(".") || 
-                    dirName.equals("target") || 
-                    dirName.equals("build") ||
-                    dirName.equals("bin") ||
-                    dirName.equals("out")) {
+                if (ignoreEngine.isIgnored(dir, true)) {
                     return FileVisitResult.SKIP_SUBTREE;
                 }
                 
@@ -579,6 +557,70 @@ public class FileLocator {
         return result;
     }
     
+    /**
+     * 获取包下所有类的简单类名
+     * 结果按包缓存，同时把找到的类文件路径放入类路径缓存，后续定位这些类不再需要查找
+     * 
+     * @param packageName 包名
+     * @return 包下的简单类名集合，包不存在时返回空集合
+     */
+    public Set<String> getClassNamesInPackage(String packageName) {
+        return packageClassCache.computeIfAbsent(packageName, pkg -> {
+            Set<String> classNames = new HashSet<>();
+            try {
+                for (Path file : findClassesInPackage(pkg)) {
+                    String simpleName = file.getFileName().toString();
+                    simpleName = simpleName.substring(0, simpleName.length() - ".java".length());
+                    classNames.add(simpleName);
+                    classPathCache.putIfAbsent(pkg.isEmpty() ? simpleName : pkg + "." + simpleName, file);
+                }
+            } catch (IOException e) {
+                log.warn("Error listing classes in package: {}", pkg, e);
+            }
+            return classNames;
+        });
+    }
+    
+    /**
+     * 列出所有源码目录中的类（每个.java文件的主类名）
+     * 找到的类文件路径同时放入类路径缓存，同名类以先找到的为准
+     * 
+     * @return 按名称排序的全限定类名集合
+     */
+    public Set<String> findAllClassNames() {
+        Set<String> classNames = new TreeSet<>();
+        for (Path sourceDir : getSourceDirectories()) {
+            try {
+                Files.walkFileTree(sourceDir, new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                        if (javaMatcher.matches(file)) {
+                            String relativePath = sourceDir.relativize(file).toString().replace(File.separatorChar, '/');
+                            String className = relativePath.substring(0, relativePath.length() - ".java".length()).replace('/', '.');
+                            // 跳过 package-info、module-info 等不是类名的文件
+                            if (!className.contains("-")) {
+                                classNames.add(className);
+                                classPathCache.putIfAbsent(className, file);
+                            }
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                        if (!dir.equals(sourceDir) && ignoreEngine.isIgnored(dir, true)) {
+                            return FileVisitResult.SKIP_SUBTREE;
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } catch (IOException e) {
+                log.warn("Error listing classes in source directory: {}", sourceDir, e);
+            }
+        }
+        return classNames;
+    }
+    
     /**
      * 添加额外的源码目录
      * 
@@ -590,6 +632,8 @@ public class FileLocator {
                 Path path = Paths.get(sourceDir);
                 if (Files.exists(path) && Files.isDirectory(path)) {
                     sourceDirectories.add(path);
+                    // 新的源码目录中可能有之前找不到的类
+                    missingClasses.clear();
                     log.debug("Added source directory: {}", path);
                 } else {
                     log.warn("Source directory does not exist or is not a directory: {}", sourceDir);
@@ -603,6 +647,9 @@ public class FileLocator {
      */
     public void clearCache() {
         classPathCache.clear();
+        topLevelClassCache.clear();
+        missingClasses.clear();
+        packageClassCache.clear();
     }
     
     /**
@@ -619,6 +666,7 @@ public class FileLocator {
      */
     public void rescanSourceDirectories() {
         sourceDirectories.clear();
+        missingClasses.clear();
         scanSourceDirectories();
     }
 }
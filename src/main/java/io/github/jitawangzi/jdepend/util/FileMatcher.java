@@ -69,7 +69,7 @@ public class FileMatcher {
 	 * * 匹配0个或多个字符
 	 * ? 匹配1个字符
 	 */
-	private String wildcardToRegex(String wildcard) {
+	static String wildcardToRegex(String wildcard) {
 		StringBuilder regex = new StringBuilder();
 		regex.append('^');
 		for (char c : wildcard.toCharArray()) {
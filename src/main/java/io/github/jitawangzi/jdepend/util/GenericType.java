@@ -0,0 +1,174 @@
+package io.github.jitawangzi.jdepend.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 解析后的泛型类型，例如 java.util.Map<String, List<Foo>>
+ * 同一个类型字符串只解析一次：解析结果（包括每一层泛型参数）按原文缓存，相同的文本总是得到同一个实例，
+ * 之后取泛型参数、数组元素类型都只是字段访问，不再对字符串做 substring/split。
+ */
+public final class GenericType {
+
+	/** 类型原文 -> 解析结果，每次分析（JavaParserInit.init()）时清空，不会跨项目累积 */
+	private static final Map<String, GenericType> CACHE = new ConcurrentHashMap<>();
+
+	/** 无法确定的类型 */
+	public static final GenericType OBJECT = parse("java.lang.Object");
+
+	private final String text;
+	private final String rawName;
+	private final String simpleName;
+	private final List<GenericType> arguments;
+	// 数组的元素类型，不是数组时为null
+	private final GenericType componentType;
+	// 通配符的边界，? 的边界是Object，不是通配符时为null
+	private final GenericType bound;
+
+	private GenericType(String text, String rawName, List<GenericType> arguments, GenericType componentType, GenericType bound) {
+		this.text = text;
+		this.rawName = rawName;
+		this.simpleName = rawName.substring(rawName.lastIndexOf('.') + 1);
+		this.arguments = arguments;
+		this.componentType = componentType;
+		this.bound = bound;
+	}
+
+	/**
+	 * 清空缓存，保留 OBJECT，使 parse("java.lang.Object") 仍然返回同一个实例
+	 */
+	static void clearCache() {
+		CACHE.clear();
+		CACHE.put(OBJECT.getText(), OBJECT);
+	}
+
+	/**
+	 * 解析类型字符串
+	 *
+	 * @param text 类型，例如 java.util.List<String>、String[]、? extends Foo
+	 * @return 解析结果，text为空时返回OBJECT
+	 */
+	public static GenericType parse(String text) {
+		if (text == null) {
+			return OBJECT;
+		}
+		GenericType type = CACHE.get(text);
+		if (type != null) {
+			return type;
+		}
+		String trimmed = text.trim();
+		if (trimmed.isEmpty()) {
+			return OBJECT;
+		}
+		// 泛型参数递归解析并各自缓存，所以这里不能用 computeIfAbsent
+		type = trimmed.equals(text) ? create(trimmed) : parse(trimmed);
+		GenericType existing = CACHE.putIfAbsent(text, type);
+		return existing != null ? existing : type;
+	}
+
+	private static GenericType create(String text) {
+		if (text.startsWith("?")) {
+			String rest = text.substring(1).trim();
+			GenericType bound = OBJECT;
+			if (rest.startsWith("extends ")) {
+				bound = parse(rest.substring("extends ".length()));
+			} else if (rest.startsWith("super ")) {
+				bound = parse(rest.substring("super ".length()));
+			}
+			return new GenericType(text, "?", Collections.emptyList(), null, bound);
+		}
+		if (text.endsWith("[]")) {
+			return new GenericType(text, text, Collections.emptyList(), parse(text.substring(0, text.length() - 2)), null);
+		}
+		if (text.endsWith("...")) {
+			return new GenericType(text, text, Collections.emptyList(), parse(text.substring(0, text.length() - 3)), null);
+		}
+		int start = text.indexOf('<');
+		if (start < 0) {
+			return new GenericType(text, text, Collections.emptyList(), null, null);
+		}
+		List<GenericType> arguments = new ArrayList<>();
+		int depth = 0;
+		int argumentStart = start + 1;
+		for (int i = argumentStart; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '<') {
+				depth++;
+			} else if (c == ',' && depth == 0) {
+				arguments.add(parse(text.substring(argumentStart, i)));
+				argumentStart = i + 1;
+			} else if (c == '>' && depth-- == 0) {
+				if (i > argumentStart || !arguments.isEmpty()) {
+					arguments.add(parse(text.substring(argumentStart, i)));
+				}
+				return new GenericType(text, text.substring(0, start).trim(), Collections.unmodifiableList(arguments), null, null);
+			}
+		}
+		// 尖括号不匹配，当作没有泛型参数的类型
+		return new GenericType(text, text.substring(0, start).trim(), Collections.emptyList(), null, null);
+	}
+
+	/**
+	 * 类型原文（已去掉首尾空白）
+	 */
+	public String getText() {
+		return text;
+	}
+
+	/**
+	 * 去掉泛型参数后的类型名，例如 java.util.Map
+	 */
+	public String getRawName() {
+		return rawName;
+	}
+
+	/**
+	 * 不含包名和泛型参数的类型名，例如 Map
+	 */
+	public String getSimpleName() {
+		return simpleName;
+	}
+
+	public List<GenericType> getArguments() {
+		return arguments;
+	}
+
+	/**
+	 * 获取第index个泛型参数
+	 *
+	 * @return 泛型参数，不存在时返回null
+	 */
+	public GenericType argument(int index) {
+		return index < arguments.size() ? arguments.get(index) : null;
+	}
+
+	public boolean isArray() {
+		return componentType != null;
+	}
+
+	/**
+	 * 数组的元素类型，不是数组时返回null
+	 */
+	public GenericType getComponentType() {
+		return componentType;
+	}
+
+	public boolean isWildcard() {
+		return bound != null;
+	}
+
+	/**
+	 * 作为变量类型时的实际类型：通配符取其边界，其他类型取自身
+	 */
+	public GenericType upperBound() {
+		return bound != null ? bound : this;
+	}
+
+	@Override
+	public String toString() {
+		return text;
+	}
+}
@@ -0,0 +1,252 @@
+package io.github.jitawangzi.jdepend.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 忽略规则引擎，按 .gitignore 语义判断文件或目录是否应被跳过
+ * 支持逐级读取各目录下的 .gitignore / .ignore 文件，支持否定规则(!)、锚定规则(/)、
+ * 仅目录规则(结尾的/)以及 * ? ** [] 通配符。深层目录的规则优先于上层目录，同一文件中后出现的规则优先。
+ * 每个目录编译后的规则会被缓存，可以在多个线程中共享使用。
+ */
+public class IgnoreEngine {
+	private static final Logger log = LoggerFactory.getLogger(IgnoreEngine.class);
+
+	/** 逐级读取的忽略文件名，后面的文件优先级更高 */
+	private static final List<String> IGNORE_FILE_NAMES = List.of(".gitignore", ".ignore");
+
+	/** 版本控制、IDE缓存以及依赖目录，任何模式下都不需要遍历 */
+	public static final List<String> DEFAULT_PATTERNS = List.of(".git/", ".svn/", ".hg/", ".idea/", ".vscode/", ".gradle/",
+			"node_modules/");
+
+	/** 查找源码时额外跳过所有隐藏目录和构建输出目录 */
+	public static final List<String> SOURCE_SCAN_PATTERNS = List.of(".*/", "target/", "build/", "bin/", "out/", "dist/",
+			"node_modules/");
+
+	private final Path root;
+	private final List<Rule> baseRules;
+	private final boolean readIgnoreFiles;
+	private final Map<Path, List<Rule>> rulesCache = new ConcurrentHashMap<>();
+
+	/**
+	 * 构造函数
+	 *
+	 * @param root 根目录，路径匹配都相对于该目录
+	 * @param basePatterns 内置的忽略规则，视为写在根目录的忽略文件最前面
+	 * @param readIgnoreFiles 是否读取各级目录中的 .gitignore / .ignore 文件
+	 */
+	public IgnoreEngine(Path root, List<String> basePatterns, boolean readIgnoreFiles) {
+		this.root = root.toAbsolutePath().normalize();
+		this.baseRules = compile(basePatterns);
+		this.readIgnoreFiles = readIgnoreFiles;
+	}
+
+	/**
+	 * 判断路径是否被忽略
+	 * 调用方需要保证父目录已经判断过（被忽略的目录应整体剪枝，不再进入）
+	 *
+	 * @param path 文件或目录
+	 * @param directory 是否是目录
+	 * @return 是否被忽略
+	 */
+	public boolean isIgnored(Path path, boolean directory) {
+		Path absolute = path.toAbsolutePath().normalize();
+		if (!absolute.startsWith(root) || absolute.equals(root)) {
+			return false;
+		}
+		Path relative = root.relativize(absolute);
+		int count = relative.getNameCount();
+		String name = relative.getFileName().toString();
+
+		int verdict = apply(baseRules, toSlashPath(relative), name, directory, 0);
+		if (readIgnoreFiles) {
+			Path dir = root;
+			for (int i = 0; i < count; i++) {
+				List<Rule> rules = rulesFor(dir);
+				if (!rules.isEmpty()) {
+					verdict = apply(rules, toSlashPath(relative.subpath(i, count)), name, directory, verdict);
+				}
+				dir = dir.resolve(relative.getName(i));
+			}
+		}
+		return verdict > 0;
+	}
+
+	/**
+	 * 依次应用规则，最后一个匹配的规则决定结果
+	 *
+	 * @return 1 表示忽略，-1 表示明确不忽略，0 表示没有规则匹配
+	 */
+	private static int apply(List<Rule> rules, String relativePath, String name, boolean directory, int verdict) {
+		for (Rule rule : rules) {
+			if (rule.matches(relativePath, name, directory)) {
+				verdict = rule.negate ? -1 : 1;
+			}
+		}
+		return verdict;
+	}
+
+	/**
+	 * 获取目录下忽略文件中的规则（带缓存）
+	 */
+	private List<Rule> rulesFor(Path dir) {
+		return rulesCache.computeIfAbsent(dir, d -> {
+			List<String> lines = new ArrayList<>();
+			for (String fileName : IGNORE_FILE_NAMES) {
+				Path file = d.resolve(fileName);
+				if (Files.isRegularFile(file)) {
+					try {
+						lines.addAll(Files.readAllLines(file, StandardCharsets.UTF_8));
+					} catch (IOException e) {
+						log.warn("读取忽略文件失败: {}", file, e);
+					}
+				}
+			}
+			return lines.isEmpty() ? Collections.emptyList() : compile(lines);
+		});
+	}
+
+	private static String toSlashPath(Path path) {
+		return path.toString().replace('\\', '/');
+	}
+
+	private static List<Rule> compile(List<String> lines) {
+		List<Rule> rules = new ArrayList<>();
+		for (String line : lines) {
+			Rule rule = Rule.parse(line);
+			if (rule != null) {
+				rules.add(rule);
+			}
+		}
+		return rules;
+	}
+
+	/**
+	 * 单条忽略规则
+	 */
+	static final class Rule {
+		private final Pattern pattern;
+		private final boolean negate;
+		private final boolean directoryOnly;
+		private final boolean anchored;
+
+		private Rule(Pattern pattern, boolean negate, boolean directoryOnly, boolean anchored) {
+			this.pattern = pattern;
+			this.negate = negate;
+			this.directoryOnly = directoryOnly;
+			this.anchored = anchored;
+		}
+
+		boolean matches(String relativePath, String name, boolean directory) {
+			if (directoryOnly && !directory) {
+				return false;
+			}
+			// 不含 / 的规则匹配任意层级的名称，含 / 的规则相对忽略文件所在目录匹配
+			return pattern.matcher(anchored ? relativePath : name).matches();
+		}
+
+		/**
+		 * 解析一行规则，空行和注释返回null
+		 */
+		static Rule parse(String line) {
+			String text = trimTrailingSpaces(line);
+			if (text.isEmpty() || text.startsWith("#")) {
+				return null;
+			}
+			boolean negate = false;
+			if (text.startsWith("!")) {
+				negate = true;
+				text = text.substring(1);
+			} else if (text.startsWith("\\!") || text.startsWith("\\#")) {
+				text = text.substring(1);
+			}
+			boolean directoryOnly = false;
+			while (text.endsWith("/")) {
+				directoryOnly = true;
+				text = text.substring(0, text.length() - 1);
+			}
+			if (text.isEmpty()) {
+				return null;
+			}
+			boolean anchored = text.indexOf('/') >= 0;
+			if (text.startsWith("/")) {
+				text = text.substring(1);
+			}
+			return new Rule(Pattern.compile(globToRegex(text)), negate, directoryOnly, anchored);
+		}
+
+		private static String trimTrailingSpaces(String line) {
+			int end = line.length();
+			while (end > 0 && (line.charAt(end - 1) == ' ' || line.charAt(end - 1) == '\t' || line.charAt(end - 1) == '\r')) {
+				if (end > 1 && line.charAt(end - 2) == '\\') {
+					break;
+				}
+				end--;
+			}
+			return line.substring(0, end);
+		}
+
+		static String globToRegex(String glob) {
+			StringBuilder regex = new StringBuilder();
+			int length = glob.length();
+			int i = 0;
+			while (i < length) {
+				char c = glob.charAt(i);
+				if (c == '*') {
+					if (i + 1 < length && glob.charAt(i + 1) == '*') {
+						boolean atSegmentStart = i == 0 || glob.charAt(i - 1) == '/';
+						boolean atSegmentEnd = i + 2 == length || glob.charAt(i + 2) == '/';
+						if (atSegmentStart && atSegmentEnd) {
+							if (i + 2 == length) {
+								// 结尾的 /** 或单独的 ** 匹配任意内容
+								regex.append(".*");
+								i += 2;
+							} else {
+								// **/ 匹配零个或多个目录
+								regex.append("(?:.*/)?");
+								i += 3;
+							}
+							continue;
+						}
+						i++;
+					}
+					regex.append("[^/]*");
+				} else if (c == '?') {
+					regex.append("[^/]");
+				} else if (c == '[') {
+					int close = glob.indexOf(']', i + 2);
+					if (close < 0) {
+						regex.append("\\[");
+					} else {
+						String content = glob.substring(i + 1, close);
+						if (content.startsWith("!")) {
+							content = "^" + content.substring(1);
+						}
+						regex.append('[').append(content.replace("\\", "\\\\").replace("[", "\\[")).append(']');
+						i = close;
+					}
+				} else if (c == '\\' && i + 1 < length) {
+					i++;
+					regex.append(Pattern.quote(String.valueOf(glob.charAt(i))));
+				} else if ("().{}+^$|".indexOf(c) >= 0) {
+					regex.append('\\').append(c);
+				} else {
+					regex.append(c);
+				}
+				i++;
+			}
+			return regex.toString();
+		}
+	}
+}
@@ -0,0 +1,358 @@
+package io.github.jitawangzi.jdepend.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Java源文件头部扫描器
+ * 只读取文件开头的少量字节来提取包名和第一个顶层类型名，不做完整的语法解析，
+ * 能正确跳过行注释、块注释、注解（包括 package-info.java 中包声明前的注解）。
+ * 主要用于根据包声明推断源码根目录。
+ */
+public class JavaHeaderScanner {
+	private static final Logger log = LoggerFactory.getLogger(JavaHeaderScanner.class);
+
+	/** 最多读取的字节数，包声明和类型声明一般都在文件开头 */
+	private static final int HEADER_SIZE = 4096;
+
+	/** 每个线程复用一个读取缓冲区，避免为每个文件分配内存 */
+	private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[HEADER_SIZE]);
+
+	/**
+	 * 文件头信息
+	 */
+	public static class Header {
+		private final String packageName;
+		private final String typeName;
+
+		public Header(String packageName, String typeName) {
+			this.packageName = packageName;
+			this.typeName = typeName;
+		}
+
+		/**
+		 * 获取包名，默认包返回空字符串
+		 */
+		public String getPackageName() {
+			return packageName;
+		}
+
+		/**
+		 * 获取第一个顶层类型的简单名称，如果在读取范围内没有找到则返回null
+		 */
+		public String getTypeName() {
+			return typeName;
+		}
+	}
+
+	private JavaHeaderScanner() {
+	}
+
+	/**
+	 * 扫描Java文件头部
+	 *
+	 * @param file Java源文件
+	 * @return 文件头信息
+	 * @throws IOException 如果读取文件失败
+	 */
+	public static Header scan(Path file) throws IOException {
+		byte[] buf = BUFFER.get();
+		int len = 0;
+		try (InputStream in = Files.newInputStream(file)) {
+			int n;
+			while (len < buf.length && (n = in.read(buf, len, buf.length - len)) > 0) {
+				len += n;
+			}
+		}
+		return new Lexer(buf, len).readHeader();
+	}
+
+	/**
+	 * 并行遍历目录树，根据包声明推断所有源码根目录
+	 * 同一个目录下的文件共享同一个源码根目录，所以每个目录只扫描一个代表文件
+	 *
+	 * @param root 遍历的起始目录
+	 * @param skipDirectory 返回true的目录（及其子目录）将被跳过
+	 * @return 源码根目录集合
+	 */
+	public static Set<Path> inferSourceRoots(Path root, Predicate<Path> skipDirectory) {
+		Set<Path> roots = ConcurrentHashMap.newKeySet();
+		ForkJoinPool.commonPool().invoke(new DirectoryTask(root, skipDirectory, roots));
+		return roots;
+	}
+
+	/**
+	 * 由包名和文件所在目录推断源码根目录
+	 *
+	 * @param dir 文件所在目录
+	 * @param packageName 包名
+	 * @return 源码根目录，目录结构与包名不匹配时返回null
+	 */
+	public static Path sourceRootOf(Path dir, String packageName) {
+		if (packageName == null || packageName.isEmpty()) {
+			return null;
+		}
+		String[] segments = packageName.split("\\.");
+		Path current = dir;
+		for (int i = segments.length - 1; i >= 0; i--) {
+			if (current == null || current.getFileName() == null || !current.getFileName().toString().equals(segments[i])) {
+				return null;
+			}
+			current = current.getParent();
+		}
+		return current;
+	}
+
+	/**
+	 * 单个目录的扫描任务，子目录拆分为子任务并行执行
+	 */
+	private static class DirectoryTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final Path dir;
+		private final Predicate<Path> skipDirectory;
+		private final Set<Path> roots;
+
+		DirectoryTask(Path dir, Predicate<Path> skipDirectory, Set<Path> roots) {
+			this.dir = dir;
+			this.skipDirectory = skipDirectory;
+			this.roots = roots;
+		}
+
+		@Override
+		protected void compute() {
+			List<DirectoryTask> subtasks = new ArrayList<>();
+			Path representative = null;
+			try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+				for (Path entry : stream) {
+					// 与 Files.walkFileTree 一样不跟随符号链接，指向上级目录的链接不会导致无限递归
+					if (Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS)) {
+						if (!skipDirectory.test(entry)) {
+							subtasks.add(new DirectoryTask(entry, skipDirectory, roots));
+						}
+					} else if (representative == null && isCandidate(entry)) {
+						representative = entry;
+					}
+				}
+			} catch (IOException e) {
+				log.debug("无法读取目录: {}", dir, e);
+			}
+
+			if (representative != null) {
+				try {
+					Path sourceRoot = sourceRootOf(dir, scan(representative).getPackageName());
+					if (sourceRoot != null) {
+						roots.add(sourceRoot);
+					}
+				} catch (IOException e) {
+					// 忽略无法读取的文件
+				}
+			}
+			invokeAll(subtasks);
+		}
+
+		private static boolean isCandidate(Path file) {
+			String fileName = file.getFileName().toString();
+			return fileName.endsWith(".java") && !fileName.equals("module-info.java");
+		}
+	}
+
+	/**
+	 * 只识别文件头部所需词法的简易扫描器
+	 */
+	private static class Lexer {
+		private final byte[] buf;
+		private final int len;
+		private int pos;
+
+		Lexer(byte[] buf, int len) {
+			this.buf = buf;
+			this.len = len;
+			// 跳过UTF-8 BOM
+			if (len >= 3 && (buf[0] & 0xFF) == 0xEF && (buf[1] & 0xFF) == 0xBB && (buf[2] & 0xFF) == 0xBF) {
+				pos = 3;
+			}
+		}
+
+		Header readHeader() {
+			String packageName = "";
+			String word = nextWord();
+			if ("package".equals(word)) {
+				packageName = readQualifiedName();
+				word = nextWord();
+			}
+			// 跳过import语句和修饰符，直到遇到类型声明关键字
+			while (word != null) {
+				if (word.equals("import")) {
+					skipPast(';');
+				} else if (isTypeKeyword(word)) {
+					return new Header(packageName, nextWord());
+				}
+				word = nextWord();
+			}
+			return new Header(packageName, null);
+		}
+
+		/**
+		 * 读取下一个标识符，跳过空白、注释、注解和分号
+		 */
+		private String nextWord() {
+			while (true) {
+				skipTrivia();
+				if (pos >= len) {
+					return null;
+				}
+				byte b = buf[pos];
+				if (b == '@') {
+					pos++;
+					skipTrivia();
+					String name = readQualifiedNameNoSemicolon();
+					if ("interface".equals(name)) {
+						return "@interface";
+					}
+					skipTrivia();
+					if (pos < len && buf[pos] == '(') {
+						skipParentheses();
+					}
+				} else if (isIdentifierPart(b)) {
+					int start = pos;
+					while (pos < len && isIdentifierPart(buf[pos])) {
+						pos++;
+					}
+					return new String(buf, start, pos - start, StandardCharsets.UTF_8);
+				} else {
+					pos++;
+				}
+			}
+		}
+
+		/**
+		 * 读取 a.b.c; 形式的限定名（允许中间出现空白和注释）
+		 */
+		private String readQualifiedName() {
+			String name = readQualifiedNameNoSemicolon();
+			skipPast(';');
+			return name;
+		}
+
+		private String readQualifiedNameNoSemicolon() {
+			StringBuilder sb = new StringBuilder();
+			while (true) {
+				skipTrivia();
+				int start = pos;
+				while (pos < len && isIdentifierPart(buf[pos])) {
+					pos++;
+				}
+				if (pos == start) {
+					break;
+				}
+				sb.append(new String(buf, start, pos - start, StandardCharsets.UTF_8));
+				skipTrivia();
+				if (pos < len && buf[pos] == '.') {
+					sb.append('.');
+					pos++;
+				} else {
+					break;
+				}
+			}
+			return sb.toString();
+		}
+
+		private void skipParentheses() {
+			int depth = 0;
+			while (pos < len) {
+				skipTrivia();
+				if (pos >= len) {
+					return;
+				}
+				byte b = buf[pos];
+				if (b == '"' || b == '\'') {
+					skipLiteral(b);
+					continue;
+				}
+				pos++;
+				if (b == '(') {
+					depth++;
+				} else if (b == ')' && --depth == 0) {
+					return;
+				}
+			}
+		}
+
+		private void skipLiteral(byte quote) {
+			pos++;
+			while (pos < len && buf[pos] != quote) {
+				if (buf[pos] == '\\') {
+					pos++;
+				}
+				pos++;
+			}
+			pos++;
+		}
+
+		private void skipPast(char c) {
+			while (pos < len) {
+				skipTrivia();
+				if (pos < len && buf[pos++] == c) {
+					return;
+				}
+			}
+		}
+
+		/**
+		 * 跳过空白和注释
+		 */
+		private void skipTrivia() {
+			while (pos < len) {
+				byte b = buf[pos];
+				if (b == ' ' || b == '\t' || b == '\r' || b == '\n' || b == '\f') {
+					pos++;
+				} else if (b == '/' && pos + 1 < len && buf[pos + 1] == '/') {
+					while (pos < len && buf[pos] != '\n') {
+						pos++;
+					}
+				} else if (b == '/' && pos + 1 < len && buf[pos + 1] == '*') {
+					pos += 2;
+					while (pos + 1 < len && !(buf[pos] == '*' && buf[pos + 1] == '/')) {
+						pos++;
+					}
+					pos = Math.min(len, pos + 2);
+				} else {
+					return;
+				}
+			}
+		}
+
+		private static boolean isIdentifierPart(byte b) {
+			return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9') || b == '_' || b == '$' || b < 0;
+		}
+
+		private static boolean isTypeKeyword(String word) {
+			switch (word) {
+			case "class":
+			case "interface":
+			case "enum":
+			case "record":
+			case "@interface":
+				return true;
+			default:
+				return false;
+			}
+		}
+	}
+}
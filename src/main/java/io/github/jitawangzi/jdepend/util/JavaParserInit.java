@@ -1,11 +1,17 @@
 package io.github.jitawangzi.jdepend.util;
 
 import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.javaparser.JavaParser;
 import com.github.javaparser.ParserConfiguration;
 import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.CompilationUnit;
@@ -15,23 +21,104 @@ import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.resolution.declarations.ResolvedMethodDeclaration;
 import com.github.javaparser.symbolsolver.JavaSymbolSolver;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
-import com.github.javaparser.symbolsolver.resolution.typesolvers.JarTypeSolver;
-import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
 
 import io.github.jitawangzi.jdepend.config.AppConfigManager;
-import io.github.jitawangzi.jdepend.core.solver.SimpleXmlTypeSolver;
+import io.github.jitawangzi.jdepend.core.solver.DependencyJarIndex;
+import io.github.jitawangzi.jdepend.core.solver.DependencyJarTypeSolver;
+import io.github.jitawangzi.jdepend.core.solver.JdkIndexTypeSolver;
 import io.github.jitawangzi.jdepend.project.ProjectParser;
 import io.github.jitawangzi.jdepend.project.ProjectParserFactory;
 
 public class JavaParserInit {
     private static Logger log = LoggerFactory.getLogger(JavaParserInit.class);
 
-	public static void init() {
+	// 依赖解析（可能调用Maven）只做一次，工作线程创建自己的类型解析器时复用
+	private static volatile List<File> dependencyJars;
+	// 依赖jar的类索引，所有线程的类型解析器共享，只在第一次创建配置时建立
+	private static volatile DependencyJarIndex dependencyJarIndex;
+	// 每次 init() 加一，线程记录自己配置时的版本，重新初始化后工作线程也会重新配置
+	private static volatile int generation;
+	private static final ThreadLocal<Integer> threadGeneration = ThreadLocal.withInitial(() -> 0);
+	// 只包含项目依赖jar的类加载器，符号解析失败时用反射查找第三方类，按需创建
+	private static volatile URLClassLoader dependencyClassLoader;
+
+	public static synchronized void init() {
+		dependencyJars = null;
+		closeDependencyClassLoader();
+		closeDependencyJarIndex();
+		GenericType.clearCache();
+		StaticJavaParser.setConfiguration(createConfiguration());
+		generation++;
+		threadGeneration.set(generation);
+	}
+
+	/**
+	 * 为当前线程配置 StaticJavaParser
+	 * StaticJavaParser 的配置是线程本地的，工作线程默认的配置没有符号解析器；类型解析器内部的JavaParser和缓存也不是线程安全的，
+	 * 所以每个工作线程创建一份独立的配置和类型解析器。主线程调用过 init() 之后，在工作线程中解析文件前调用，已配置的线程直接返回。
+	 */
+	public static void configureCurrentThread() {
+		int current = generation;
+		if (current > 0 && threadGeneration.get() != current) {
+			StaticJavaParser.setConfiguration(createConfiguration());
+			threadGeneration.set(current);
+		}
+	}
+
+	/**
+	 * 获取加载项目依赖的类加载器
+	 * 父加载器是平台类加载器，所以能加载 JDK 和依赖jar中的类，但不会加载到本工具自身的依赖；init() 之前调用时只能加载 JDK 类
+	 */
+	public static ClassLoader getDependencyClassLoader() {
+		URLClassLoader loader = dependencyClassLoader;
+		if (loader == null) {
+			synchronized (JavaParserInit.class) {
+				loader = dependencyClassLoader;
+				if (loader == null) {
+					List<URL> urls = new ArrayList<>();
+					for (File jar : dependencyJars == null ? List.<File>of() : dependencyJars) {
+						try {
+							urls.add(jar.toURI().toURL());
+						} catch (MalformedURLException e) {
+							log.warn("Could not add jar to classloader: {}", jar.getPath(), e);
+						}
+					}
+					loader = new URLClassLoader(urls.toArray(new URL[0]), ClassLoader.getPlatformClassLoader());
+					dependencyClassLoader = loader;
+				}
+			}
+		}
+		return loader;
+	}
+
+	// ReflectionUtils 已标记为过时，但它的缓存引用了旧的类加载器，关闭加载器时仍需清理
+	@SuppressWarnings("deprecation")
+	private static void closeDependencyClassLoader() {
+		URLClassLoader loader = dependencyClassLoader;
+		dependencyClassLoader = null;
+		ReflectionUtils.clearCache();
+		if (loader != null) {
+			try {
+				loader.close();
+			} catch (IOException e) {
+				log.warn("关闭依赖类加载器失败", e);
+			}
+		}
+	}
+
+	private static void closeDependencyJarIndex() {
+		DependencyJarIndex index = dependencyJarIndex;
+		dependencyJarIndex = null;
+		if (index != null) {
+			index.close();
+		}
+	}
+
+	private static ParserConfiguration createConfiguration() {
 		try {
 			// 设置jdk版本语法
 			ParserConfiguration config = new ParserConfiguration();
 			config.setLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_17);
-			StaticJavaParser.setConfiguration(config);
 
 			// 1. 创建类型解析器 (TypeSolver)
 			CombinedTypeSolver typeSolver = new CombinedTypeSolver();
@@ -39,14 +126,15 @@ public class JavaParserInit {
 			// 主项目的根路径
 	        String projectRootPath = AppConfigManager.get().getProjectRootPath();
 	        if (projectRootPath == null || projectRootPath.trim().isEmpty()) {
-	            log.warn("project.root 未设置，跳过项目源码和依赖解析（适用于非 Java 目录分析）");
+	            if (dependencyJars == null) {
+	                log.warn("project.root 未设置，跳过项目源码和依赖解析（适用于非 Java 目录分析）");
+	                dependencyJars = List.of();
+	            }
 	            // 只添加基本 solver，不依赖项目根
-	            typeSolver.add(new SimpleXmlTypeSolver());
-	            typeSolver.add(new ReflectionTypeSolver());
+	            typeSolver.add(new JdkIndexTypeSolver());
 	            // 继续配置 symbolSolver
-	            JavaSymbolSolver symbolSolver = new JavaSymbolSolver(typeSolver);
-	            StaticJavaParser.getParserConfiguration().setSymbolResolver(symbolSolver);
-	            return;  // 提前返回
+	            config.setSymbolResolver(new JavaSymbolSolver(typeSolver));
+	            return config;  // 提前返回
 	        }
 			
 			File projectRoot = new File(projectRootPath);
@@ -57,35 +145,49 @@ public class JavaParserInit {
 				throw new IllegalStateException("Cannot determine project type for: " + projectRootPath);
 			}
 
-			log.info("Using project parser: " + projectParser.getClass().getSimpleName());
+			if (dependencyJars == null) {
+				log.info("Using project parser: " + projectParser.getClass().getSimpleName());
+			}
 
 			// 添加项目及其所有模块的源码路径
 			projectParser.addSourceDirectories(typeSolver, projectRoot);
 
-			// 添加我们的极简XML解析器（优先级最高）
-			typeSolver.add(new SimpleXmlTypeSolver());
-
-			// 添加标准的JDK类解析器
-			typeSolver.add(new ReflectionTypeSolver());
+			// 添加JDK类解析器（基于生成的JDK类型索引）
+			typeSolver.add(new JdkIndexTypeSolver());
 
-			// 解析项目依赖并添加到 TypeSolver
-			List<File> jars = projectParser.resolveDependencies(projectRoot);
-			for (File jar : jars) {
-				try {
-					typeSolver.add(new JarTypeSolver(jar));
-				} catch (Exception e) {
-					log.warn("Could not add jar to typesolver: {}", jar.getPath(), e);
-				}
+			// 解析项目依赖并添加到 TypeSolver：jar的类索引所有线程共享，每个线程只创建自己的 ClassPool
+			List<File> jars = dependencyJars;
+			DependencyJarIndex jarIndex = dependencyJarIndex;
+			if (jars == null || jarIndex == null) {
+				jars = projectParser.resolveDependencies(projectRoot);
+				jarIndex = new DependencyJarIndex(jars);
+				dependencyJars = jars;
+				dependencyJarIndex = jarIndex;
+				log.debug("依赖jar类索引: {} 个jar，{} 个类", jars.size(), jarIndex.size());
 			}
+			typeSolver.add(new DependencyJarTypeSolver(jarIndex));
 
 			// 2. 配置 SymbolSolver
-			JavaSymbolSolver symbolSolver = new JavaSymbolSolver(typeSolver);
-			StaticJavaParser.getParserConfiguration().setSymbolResolver(symbolSolver);
+			config.setSymbolResolver(new JavaSymbolSolver(typeSolver));
+			return config;
 		} catch (Exception e) {
 			log.error("初始化JavaParser失败: ", e);
 	        throw new RuntimeException("JavaParser 初始化失败", e);  // 改为 throw，避免 System.exit()
 		}
 	}
+
+	/**
+	 * 创建不带符号解析器的轻量级解析器，只用于语法层面的处理（如目录模式下的源码简化）
+	 * 不会触发项目依赖解析；JavaParser实例不是线程安全的，不要在多个线程间共享
+	 */
+	public static JavaParser newLightweightParser() {
+		ParserConfiguration config = new ParserConfiguration();
+		config.setLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_17);
+		// 注释不需要归属到节点，删除节点时按源码位置处理前置注释
+		config.setAttributeComments(false);
+		return new JavaParser(config);
+	}
+
     public static void main(String[] args) throws Exception {
         init();
         // 解析Java文件
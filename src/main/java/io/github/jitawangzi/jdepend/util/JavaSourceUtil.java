@@ -5,10 +5,10 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Optional;
 
-import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.ImportDeclaration;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
 
 /**
  * Java源码读取工具类，支持读取普通类和内部类的源代码
@@ -18,6 +18,7 @@ public class JavaSourceUtil {
 
 	/**
 	 * 读取类的源代码，包括处理内部类
+	 * 内部类通过 FileLocator 定位到外部类文件，从解析缓存中取外部类的编译单元，不再重新解析
 	 * 
 	 * @param className 类的全限定名
 	 * @param locator 文件定位器
@@ -26,48 +27,14 @@ public class JavaSourceUtil {
 	 * @throws IllegalStateException 如果找不到类文件
 	 */
 	public static String readClassSource(String className, FileLocator locator) throws IOException {
-		// 首先尝试直接作为普通类查找
-		Path file = locator.locate(className);
-
-		if (file != null) {
-			// 找到了普通类文件，直接读取并返回
-			return Files.readString(file);
+		String topLevelClassName = locator.getTopLevelClassName(className);
+		if (className.equals(topLevelClassName)) {
+			// 普通类文件，直接读取并返回
+			return Files.readString(locator.locate(className));
 		}
-
-		// 如果找不到文件，检查是否是内部类
-		int lastDotIndex = className.lastIndexOf(".");
-		if (lastDotIndex != -1) {
-			String potentialOuterClass = className.substring(0, lastDotIndex);
-			String innerClassName = className.substring(lastDotIndex + 1);
-
-			// 尝试定位外部类文件
-			Path outerClassFile = locator.locate(potentialOuterClass);
-
-			if (outerClassFile != null) {
-				// 找到了外部类文件，解析它并查找内部类
-				String outerClassSource = Files.readString(outerClassFile);
-
-				// 使用JavaParser解析外部类源码
-				CompilationUnit cu = StaticJavaParser.parse(outerClassSource);
-
-				// 获取外部类的简单名称（不包含包名）
-				String outerSimpleName = potentialOuterClass.substring(potentialOuterClass.lastIndexOf('.') + 1);
-
-				// 在编译单元中查找外部类定义
-				Optional<ClassOrInterfaceDeclaration> outerClassOpt = cu.findFirst(ClassOrInterfaceDeclaration.class,
-						c -> c.getNameAsString().equals(outerSimpleName));
-
-				if (outerClassOpt.isPresent()) {
-					// 在外部类中查找内部类定义
-					Optional<ClassOrInterfaceDeclaration> innerClassOpt = outerClassOpt.get()
-							.findFirst(ClassOrInterfaceDeclaration.class, c -> c.getNameAsString().equals(innerClassName));
-
-					if (innerClassOpt.isPresent()) {
-						// 找到了内部类，返回其源码
-						return innerClassOpt.get().toString();
-					}
-				}
-			}
+		Optional<TypeDeclaration<?>> nestedType = findNestedType(className, locator);
+		if (nestedType.isPresent()) {
+			return nestedType.get().toString();
 		}
 
 		// 如果所有尝试都失败，抛出异常
@@ -81,19 +48,8 @@ public class JavaSourceUtil {
 	 * @return 如果是内部类返回true，否则返回false
 	 */
 	public static boolean isInnerClass(String className, FileLocator locator) throws IOException {
-		// 直接尝试定位类文件
-		if (locator.locate(className) != null) {
-			return false; // 找到了直接对应的文件，不是内部类
-		}
-
-		// 检查是否可能是内部类（最后一个点号后有类名）
-		int lastDotIndex = className.lastIndexOf(".");
-		if (lastDotIndex != -1) {
-			String potentialOuterClass = className.substring(0, lastDotIndex);
-			return locator.locate(potentialOuterClass) != null;
-		}
-
-		return false;
+		String topLevelClassName = locator.getTopLevelClassName(className);
+		return topLevelClassName != null && !topLevelClassName.equals(className);
 	}
 
 	/**
@@ -106,13 +62,32 @@ public class JavaSourceUtil {
 		if (!isInnerClass(innerClassName, locator)) {
 			return null;
 		}
+		return innerClassName.substring(0, innerClassName.lastIndexOf('.'));
+	}
 
-		int lastDotIndex = innerClassName.lastIndexOf(".");
-		if (lastDotIndex != -1) {
-			return innerClassName.substring(0, lastDotIndex);
+	/**
+	 * 在外部类文件的编译单元中逐层查找内部类型的声明
+	 * 
+	 * @param className 内部类的全限定名，例如 a.b.Outer.Inner
+	 * @param locator 文件定位器
+	 * @return 内部类型的声明，找不到时为空
+	 */
+	private static Optional<TypeDeclaration<?>> findNestedType(String className, FileLocator locator) {
+		String topLevelClassName = locator.getTopLevelClassName(className);
+		CompilationUnit cu = topLevelClassName == null ? null : CommonUtil.parseCompilationUnit(topLevelClassName);
+		if (cu == null) {
+			return Optional.empty();
 		}
-
-		return null;
+		String topLevelSimpleName = topLevelClassName.substring(topLevelClassName.lastIndexOf('.') + 1);
+		Optional<TypeDeclaration<?>> type = cu.getTypes().stream().filter(t -> t.getNameAsString().equals(topLevelSimpleName)).findFirst();
+		for (String simpleName : className.substring(topLevelClassName.length() + 1).split("\\.")) {
+			type = type.flatMap(t -> t.getMembers()
+					.stream()
+					.filter(member -> member instanceof TypeDeclaration && ((TypeDeclaration<?>) member).getNameAsString().equals(simpleName))
+					.<TypeDeclaration<?>>map(member -> (TypeDeclaration<?>) member)
+					.findFirst());
+		}
+		return type;
 	}
 
 	/**
@@ -124,69 +99,39 @@ public class JavaSourceUtil {
 	 * @throws Exception 如果解析过程中发生错误
 	 */
 	public static String extractAndProcessInnerClass(String className, FileLocator locator) throws Exception {
-		// 检查是否是内部类（通过点号判断）
-		int lastDotIndex = className.lastIndexOf(".");
-		if (lastDotIndex == -1) {
-			throw new IllegalArgumentException("无效的类名: " + className);
-		}
-
-		// 获取可能的外部类名和内部类名
-		String potentialOuterClass = className.substring(0, lastDotIndex);
-		String innerClassName = className.substring(lastDotIndex + 1);
-
-		// 定位外部类文件
-		Path outerClassFile = locator.locate(potentialOuterClass);
-		if (outerClassFile == null) {
-			throw new IllegalStateException("找不到外部类文件: " + potentialOuterClass);
+		if (!isInnerClass(className, locator)) {
+			throw new IllegalStateException("不是内部类或找不到外部类文件: " + className);
 		}
-
-		// 读取外部类源码
-		String outerClassSource = Files.readString(outerClassFile);
-
-		// 解析完整的外部类文件
-		CompilationUnit cu = StaticJavaParser.parse(outerClassFile.toFile());
-
-		// 获取外部类的简单名称
-		String outerSimpleName = potentialOuterClass.substring(potentialOuterClass.lastIndexOf('.') + 1);
-
-		// 在编译单元中查找外部类
-		Optional<ClassOrInterfaceDeclaration> outerClassOpt = cu.findFirst(ClassOrInterfaceDeclaration.class,
-				c -> c.getNameAsString().equals(outerSimpleName));
-
-		if (!outerClassOpt.isPresent()) {
-			throw new IllegalStateException("在源文件中找不到外部类: " + outerSimpleName);
-		}
-
-		// 在外部类中查找内部类
-		Optional<ClassOrInterfaceDeclaration> innerClassOpt = outerClassOpt.get()
-				.findFirst(ClassOrInterfaceDeclaration.class, c -> c.getNameAsString().equals(innerClassName));
-
-		if (!innerClassOpt.isPresent()) {
-			throw new IllegalStateException("在外部类中找不到内部类: " + innerClassName);
+		Optional<TypeDeclaration<?>> nestedType = findNestedType(className, locator);
+		if (!nestedType.isPresent() || !(nestedType.get() instanceof ClassOrInterfaceDeclaration)) {
+			throw new IllegalStateException("在外部类中找不到内部类: " + className);
 		}
+		String innerClassName = className.substring(className.lastIndexOf('.') + 1);
+		// 编译单元来自解析缓存，由其他分析共享，这里只读取，复制节点而不移动
+		CompilationUnit cu = CommonUtil.parseCompilationUnit(className);
 
 		// 获取内部类节点
-		ClassOrInterfaceDeclaration innerClass = innerClassOpt.get();
+		ClassOrInterfaceDeclaration innerClass = (ClassOrInterfaceDeclaration) nestedType.get();
 
 		// 创建一个新的编译单元来包含内部类，将内部类转换为普通类
 		CompilationUnit newCu = new CompilationUnit();
 
 		// 复制包声明
-		cu.getPackageDeclaration().ifPresent(newCu::setPackageDeclaration);
+		cu.getPackageDeclaration().ifPresent(packageDeclaration -> newCu.setPackageDeclaration(packageDeclaration.clone()));
 
 		// 复制所有导入
 		for (ImportDeclaration importDecl : cu.getImports()) {
-			newCu.addImport(importDecl);
+			newCu.addImport(importDecl.clone());
 		}
 
 		// 创建新的类声明（将内部类转为普通类）
 		ClassOrInterfaceDeclaration newClass = newCu.addClass(innerClassName);
 
 		// 复制内部类的所有内容到新类
-		newClass.setJavadocComment(innerClass.getJavadoc().orElse(null));
-		innerClass.getExtendedTypes().forEach(newClass::addExtendedType);
-		innerClass.getImplementedTypes().forEach(newClass::addImplementedType);
-		innerClass.getAnnotations().forEach(newClass::addAnnotation);
+		innerClass.getJavadoc().ifPresent(newClass::setJavadocComment);
+		innerClass.getExtendedTypes().forEach(type -> newClass.addExtendedType(type.clone()));
+		innerClass.getImplementedTypes().forEach(type -> newClass.addImplementedType(type.clone()));
+		innerClass.getAnnotations().forEach(annotation -> newClass.addAnnotation(annotation.clone()));
 		innerClass.getModifiers().forEach(mod -> {
 			// 移除static修饰符，因为顶级类不能是static
 			if (mod.getKeyword() != com.github.javaparser.ast.Modifier.Keyword.STATIC) {
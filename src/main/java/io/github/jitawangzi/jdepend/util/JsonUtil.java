@@ -0,0 +1,68 @@
+package io.github.jitawangzi.jdepend.util;
+
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * 生成JSON报告用的辅助方法，报告结构简单，直接拼接字符串，不引入JSON库
+ */
+public class JsonUtil {
+
+	private JsonUtil() {
+	}
+
+	/**
+	 * 转为JSON字符串字面量（带引号并转义）
+	 */
+	public static String quote(String text) {
+		StringBuilder sb = new StringBuilder(text.length() + 2).append('"');
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			switch (c) {
+			case '"':
+				sb.append("\\\"");
+				break;
+			case '\\':
+				sb.append("\\\\");
+				break;
+			case '\n':
+				sb.append("\\n");
+				break;
+			case '\r':
+				sb.append("\\r");
+				break;
+			case '\t':
+				sb.append("\\t");
+				break;
+			default:
+				if (c < 0x20) {
+					sb.append(String.format("\\u%04x", (int) c));
+				} else {
+					sb.append(c);
+				}
+			}
+		}
+		return sb.append('"').toString();
+	}
+
+	/**
+	 * 转为JSON字符串数组
+	 */
+	public static String array(Collection<String> items) {
+		StringBuilder sb = new StringBuilder("[");
+		for (String item : items) {
+			if (sb.length() > 1) {
+				sb.append(", ");
+			}
+			sb.append(quote(item));
+		}
+		return sb.append("]").toString();
+	}
+
+	/**
+	 * 格式化小数，保留三位
+	 */
+	public static String number(double value) {
+		return String.format(Locale.ROOT, "%.3f", value);
+	}
+}
@@ -0,0 +1,289 @@
+package io.github.jitawangzi.jdepend.util;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * lambda 参数类型推断用到的签名表
+ * 包括 JDK 函数式接口的参数/返回值，以及 Stream、集合、Map、Optional、CompletableFuture 中接收 lambda 的方法的参数，
+ * 都在类加载时建好。推断时按 类型种类 + 方法名 查表，再从 GenericType 中取对应的泛型参数。
+ */
+final class LambdaSignatureTable {
+
+	static final String OBJECT_TYPE = "java.lang.Object";
+
+	/** 包含 lambda 参数方法的常用类型种类 */
+	enum Kind {
+		STREAM, COLLECTION, MAP, OPTIONAL, FUTURE, OTHER
+	}
+
+	/**
+	 * lambda 参数类型的来源：所属类型的第几个泛型参数、所属类型本身，或者固定类型
+	 */
+	static final class ParamSource {
+		private static final int SELF = -1;
+
+		private final int argument;
+		private final String fixedType;
+
+		private ParamSource(int argument, String fixedType) {
+			this.argument = argument;
+			this.fixedType = fixedType;
+		}
+
+		/**
+		 * 根据所属类型得到参数类型
+		 *
+		 * @param owner 调用者类型或函数式接口类型
+		 * @return 参数类型，泛型参数不存在时返回 java.lang.Object
+		 */
+		String resolve(GenericType owner) {
+			if (fixedType != null) {
+				return fixedType;
+			}
+			if (argument == SELF) {
+				return owner.getText();
+			}
+			GenericType type = owner.argument(argument);
+			return type == null ? OBJECT_TYPE : type.upperBound().getText();
+		}
+	}
+
+	/**
+	 * 函数式接口的签名
+	 */
+	static final class Signature {
+		private final ParamSource[] parameters;
+		// 返回值，void 时为null
+		private final ParamSource result;
+
+		private Signature(ParamSource result, ParamSource[] parameters) {
+			this.parameters = parameters;
+			this.result = result;
+		}
+
+		/**
+		 * 第index个参数的类型来源，超出参数个数时返回null
+		 */
+		ParamSource parameter(int index) {
+			return index < parameters.length ? parameters[index] : null;
+		}
+
+		ParamSource result() {
+			return result;
+		}
+	}
+
+	private static final ParamSource T0 = new ParamSource(0, null);
+	private static final ParamSource T1 = new ParamSource(1, null);
+	private static final ParamSource T2 = new ParamSource(2, null);
+	private static final ParamSource SELF = new ParamSource(ParamSource.SELF, null);
+	private static final ParamSource INT = new ParamSource(0, "int");
+	private static final ParamSource LONG = new ParamSource(0, "long");
+	private static final ParamSource DOUBLE = new ParamSource(0, "double");
+	private static final ParamSource BOOLEAN = new ParamSource(0, "boolean");
+	private static final ParamSource THROWABLE = new ParamSource(0, "java.lang.Throwable");
+
+	/** 函数式接口简单类名 -> 签名 */
+	private static final Map<String, Signature> FUNCTIONAL_INTERFACES = new HashMap<>();
+	/** 类型种类 -> 方法名 -> lambda 参数的类型来源 */
+	private static final Map<Kind, Map<String, ParamSource[]>> METHODS = new EnumMap<>(Kind.class);
+	/** 任何类型都适用的方法名 -> lambda 参数的类型来源，在按种类查不到时使用 */
+	private static final Map<String, ParamSource[]> COMMON_METHODS = new HashMap<>();
+	/** 已知的类型简单类名 -> 种类，其余的按后缀判断后缓存 */
+	private static final Map<String, Kind> KINDS = new ConcurrentHashMap<>();
+
+	/** 自定义函数式接口常见的名称后缀 */
+	private static final String[] FUNCTIONAL_SUFFIXES = { "Consumer", "Function", "Predicate", "Supplier", "Callback", "Listener",
+			"Handler" };
+
+	/** 流的中间操作 */
+	static final Set<String> STREAM_INTERMEDIATE_OPERATIONS = Set.of("filter", "map", "flatMap", "distinct", "sorted", "peek", "limit",
+			"skip", "parallel", "sequential", "unordered");
+	/** 流的终端操作 */
+	static final Set<String> STREAM_TERMINAL_OPERATIONS = Set.of("forEach", "forEachOrdered", "toArray", "reduce", "collect", "min", "max",
+			"count", "anyMatch", "allMatch", "noneMatch", "findFirst", "findAny");
+	/** 创建流的方法 */
+	static final Set<String> STREAM_SOURCES = Set.of("stream", "parallelStream", "of", "generate", "iterate", "concat");
+
+	/** 常见方法名 -> 调用该方法的对象最可能的类型 */
+	static final Map<String, String> METHOD_NAME_HINTS = new HashMap<>();
+
+	static {
+		functional("Function", T1, T0);
+		functional("BiFunction", T2, T0, T1);
+		functional("UnaryOperator", T0, T0);
+		functional("BinaryOperator", T0, T0, T0);
+		functional("Consumer", null, T0);
+		functional("BiConsumer", null, T0, T1);
+		functional("Predicate", BOOLEAN, T0);
+		functional("BiPredicate", BOOLEAN, T0, T1);
+		functional("Supplier", T0);
+		functional("Callable", T0);
+		functional("Runnable", null);
+		functional("Comparator", INT, T0, T0);
+		functional("ToIntFunction", INT, T0);
+		functional("ToLongFunction", LONG, T0);
+		functional("ToDoubleFunction", DOUBLE, T0);
+		functional("ToIntBiFunction", INT, T0, T1);
+		functional("ToLongBiFunction", LONG, T0, T1);
+		functional("ToDoubleBiFunction", DOUBLE, T0, T1);
+		functional("IntFunction", T0, INT);
+		functional("LongFunction", T0, LONG);
+		functional("DoubleFunction", T0, DOUBLE);
+		functional("IntPredicate", BOOLEAN, INT);
+		functional("LongPredicate", BOOLEAN, LONG);
+		functional("DoublePredicate", BOOLEAN, DOUBLE);
+		functional("IntConsumer", null, INT);
+		functional("LongConsumer", null, LONG);
+		functional("DoubleConsumer", null, DOUBLE);
+		functional("IntUnaryOperator", INT, INT);
+		functional("LongUnaryOperator", LONG, LONG);
+		functional("DoubleUnaryOperator", DOUBLE, DOUBLE);
+		functional("IntBinaryOperator", INT, INT, INT);
+		functional("LongBinaryOperator", LONG, LONG, LONG);
+		functional("DoubleBinaryOperator", DOUBLE, DOUBLE, DOUBLE);
+		functional("ObjIntConsumer", null, T0, INT);
+		functional("ObjLongConsumer", null, T0, LONG);
+		functional("ObjDoubleConsumer", null, T0, DOUBLE);
+
+		// Stream<T>
+		methods(Kind.STREAM, new ParamSource[] { T0 }, "filter", "map", "flatMap", "mapToInt", "mapToLong", "mapToDouble", "flatMapToInt",
+				"flatMapToLong", "flatMapToDouble", "peek", "forEach", "forEachOrdered", "anyMatch", "allMatch", "noneMatch", "takeWhile",
+				"dropWhile", "collect");
+		methods(Kind.STREAM, new ParamSource[] { T0, T0 }, "sorted", "min", "max", "reduce");
+		// Collection<E>、List<E>
+		methods(Kind.COLLECTION, new ParamSource[] { T0 }, "forEach", "removeIf", "replaceAll");
+		methods(Kind.COLLECTION, new ParamSource[] { T0, T0 }, "sort");
+		// Map<K, V>
+		methods(Kind.MAP, new ParamSource[] { T0, T1 }, "forEach", "compute", "computeIfPresent", "replaceAll");
+		methods(Kind.MAP, new ParamSource[] { T0 }, "computeIfAbsent");
+		methods(Kind.MAP, new ParamSource[] { T1, T1 }, "merge");
+		// Optional<T>
+		methods(Kind.OPTIONAL, new ParamSource[] { T0 }, "filter", "map", "flatMap", "ifPresent", "ifPresentOrElse");
+		methods(Kind.OPTIONAL, new ParamSource[0], "orElseGet", "or");
+		// CompletableFuture<T>
+		methods(Kind.FUTURE, new ParamSource[] { T0 }, "thenApply", "thenApplyAsync", "thenAccept", "thenAcceptAsync", "thenCompose",
+				"thenComposeAsync");
+		methods(Kind.FUTURE, new ParamSource[] { T0, THROWABLE }, "handle", "handleAsync", "whenComplete", "whenCompleteAsync");
+		methods(Kind.FUTURE, new ParamSource[] { THROWABLE }, "exceptionally");
+		COMMON_METHODS.put("compareTo", new ParamSource[] { SELF });
+		COMMON_METHODS.put("equals", new ParamSource[] { SELF });
+
+		kinds(Kind.STREAM, "Stream");
+		kinds(Kind.COLLECTION, "Iterable", "Collection", "List", "ArrayList", "LinkedList", "Vector", "Stack", "CopyOnWriteArrayList", "Set",
+				"HashSet", "LinkedHashSet", "TreeSet", "SortedSet", "NavigableSet", "CopyOnWriteArraySet", "Queue", "Deque", "ArrayDeque",
+				"PriorityQueue", "BlockingQueue", "LinkedBlockingQueue", "ArrayBlockingQueue", "ConcurrentLinkedQueue");
+		kinds(Kind.MAP, "Map", "HashMap", "LinkedHashMap", "TreeMap", "SortedMap", "NavigableMap", "ConcurrentMap", "ConcurrentHashMap");
+		kinds(Kind.OPTIONAL, "Optional");
+		kinds(Kind.FUTURE, "CompletableFuture", "CompletionStage", "Future");
+
+		hints("java.lang.String", "length", "charAt", "substring", "startsWith", "endsWith", "trim");
+		hints("java.util.Collection", "size", "add", "remove", "contains", "isEmpty");
+		hints("java.util.List", "get", "set", "indexOf", "lastIndexOf");
+		hints("java.util.Map", "put", "containsKey", "containsValue", "keySet", "values");
+		hints("java.util.Iterator", "next", "hasNext");
+		hints("java.util.Optional", "isPresent", "orElse", "orElseGet");
+	}
+
+	private LambdaSignatureTable() {
+	}
+
+	private static void functional(String simpleName, ParamSource result, ParamSource... parameters) {
+		FUNCTIONAL_INTERFACES.put(simpleName, new Signature(result, parameters));
+	}
+
+	private static void methods(Kind kind, ParamSource[] parameters, String... methodNames) {
+		Map<String, ParamSource[]> methods = METHODS.computeIfAbsent(kind, k -> new HashMap<>());
+		for (String methodName : methodNames) {
+			methods.put(methodName, parameters);
+		}
+	}
+
+	private static void kinds(Kind kind, String... simpleNames) {
+		for (String simpleName : simpleNames) {
+			KINDS.put(simpleName, kind);
+		}
+	}
+
+	private static void hints(String type, String... methodNames) {
+		for (String methodName : methodNames) {
+			METHOD_NAME_HINTS.put(methodName, type);
+		}
+	}
+
+	/**
+	 * 获取函数式接口的签名
+	 *
+	 * @return 签名，不是已知的函数式接口时返回null
+	 */
+	static Signature functionalInterface(GenericType type) {
+		return FUNCTIONAL_INTERFACES.get(type.getSimpleName());
+	}
+
+	/**
+	 * 是否是函数式接口：已知的 JDK 函数式接口，或者名称以常见后缀结尾
+	 */
+	static boolean isFunctionalInterface(GenericType type) {
+		if (FUNCTIONAL_INTERFACES.containsKey(type.getSimpleName())) {
+			return true;
+		}
+		for (String suffix : FUNCTIONAL_SUFFIXES) {
+			if (type.getSimpleName().endsWith(suffix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 获取方法中 lambda 参数的类型来源
+	 *
+	 * @param owner 调用者类型
+	 * @param methodName 方法名
+	 * @return 按 lambda 参数顺序排列的类型来源，表中没有该方法时返回null
+	 */
+	static ParamSource[] method(GenericType owner, String methodName) {
+		Map<String, ParamSource[]> methods = METHODS.get(kindOf(owner));
+		ParamSource[] parameters = methods == null ? null : methods.get(methodName);
+		return parameters != null ? parameters : COMMON_METHODS.get(methodName);
+	}
+
+	/**
+	 * 获取类型种类，表中没有的类型按名称后缀判断，例如自定义的 XxxList 视为集合
+	 */
+	static Kind kindOf(GenericType type) {
+		if (type.isArray() || type.isWildcard()) {
+			return Kind.OTHER;
+		}
+		return KINDS.computeIfAbsent(type.getSimpleName(), LambdaSignatureTable::classify);
+	}
+
+	private static Kind classify(String simpleName) {
+		if (simpleName.endsWith("Map")) {
+			return Kind.MAP;
+		} else if (simpleName.endsWith("List") || simpleName.endsWith("Set") || simpleName.endsWith("Collection")
+				|| simpleName.endsWith("Queue") || simpleName.endsWith("Deque")) {
+			return Kind.COLLECTION;
+		} else if (simpleName.endsWith("Future")) {
+			return Kind.FUTURE;
+		}
+		return Kind.OTHER;
+	}
+
+	/**
+	 * 获取容器类型的元素类型：数组取元素类型，Map 取值类型，其他带泛型参数的类型取第一个泛型参数
+	 *
+	 * @return 元素类型，无法确定时返回null
+	 */
+	static GenericType elementType(GenericType type) {
+		if (type.isArray()) {
+			return type.getComponentType();
+		}
+		GenericType element = type.argument(kindOf(type) == Kind.MAP ? 1 : 0);
+		return element == null ? null : element.upperBound();
+	}
+}
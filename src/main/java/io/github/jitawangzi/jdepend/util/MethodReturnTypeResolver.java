@@ -34,8 +34,7 @@ public class MethodReturnTypeResolver {
 		if (refClassName.equals("java.util.stream.Collectors")) {
 			return handleCollectorsMethods(refMethodName);
 		}
-		String returnType = ReflectionUtils.getMethodReturnType(refClassName, refMethodName);
-		return Optional.of(returnType);
+		return Optional.ofNullable(ReflectionUtils.getMethodReturnType(refClassName, refMethodName));
 	}
 
 	/**
@@ -0,0 +1,118 @@
+package io.github.jitawangzi.jdepend.util;
+
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.resolution.declarations.ResolvedMethodLikeDeclaration;
+
+/**
+ * 方法签名工具类
+ * 调用图中的方法用 类名.方法名(参数类型擦除后的全限定名,...) 标识，例如 a.b.NetSession.send(java.lang.String,int)，
+ * 这样同名的重载方法是不同的节点。
+ * 无法解析参数类型时退化为只有 类名.方法名 的键，表示“该名称的某个重载”，匹配时视为所有重载。
+ */
+public class MethodSignatureUtil {
+
+	/** 缓存在方法声明节点上的参数签名，解析失败时缓存空字符串 */
+	private static final DataKey<String> PARAMETERS_KEY = new DataKey<String>() {
+	};
+
+	private MethodSignatureUtil() {
+	}
+
+	/**
+	 * 获取方法声明的签名键
+	 *
+	 * @param className 类名
+	 * @param method 方法声明
+	 * @return 类名.方法名(参数)，参数类型无法解析时返回 类名.方法名
+	 */
+	public static String of(String className, MethodDeclaration method) {
+		return className + "." + method.getNameAsString() + parametersOf(method);
+	}
+
+	/**
+	 * 获取方法声明的参数签名
+	 *
+	 * @param method 方法声明
+	 * @return (参数类型,...)，参数类型无法解析时返回空字符串
+	 */
+	public static String parametersOf(MethodDeclaration method) {
+		if (method.containsData(PARAMETERS_KEY)) {
+			return method.getData(PARAMETERS_KEY);
+		}
+		String parameters;
+		// 编译单元可能是其他线程解析的，符号解析器内部的缓存不是线程安全的，同一个解析器的解析串行进行
+		synchronized (resolverOf(method)) {
+			try {
+				parameters = parametersOf(method.resolve());
+			} catch (Exception e) {
+				parameters = "";
+			}
+		}
+		method.setData(PARAMETERS_KEY, parameters);
+		return parameters;
+	}
+
+	/**
+	 * 获取节点所在编译单元的符号解析器，没有时返回节点本身，用作解析时的锁
+	 */
+	private static Object resolverOf(Node node) {
+		return node.findCompilationUnit()
+				.filter(cu -> cu.containsData(Node.SYMBOL_RESOLVER_KEY))
+				.<Object>map(cu -> cu.getData(Node.SYMBOL_RESOLVER_KEY))
+				.orElse(node);
+	}
+
+	/**
+	 * 获取已解析方法的参数签名，参数类型取擦除后的类型
+	 *
+	 * @param method 已解析的方法或构造函数
+	 * @return (参数类型,...)，参数类型无法解析时返回空字符串
+	 */
+	public static String parametersOf(ResolvedMethodLikeDeclaration method) {
+		try {
+			StringBuilder sb = new StringBuilder("(");
+			for (int i = 0; i < method.getNumberOfParams(); i++) {
+				if (i > 0) {
+					sb.append(',');
+				}
+				sb.append(method.getParam(i).getType().erasure().describe());
+			}
+			return sb.append(')').toString();
+		} catch (Exception e) {
+			return "";
+		}
+	}
+
+	/**
+	 * 签名键是否只有方法名（没有参数信息）
+	 */
+	public static boolean isNameOnly(String key) {
+		return key.indexOf('(') < 0;
+	}
+
+	/**
+	 * 去掉参数部分，得到 类名.方法名
+	 */
+	public static String nameKey(String key) {
+		int paren = key.indexOf('(');
+		return paren < 0 ? key : key.substring(0, paren);
+	}
+
+	/**
+	 * 从签名键中获取类名
+	 */
+	public static String classNameOf(String key) {
+		String nameKey = nameKey(key);
+		return nameKey.substring(0, nameKey.lastIndexOf('.'));
+	}
+
+	/**
+	 * 从签名键中获取方法名（不含参数）
+	 */
+	public static String methodNameOf(String key) {
+		String nameKey = nameKey(key);
+		return nameKey.substring(nameKey.lastIndexOf('.') + 1);
+	}
+}
@@ -31,6 +31,11 @@ import com.github.javaparser.resolution.types.ResolvedType;
 
 @Deprecated
 public class ParseUtil {
+
+	/** 判断是否在流操作中时检查的方法名 */
+	private static final Set<String> STREAM_OPERATIONS = Set.of("filter", "map", "flatMap", "forEach", "collect", "reduce", "findFirst",
+			"findAny", "anyMatch", "allMatch", "noneMatch");
+
 	/** 
 	 *  确定方法调用的作用域,也就是方法所属的类的全限定名
 	 * @param cu
@@ -324,10 +329,7 @@ public class ParseUtil {
 		// 检查是否在流操作方法中
 		Optional<MethodCallExpr> methodCall = node.findAncestor(MethodCallExpr.class);
 		if (methodCall.isPresent()) {
-			String methodName = methodCall.get().getNameAsString();
-			Set<String> streamOps = new HashSet<>(Arrays.asList("filter", "map", "flatMap", "forEach", "collect", "reduce", "findFirst",
-					"findAny", "anyMatch", "allMatch", "noneMatch"));
-			return streamOps.contains(methodName);
+			return STREAM_OPERATIONS.contains(methodCall.get().getNameAsString());
 		}
 		return false;
 	}
@@ -374,57 +376,11 @@ public class ParseUtil {
 
 	/**
 	 * 从集合类型推断元素类型
+	 * 数组取元素类型，Map 取值类型，Stream 和其他带泛型参数的类型取第一个泛型参数
 	 */
 	public static String inferCollectionElementType(String collectionType) {
-
-		// 如果是Stream类型，尝试提取泛型参数
-		if (collectionType.equals("java.util.stream.Stream") || collectionType.contains("Stream<")) {
-			// 提取Stream的泛型参数
-			if (collectionType.contains("<") && collectionType.contains(">")) {
-				int start = collectionType.indexOf("<") + 1;
-				int end = collectionType.lastIndexOf(">");
-				if (start < end) {
-					return collectionType.substring(start, end).trim();
-				}
-			}
-			// 无法确定Stream的元素类型，返回Object
-			return "java.lang.Object";
-		}
-
-		// 如果类型包含泛型信息，尝试提取
-		if (collectionType.contains("<") && collectionType.contains(">")) {
-			int start = collectionType.indexOf("<") + 1;
-			int end = collectionType.lastIndexOf(">");
-			if (start < end) {
-				String genericType = collectionType.substring(start, end).trim();
-				// 处理多个泛型参数的情况 (如Map<K,V>)
-				if (genericType.contains(",")) {
-					// 对于Map的情况，通常我们需要第二个泛型参数
-					if (collectionType.startsWith("java.util.Map") || collectionType.endsWith("Map>")) {
-						String[] params = genericType.split(",");
-						if (params.length > 1) {
-							return params[1].trim();
-						}
-					} else {
-						// 对于其他情况，取第一个参数
-						return genericType.split(",")[0].trim();
-					}
-				}
-				return genericType;
-			}
-		}
-
-		// 对于已知集合类型的默认元素类型
-		if (collectionType.contains("List") || collectionType.contains("Set") || collectionType.contains("Collection")) {
-			return "java.lang.Object";
-		}
-
-		// 特定于依赖分析的情况
-		if (collectionType.contains("dependencies")) {
-			return "com.yourpackage.ClassDependency"; // 调整为实际包名
-		}
-
-		return "java.lang.Object";
+		GenericType elementType = LambdaSignatureTable.elementType(GenericType.parse(collectionType));
+		return elementType == null ? "java.lang.Object" : elementType.getText();
 	}
 
 	/**
@@ -0,0 +1,64 @@
+package io.github.jitawangzi.jdepend.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 字符串前缀匹配器
+ * 创建时把前缀排序并去掉被其他前缀覆盖的冗余项（例如已有 a.b 时去掉 a.b.c），
+ * 剩下的前缀互不为前缀，名称如果以某个前缀开头，那么这个前缀一定是有序数组中不大于名称的最大元素，
+ * 所以每次匹配只需要一次二分查找和一次 startsWith，而不是遍历所有前缀。
+ */
+public final class PrefixMatcher {
+
+	private static final PrefixMatcher EMPTY = new PrefixMatcher(new String[0]);
+
+	private final String[] prefixes;
+
+	private PrefixMatcher(String[] prefixes) {
+		this.prefixes = prefixes;
+	}
+
+	/**
+	 * 编译前缀集合，空字符串会被忽略
+	 *
+	 * @param prefixes 前缀集合，可以为null
+	 * @return 匹配器
+	 */
+	public static PrefixMatcher of(Collection<String> prefixes) {
+		if (prefixes == null || prefixes.isEmpty()) {
+			return EMPTY;
+		}
+		String[] sorted = prefixes.stream().filter(prefix -> !prefix.isEmpty()).sorted().toArray(String[]::new);
+		List<String> compact = new ArrayList<>(sorted.length);
+		for (String prefix : sorted) {
+			// 排序后被覆盖的前缀一定紧跟在覆盖它的前缀之后
+			if (compact.isEmpty() || !prefix.startsWith(compact.get(compact.size() - 1))) {
+				compact.add(prefix);
+			}
+		}
+		return new PrefixMatcher(compact.toArray(new String[0]));
+	}
+
+	/**
+	 * 名称是否以任意一个前缀开头
+	 *
+	 * @param name 名称
+	 * @return 是否匹配
+	 */
+	public boolean matches(String name) {
+		int index = Arrays.binarySearch(prefixes, name);
+		if (index >= 0) {
+			return true;
+		}
+		// 插入点的前一个元素就是不大于 name 的最大前缀
+		int floor = -index - 2;
+		return floor >= 0 && name.startsWith(prefixes[floor]);
+	}
+
+	public boolean isEmpty() {
+		return prefixes.length == 0;
+	}
+}
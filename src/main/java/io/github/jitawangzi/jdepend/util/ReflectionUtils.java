@@ -3,107 +3,158 @@ package io.github.jitawangzi.jdepend.util;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
-import java.util.LinkedHashSet;
-import java.util.Set;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * 通过反射获取 JDK 和第三方依赖中方法的返回类型，用于符号解析失败时的退化处理
+ * 类通过 JavaParserInit.getDependencyClassLoader() 加载（不执行静态初始化），每个类只加载一次，
+ * 方法按名称建好索引后缓存；找不到的类也会缓存，之后同一个类名直接返回null，不再重复加载和抛出异常。
+ */
 @Deprecated
 public class ReflectionUtils {
 
+	/** 类名 -> 方法元数据，找不到的类对应 MISSING */
+	private static final Map<String, ClassMetadata> CLASSES = new ConcurrentHashMap<>();
+	private static final ClassMetadata MISSING = new ClassMetadata(Collections.emptyMap());
+
 	/**
-     * 在类层次结构中查找方法（包含父类和接口）
-     */
-	public static Method findMethod(Class<?> clazz, String methodName) throws NoSuchMethodException {
-        
-        // 当前类查找
-        try {
-        	Method[] methods = clazz.getMethods(); 
-        	for (Method method : methods) {
-        			if (method.getName().equals(methodName)) {
-            			return method;
-            		}
-            	}
-			} catch (Exception ignored) {
-			}
-        
-        // 父类查找
-        Class<?> superClass = clazz.getSuperclass();
-        if (superClass != null && superClass != Object.class) {
-            try {
-				return findMethod(superClass, methodName);
-            } catch (NoSuchMethodException ignored) {}
-        }
-        
-        // 接口查找（含多层接口）
-        for (Class<?> iface : getAllInterfaces(clazz)) {
-            try {
-				return findMethod(iface, methodName);
-            } catch (NoSuchMethodException ignored) {}
-        }
-        
-		throw new NoSuchMethodException(
-				"Method " + methodName + " not found in class " + clazz.getName() + " or its superclasses/interfaces.");
-    }
+	 * 一个类的方法索引：方法名 -> 第一个同名的公共方法（包括继承的方法）
+	 */
+	private static class ClassMetadata {
+		private final Map<String, Method> methods;
+
+		ClassMetadata(Map<String, Method> methods) {
+			this.methods = methods;
+		}
+	}
 
 	/**
-	 * 获取类实现的所有接口（包括父接口）
+	 * 清空缓存，依赖的类加载器重新创建时调用
 	 */
-	private static Set<Class<?>> getAllInterfaces(Class<?> clazz) {
-		Set<Class<?>> interfaces = new LinkedHashSet<>();
-		Class<?> current = clazz;
-
-		while (current != null && current != Object.class) {
-			for (Class<?> iface : current.getInterfaces()) {
-				interfaces.add(iface);
-				interfaces.addAll(getAllInterfaces(iface)); // 递归获取父接口
-			}
-			current = current.getSuperclass();
+	static void clearCache() {
+		CLASSES.clear();
+	}
+
+	/**
+	 * 在类层次结构中查找方法（包含父类和接口）
+	 */
+	public static Method findMethod(Class<?> clazz, String methodName) throws NoSuchMethodException {
+		Method method = indexMethods(clazz).get(methodName);
+		if (method == null) {
+			throw new NoSuchMethodException(
+					"Method " + methodName + " not found in class " + clazz.getName() + " or its superclasses/interfaces.");
 		}
-		return interfaces;
+		return method;
 	}
 
 	/**
 	 * 获取方法返回类型,类全限定名
-	 * @throws ClassNotFoundException 
+	 *
+	 * @param fullClassName 类的全限定名，可以带泛型参数
+	 * @param methodName 方法名
+	 * @return 返回类型，找不到类或方法时返回null
 	 */
 	public static String getMethodReturnType(String fullClassName, String methodName) {
-		try {
-			// 如果类名带有泛型，则暂时去掉
-			if (fullClassName.contains("<")) {
-				fullClassName = fullClassName.substring(0, fullClassName.indexOf('<'));
+		Method method = lookupMethod(fullClassName, methodName);
+		return method == null ? null : method.getGenericReturnType().getTypeName();
+	}
+
+	/**
+	 * 获取方法返回类型，带泛型参数时构建成 List<String> 的形式
+	 *
+	 * @param fullClassName 类的全限定名，可以带泛型参数
+	 * @param methodName 方法名
+	 * @return 返回类型，找不到类或方法时返回null
+	 */
+	public static String getMethodReturnTypeWithGeneric(String fullClassName, String methodName) {
+		Method method = lookupMethod(fullClassName, methodName);
+		if (method == null) {
+			return null;
+		}
+		Type returnType = method.getGenericReturnType();
+
+		// 处理泛型类型
+		if (returnType instanceof ParameterizedType) {
+			ParameterizedType pt = (ParameterizedType) returnType;
+			Type[] typeArgs = pt.getActualTypeArguments();
+
+			// 构建带具体泛型的类型名（如 List<String>）
+			StringBuilder sb = new StringBuilder(pt.getRawType().getTypeName());
+			sb.append('<');
+			for (int i = 0; i < typeArgs.length; i++) {
+				if (i > 0) {
+					sb.append(',');
+				}
+				sb.append(typeArgs[i].getTypeName());
 			}
-			Class<?> clazz = Class.forName(fullClassName);
-			return findMethod(clazz, methodName).getGenericReturnType().getTypeName();
-		} catch (Exception e) {
-			throw new RuntimeException("getMethodReturnType fail , " + fullClassName + " " + methodName, e);
+			sb.append('>');
+			return sb.toString();
 		}
+		return returnType.getTypeName();
 	}
 
-	public static String getMethodReturnTypeWithGeneric(String fullClassName, String methodName) {
-	    try {
-	        Class<?> clazz = Class.forName(fullClassName.replaceAll("<.*>", ""));
-	        Method method = findMethod(clazz, methodName);
-	        Type returnType = method.getGenericReturnType();
-
-	        // 处理泛型类型
-	        if (returnType instanceof ParameterizedType) {
-	            ParameterizedType pt = (ParameterizedType) returnType;
-	            Type rawType = pt.getRawType();
-	            Type[] typeArgs = pt.getActualTypeArguments();
-
-	            // 构建带具体泛型的类型名（如 List<String>）
-	            StringBuilder sb = new StringBuilder(rawType.getTypeName());
-	            sb.append('<');
-	            for (int i = 0; i < typeArgs.length; i++) {
-	                if (i > 0) sb.append(',');
-	                sb.append(typeArgs[i].getTypeName()); // 获取泛型参数类型
-	            }
-	            sb.append('>');
-	            return sb.toString();
-	        }
-	        return returnType.getTypeName(); // 非泛型直接返回
-	    } catch (Exception e) {
-	        throw new RuntimeException("Failed to get method return type: " + fullClassName + "#" + methodName, e);
-	    }
+	private static Method lookupMethod(String fullClassName, String methodName) {
+		if (fullClassName == null) {
+			return null;
+		}
+		// 类名带有泛型时去掉泛型参数
+		String className = GenericType.parse(fullClassName).getRawName();
+		return CLASSES.computeIfAbsent(className, ReflectionUtils::loadMetadata).methods.get(methodName);
+	}
+
+	private static ClassMetadata loadMetadata(String className) {
+		Class<?> clazz = loadClass(className);
+		return clazz == null ? MISSING : new ClassMetadata(indexMethods(clazz));
+	}
+
+	/**
+	 * 加载类，找不到时把最后的 . 依次换成 $ 按嵌套类再试，例如 java.util.Map.Entry
+	 */
+	private static Class<?> loadClass(String className) {
+		ClassLoader loader = JavaParserInit.getDependencyClassLoader();
+		String binaryName = className;
+		while (true) {
+			try {
+				return Class.forName(binaryName, false, loader);
+			} catch (ClassNotFoundException | LinkageError e) {
+				int lastDot = binaryName.lastIndexOf('.');
+				if (lastDot < 0) {
+					return null;
+				}
+				binaryName = binaryName.substring(0, lastDot) + "$" + binaryName.substring(lastDot + 1);
+			}
+		}
+	}
+
+	/**
+	 * 按名称索引类的公共方法，同名方法保留第一个
+	 * getMethods() 已包含继承的公共方法；依赖缺失导致失败时，逐个从父类和接口收集
+	 */
+	private static Map<String, Method> indexMethods(Class<?> clazz) {
+		Map<String, Method> methods = new HashMap<>();
+		collectMethods(clazz, methods);
+		return methods;
+	}
+
+	private static void collectMethods(Class<?> clazz, Map<String, Method> methods) {
+		try {
+			for (Method method : clazz.getMethods()) {
+				methods.putIfAbsent(method.getName(), method);
+			}
+			return;
+		} catch (LinkageError e) {
+			// 方法签名引用了加载不到的类，继续从父类和接口中查找
+		}
+		Class<?> superClass = clazz.getSuperclass();
+		if (superClass != null && superClass != Object.class) {
+			collectMethods(superClass, methods);
+		}
+		for (Class<?> iface : clazz.getInterfaces()) {
+			collectMethods(iface, methods);
+		}
 	}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,213 @@
+package io.github.jitawangzi.jdepend.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.ast.type.TypeParameter;
+import com.github.javaparser.resolution.types.ResolvedType;
+
+import io.github.jitawangzi.jdepend.config.AnalysisContext;
+
+/**
+ * 按名称解析类型的全限定名，不使用符号解析
+ * 依次按 本文件声明的类型、类型参数、单类型导入、同包的类、通配符导入的包 查找简单类名，
+ * 包内有哪些类来自 FileLocator 的包索引。只有一个名称同时出现在多个通配符导入的包中（有歧义）时才使用符号解析。
+ * 只用于类级别的依赖收集：继承自父类的内部类等需要完整语义分析的名称会被忽略。
+ */
+public class SyntacticTypeResolver {
+	private static Logger log = LoggerFactory.getLogger(SyntacticTypeResolver.class);
+
+	/** 缓存在编译单元上的解析器，每个编译单元只构建一次名称表 */
+	private static final DataKey<SyntacticTypeResolver> RESOLVER_KEY = new DataKey<SyntacticTypeResolver>() {
+	};
+
+	private final String packageName;
+	// 简单类名 -> 单类型导入的全限定名
+	private final Map<String, String> singleTypeImports = new HashMap<>();
+	private final List<String> wildcardPackages = new ArrayList<>();
+	// 本文件声明的类型（含内部类）简单类名 -> 所在顶层类的全限定名
+	private final Map<String, String> declaredTypes = new HashMap<>();
+	// 本文件声明的类型（含内部类）简单类名 -> 类型本身的全限定名
+	private final Map<String, String> declaredTypeNames = new HashMap<>();
+	private final Set<String> typeParameters = new HashSet<>();
+
+	private SyntacticTypeResolver(CompilationUnit cu) {
+		this.packageName = CommonUtil.getPackageName(cu);
+		for (ImportDeclaration importDecl : cu.getImports()) {
+			if (importDecl.isStatic()) {
+				continue;
+			}
+			String importName = importDecl.getNameAsString();
+			if (importDecl.isAsterisk()) {
+				wildcardPackages.add(importName);
+			} else {
+				singleTypeImports.put(importName.substring(importName.lastIndexOf('.') + 1), importName);
+			}
+		}
+		for (TypeDeclaration<?> type : cu.findAll(TypeDeclaration.class)) {
+			TypeDeclaration<?> topLevel = type;
+			while (topLevel.getParentNode().filter(TypeDeclaration.class::isInstance).isPresent()) {
+				topLevel = (TypeDeclaration<?>) topLevel.getParentNode().get();
+			}
+			topLevel.getFullyQualifiedName().ifPresent(name -> declaredTypes.putIfAbsent(type.getNameAsString(), name));
+			type.getFullyQualifiedName().ifPresent(name -> declaredTypeNames.putIfAbsent(type.getNameAsString(), name));
+		}
+		cu.findAll(TypeParameter.class).forEach(typeParameter -> typeParameters.add(typeParameter.getNameAsString()));
+	}
+
+	/**
+	 * 获取节点所在编译单元的解析器
+	 *
+	 * @param node 编译单元中的任意节点
+	 * @return 解析器，节点不属于任何编译单元时返回null
+	 */
+	public static SyntacticTypeResolver of(Node node) {
+		CompilationUnit cu = node.findCompilationUnit().orElse(null);
+		if (cu == null) {
+			return null;
+		}
+		if (!cu.containsData(RESOLVER_KEY)) {
+			cu.setData(RESOLVER_KEY, new SyntacticTypeResolver(cu));
+		}
+		return cu.getData(RESOLVER_KEY);
+	}
+
+	/**
+	 * 收集类型（包括泛型参数和数组元素类型）中引用到的项目类
+	 *
+	 * @param context 分析配置
+	 * @param type 类型
+	 * @param dependencies 依赖集合
+	 */
+	public void collectProjectTypes(AnalysisContext context, Type type, Set<String> dependencies) {
+		for (ClassOrInterfaceType classType : type.findAll(ClassOrInterfaceType.class)) {
+			String className = resolve(context, classType);
+			if (className != null && context.isProjectClass(className)) {
+				dependencies.add(className);
+			}
+		}
+	}
+
+	/**
+	 * 解析类型的全限定名，内部类返回所在顶层类的全限定名
+	 *
+	 * @param context 分析配置，用于判断哪些包需要查包索引
+	 * @param type 类型
+	 * @return 全限定名，无法确定时返回null
+	 */
+	public String resolve(AnalysisContext context, ClassOrInterfaceType type) {
+		ClassOrInterfaceType outermost = type;
+		while (outermost.getScope().isPresent()) {
+			outermost = outermost.getScope().get();
+		}
+		String simpleName = outermost.getNameAsString();
+
+		String declared = declaredTypes.get(simpleName);
+		if (declared != null) {
+			return declared;
+		}
+		if (outermost == type && typeParameters.contains(simpleName)) {
+			return null;
+		}
+		String imported = singleTypeImports.get(simpleName);
+		if (imported != null) {
+			return imported;
+		}
+		if (context.isProjectPackage(packageName) && FileLocator.getInstance().getClassNamesInPackage(packageName).contains(simpleName)) {
+			return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+		}
+
+		List<String> candidates = new ArrayList<>();
+		for (String wildcardPackage : wildcardPackages) {
+			if (context.isProjectPackage(wildcardPackage) && FileLocator.getInstance().getClassNamesInPackage(wildcardPackage).contains(simpleName)) {
+				candidates.add(wildcardPackage + "." + simpleName);
+			}
+		}
+		if (candidates.size() == 1) {
+			return candidates.get(0);
+		}
+		if (candidates.size() > 1) {
+			return resolveWithSolver(type);
+		}
+
+		// 直接写出全限定名的类型，例如 a.b.C 或 a.b.C.Inner
+		return outermost == type ? null : resolveQualifiedName(context, type.getNameWithScope());
+	}
+
+	/**
+	 * 解析类型本身的全限定名，与 resolve 不同，内部类返回内部类的全限定名，例如 a.b.Order.Line
+	 *
+	 * @param context 分析配置，用于判断哪些包需要查包索引
+	 * @param type 类型
+	 * @return 全限定名，无法确定时返回null
+	 */
+	public String resolveTypeName(AnalysisContext context, ClassOrInterfaceType type) {
+		ClassOrInterfaceType outermost = type;
+		while (outermost.getScope().isPresent()) {
+			outermost = outermost.getScope().get();
+		}
+		String nameWithScope = type.getNameWithScope();
+		// 最外层名称之后的部分，例如 Order.Line 中的 .Line
+		String nested = nameWithScope.substring(outermost.getNameAsString().length());
+
+		String declared = declaredTypeNames.get(outermost.getNameAsString());
+		if (declared != null) {
+			return declared + nested;
+		}
+		String resolved = resolve(context, type);
+		if (resolved == null) {
+			return null;
+		}
+		if (nameWithScope.equals(resolved) || nameWithScope.startsWith(resolved + ".")) {
+			// 直接写出了全限定名
+			return nameWithScope;
+		}
+		if (resolved.endsWith("." + nameWithScope)) {
+			// 符号解析得到的已经是类型本身
+			return resolved;
+		}
+		return resolved + nested;
+	}
+
+	/**
+	 * 在包索引中查找全限定名中的顶层类
+	 */
+	private static String resolveQualifiedName(AnalysisContext context, String qualifiedName) {
+		String[] segments = qualifiedName.split("\\.");
+		StringBuilder packageBuilder = new StringBuilder(segments[0]);
+		for (int i = 1; i < segments.length; i++) {
+			String candidatePackage = packageBuilder.toString();
+			if (context.isProjectPackage(candidatePackage) && FileLocator.getInstance().getClassNamesInPackage(candidatePackage).contains(segments[i])) {
+				return candidatePackage + "." + segments[i];
+			}
+			packageBuilder.append('.').append(segments[i]);
+		}
+		return null;
+	}
+
+	private static String resolveWithSolver(ClassOrInterfaceType type) {
+		try {
+			ResolvedType resolvedType = type.resolve();
+			if (resolvedType.isReferenceType()) {
+				return resolvedType.asReferenceType().getQualifiedName();
+			}
+		} catch (Exception e) {
+			log.debug("有歧义的类型 {} 符号解析失败: {}", type, e.getMessage());
+		}
+		return null;
+	}
+}
@@ -0,0 +1,102 @@
+package io.github.jitawangzi.jdepend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Properties;
+
+import org.aeonbits.owner.Config;
+import org.aeonbits.owner.ConfigFactory;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 配置快照测试：每个配置项的取值和 Owner 一致，读取失败的配置项在调用时抛出同样的异常
+ */
+class ConfigSnapshotTest {
+
+	@Test
+	void appConfigMatchesOwner() throws Exception {
+		Properties properties = new Properties();
+		properties.setProperty("project.root", "/tmp/project");
+		properties.setProperty("max.depth", "3");
+		properties.setProperty("directory.include.files", "a.java,b.java");
+		AppConfig source = ConfigFactory.create(AppConfig.class, properties);
+
+		AppConfig snapshot = new AppConfigSnapshot(source);
+
+		assertSameValues(AppConfig.class, source, snapshot);
+		assertEquals("/tmp/project", snapshot.getProjectRootPath());
+		assertEquals(3, snapshot.getMaxDepth());
+		assertTrue(snapshot.toString().startsWith("AppConfig{"));
+		assertTrue(snapshot.toString().contains("max.depth=3"));
+	}
+
+	@Test
+	void importConfigMatchesOwner() throws Exception {
+		ImportConfig source = ConfigFactory.create(ImportConfig.class);
+
+		assertSameValues(ImportConfig.class, source, new ImportConfigSnapshot(source));
+	}
+
+	@Test
+	void collectionsAreUnmodifiable() {
+		Properties properties = new Properties();
+		properties.setProperty("excluded.packages", "a.b,c.d");
+		properties.setProperty("directory.include.files", "a.java");
+		AppConfig snapshot = new AppConfigSnapshot(ConfigFactory.create(AppConfig.class, properties));
+
+		assertThrows(UnsupportedOperationException.class, () -> snapshot.getExcludedPackages().add("e.f"));
+		assertThrows(UnsupportedOperationException.class, () -> snapshot.getIncludeFiles().add("b.java"));
+	}
+
+	@Test
+	void invalidValuesFailWhenCalled() {
+		Properties properties = new Properties();
+		properties.setProperty("max.depth", "deep");
+		properties.setProperty("omit.bean.methods", "maybe");
+		AppConfig source = ConfigFactory.create(AppConfig.class, properties);
+
+		// 创建快照时不抛出，其他配置项照常可用
+		AppConfig snapshot = new AppConfigSnapshot(source);
+		assertEquals(source.getOutputFile(), snapshot.getOutputFile());
+
+		RuntimeException expected = assertThrows(RuntimeException.class, source::getMaxDepth);
+		RuntimeException actual = assertThrows(RuntimeException.class, snapshot::getMaxDepth);
+		assertEquals(expected.getClass(), actual.getClass());
+		assertEquals(expected.getMessage(), actual.getMessage());
+		assertThrows(expected.getClass(), snapshot::getMaxDepth);
+
+		RuntimeException booleanFailure = assertThrows(RuntimeException.class, source::isOmitBeanMethods);
+		assertEquals(booleanFailure.getClass(), assertThrows(RuntimeException.class, snapshot::isOmitBeanMethods).getClass());
+		assertFalse(snapshot.toString().contains("max.depth="));
+	}
+
+	@Test
+	void keysCoverEveryGetter() {
+		assertEquals(AppConfig.class.getDeclaredMethods().length + ImportConfig.class.getDeclaredMethods().length,
+				AppConfigManager.getKeys().size());
+		assertTrue(AppConfigManager.getKeys().contains("method.cost.report.size"));
+	}
+
+	/**
+	 * 逐个调用配置接口的 getter，比较快照和 Owner 配置的取值
+	 */
+	private static <T extends Config> void assertSameValues(Class<T> type, T source, T snapshot) throws Exception {
+		for (Method method : type.getDeclaredMethods()) {
+			if (method.getParameterCount() > 0 || method.isSynthetic()) {
+				continue;
+			}
+			Object expected;
+			try {
+				expected = method.invoke(source);
+			} catch (InvocationTargetException e) {
+				continue;
+			}
+			assertEquals(expected, method.invoke(snapshot), ConfigSnapshot.keyOf(method));
+		}
+	}
+}
@@ -0,0 +1,108 @@
+package io.github.jitawangzi.jdepend.core.graph;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.jitawangzi.jdepend.core.model.ClassDependency;
+
+/**
+ * 图的二进制编码测试：编码后解码得到相同的节点、深度和边，截断或损坏的文件抛出 IOException
+ */
+class BinaryGraphCodecTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void roundTrip() throws IOException {
+		CallGraph graph = sampleGraph();
+
+		CallGraph decoded = BinaryGraphCodec.decode(BinaryGraphCodec.encode(graph));
+
+		assertSameGraph(graph, decoded);
+		assertEquals(3, decoded.getEdgeCount());
+		assertEquals(2, decoded.getDepth(decoded.indexOf("a.b.Order")));
+	}
+
+	@Test
+	void roundTripThroughFile() throws IOException {
+		CallGraph graph = CallGraph.of(Map.of("a.Main.main()", List.of("a.Service.run(java.lang.String)", "a.Service.run()"),
+				"a.Service.run(java.lang.String)", List.of("a.Service.run()")));
+		Path file = tempDir.resolve("methods.bin");
+
+		BinaryGraphCodec.write(graph, file);
+
+		CallGraph decoded = BinaryGraphCodec.read(file);
+		assertSameGraph(graph, decoded);
+		assertEquals(CallGraph.UNKNOWN_DEPTH, decoded.getDepth(decoded.indexOf("a.Service.run()")));
+	}
+
+	@Test
+	void emptyGraph() throws IOException {
+		CallGraph decoded = BinaryGraphCodec.decode(BinaryGraphCodec.encode(CallGraph.of(Map.of())));
+
+		assertEquals(0, decoded.getNodeCount());
+		assertEquals(0, decoded.getEdgeCount());
+	}
+
+	@Test
+	void truncatedFileFails() throws IOException {
+		byte[] data = BinaryGraphCodec.encode(sampleGraph());
+		// 每一个截断位置都应该报错，而不是返回残缺的图或抛出其他异常
+		for (int length = 0; length < data.length; length++) {
+			byte[] truncated = Arrays.copyOf(data, length);
+			assertThrows(IOException.class, () -> BinaryGraphCodec.decode(truncated), "length " + length);
+		}
+
+		Path file = tempDir.resolve("truncated.bin");
+		Files.write(file, Arrays.copyOf(data, data.length / 2));
+		assertThrows(IOException.class, () -> BinaryGraphCodec.read(file));
+	}
+
+	@Test
+	void wrongMagicFails() {
+		byte[] data = BinaryGraphCodec.encode(sampleGraph());
+		data[0] = 'X';
+
+		assertThrows(IOException.class, () -> BinaryGraphCodec.decode(data));
+	}
+
+	private static CallGraph sampleGraph() {
+		List<ClassDependency> classes = List.of(new ClassDependency("a.b.Main", 0), new ClassDependency("a.b.Order", 2),
+				new ClassDependency("a.b.util.Prices", 3), new ClassDependency("a.b.util.Priced", 3));
+		Map<String, Set<String>> methodDependencies = Map.of("a.b.Main.main(java.lang.String[])", Set.of("a.b.Order", "x.y.External"),
+				"a.b.Order.total()", Set.of("a.b.util.Prices"));
+		Map<String, Set<String>> supertypes = Map.of("a.b.Order", Set.of("a.b.util.Priced"));
+		return CallGraph.ofClasses(classes, methodDependencies, className -> supertypes.getOrDefault(className, Set.of()));
+	}
+
+	private static void assertSameGraph(CallGraph expected, CallGraph actual) {
+		assertEquals(expected.getNodeCount(), actual.getNodeCount());
+		assertEquals(expected.getEdgeCount(), actual.getEdgeCount());
+		for (int node = 0; node < expected.getNodeCount(); node++) {
+			assertEquals(expected.getNode(node), actual.getNode(node));
+			assertEquals(expected.getDepth(node), actual.getDepth(node));
+			assertArrayEquals(successors(expected, node), successors(actual, node), expected.getNode(node));
+		}
+	}
+
+	private static int[] successors(CallGraph graph, int node) {
+		int[] result = new int[graph.successorEnd(node) - graph.successorStart(node)];
+		for (int edge = graph.successorStart(node); edge < graph.successorEnd(node); edge++) {
+			result[edge - graph.successorStart(node)] = graph.target(edge);
+		}
+		return result;
+	}
+}
@@ -0,0 +1,45 @@
+package io.github.jitawangzi.jdepend.core.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.jitawangzi.jdepend.core.model.ClassDependency;
+
+/**
+ * 类依赖图构建测试
+ */
+class CallGraphTest {
+
+	@Test
+	void nestedClassesMapToTheirFile() {
+		List<ClassDependency> classes = List.of(new ClassDependency("a.b.Main", 0), new ClassDependency("a.b.Order", 1),
+				new ClassDependency("a.b.util.Prices", 2), new ClassDependency("a.b.util.Priced", 2));
+		// 内部类的方法、引用的内部类和内部类父类型都换成所在的类文件
+		Map<String, Set<String>> methodDependencies = Map.of("a.b.Main.main(java.lang.String[])", Set.of("a.b.Order.Line"),
+				"a.b.Order.Line.total()", Set.of("a.b.util.Prices", "a.b.Order.Status", "x.y.External"));
+		Map<String, Set<String>> supertypes = Map.of("a.b.Order", Set.of("a.b.util.Priced.Base"));
+
+		CallGraph graph = CallGraph.ofClasses(classes, methodDependencies, className -> supertypes.getOrDefault(className, Set.of()));
+
+		assertEquals(4, graph.getNodeCount());
+		assertEquals(List.of("a.b.Order"), successors(graph, "a.b.Main"));
+		assertEquals(List.of("a.b.util.Priced", "a.b.util.Prices"), successors(graph, "a.b.Order"));
+		assertEquals(List.of(), successors(graph, "a.b.util.Prices"));
+		assertEquals(1, graph.getDepth(graph.indexOf("a.b.Order")));
+	}
+
+	private static List<String> successors(CallGraph graph, String node) {
+		int index = graph.indexOf(node);
+		List<String> result = new ArrayList<>();
+		for (int edge = graph.successorStart(index); edge < graph.successorEnd(index); edge++) {
+			result.add(graph.getNode(graph.target(edge)));
+		}
+		return result;
+	}
+}
@@ -0,0 +1,97 @@
+package io.github.jitawangzi.jdepend.util;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 目录模式过滤规则测试：目录的包含/排除前缀、深度限制，文件的扩展名、精确名称和通配符规则
+ */
+class DirectoryFilterTest {
+
+	private final DirectoryFilter filter = new DirectoryFilter(-1, List.of("java", "xml", "properties", "md"),
+			List.of("src/main/java", "src/main/resources"), List.of("target", "build", "src/main/java/generated"), List.of(),
+			List.of("*Test.java", "*.min.*", "package-info.java", "module-info.java"));
+
+	@Test
+	void includeAndExcludeFolders() {
+		assertTrue(filter.acceptDirectory("", 0));
+		// 通往包含目录的父路径需要遍历
+		assertTrue(filter.acceptDirectory("src", 1));
+		assertTrue(filter.acceptDirectory("src/main", 2));
+		assertTrue(filter.acceptDirectory("src/main/java", 3));
+		assertTrue(filter.acceptDirectory("src/main/java/cn/game/net", 6));
+		assertTrue(filter.acceptDirectory("src/main/resources/config", 4));
+
+		assertFalse(filter.acceptDirectory("src/main/java/generated/proto", 5));
+		assertFalse(filter.acceptDirectory("target/classes", 2));
+		assertFalse(filter.acceptDirectory("docs", 1));
+		assertFalse(filter.acceptDirectory("src/test", 2));
+		// 按路径段匹配，不是字符串前缀
+		assertFalse(filter.acceptDirectory("src/main/javadoc", 3));
+	}
+
+	@Test
+	void folderRulesAreNormalized() {
+		DirectoryFilter windowsFilter = new DirectoryFilter(-1, List.of(), List.of(), List.of("src\\generated", "/target/"), List.of(),
+				List.of());
+
+		assertFalse(windowsFilter.acceptDirectory("src/generated", 2));
+		assertFalse(windowsFilter.acceptDirectory("target", 1));
+		assertTrue(windowsFilter.acceptDirectory("src/main", 2));
+	}
+
+	@Test
+	void maxDepth() {
+		DirectoryFilter shallow = new DirectoryFilter(2, List.of(), List.of(), List.of(), List.of(), List.of());
+
+		assertTrue(shallow.acceptDirectory("a/b", 2));
+		assertFalse(shallow.acceptDirectory("a/b/c", 3));
+	}
+
+	@Test
+	void filesInIncludedFolders() {
+		assertTrue(filter.acceptFile("GameServer.java", "src/main/java/cn/game"));
+		assertTrue(filter.acceptFile("README.md", "src/main/resources"));
+		assertTrue(filter.acceptFile("application.properties", "src/main/resources/config"));
+
+		// 不在包含目录中
+		assertFalse(filter.acceptFile("pom.xml", ""));
+		// 排除的文件名和通配符
+		assertFalse(filter.acceptFile("GameServerTest.java", "src/main/java/cn/game"));
+		assertFalse(filter.acceptFile("package-info.java", "src/main/java/cn/game"));
+		assertFalse(filter.acceptFile("app.min.xml", "src/main/resources"));
+		// 扩展名不在允许列表中
+		assertFalse(filter.acceptFile("logo.png", "src/main/resources"));
+		assertFalse(filter.acceptFile("Makefile", "src/main/resources"));
+	}
+
+	@Test
+	void extensions() {
+		assertTrue(filter.acceptFile("Legacy.JAVA", "src/main/java"));
+
+		// 只有小写形式的配置项会被匹配
+		DirectoryFilter upperCase = new DirectoryFilter(-1, List.of("XML"), List.of(), List.of(), List.of(), List.of());
+		assertFalse(upperCase.acceptFile("pom.xml", ""));
+
+		DirectoryFilter anyExtension = new DirectoryFilter(-1, List.of(), List.of(), List.of(), List.of(), List.of());
+		assertTrue(anyExtension.acceptFile("Makefile", ""));
+		assertTrue(anyExtension.acceptFile("logo.png", "docs"));
+	}
+
+	@Test
+	void includeFiles() {
+		DirectoryFilter include = new DirectoryFilter(-1, List.of(), List.of("src/main/java"), List.of("target"), List.of("pom.xml", "*.properties"),
+				List.of("secret.properties"));
+
+		// 指定了包含文件时遍历所有目录
+		assertTrue(include.acceptDirectory("target", 1));
+		assertTrue(include.acceptFile("pom.xml", ""));
+		assertTrue(include.acceptFile("application.properties", "config"));
+		assertFalse(include.acceptFile("secret.properties", "config"));
+		assertFalse(include.acceptFile("Main.java", "src/main/java"));
+	}
+}
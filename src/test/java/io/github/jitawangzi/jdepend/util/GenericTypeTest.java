@@ -0,0 +1,94 @@
+package io.github.jitawangzi.jdepend.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * GenericType 解析测试
+ */
+class GenericTypeTest {
+
+	@Test
+	void parsesNestedGenerics() {
+		GenericType type = GenericType.parse("java.util.Map<String, java.util.List<java.util.Map<Integer, Foo>>>");
+
+		assertEquals("java.util.Map", type.getRawName());
+		assertEquals("Map", type.getSimpleName());
+		assertEquals(2, type.getArguments().size());
+		assertEquals("String", type.argument(0).getText());
+
+		GenericType list = type.argument(1);
+		assertEquals("java.util.List", list.getRawName());
+		GenericType inner = list.argument(0);
+		assertEquals("java.util.Map", inner.getRawName());
+		assertEquals("Integer", inner.argument(0).getText());
+		assertEquals("Foo", inner.argument(1).getText());
+		assertNull(inner.argument(2));
+	}
+
+	@Test
+	void parsesWildcards() {
+		GenericType type = GenericType.parse("java.util.List<? extends java.lang.Number>");
+		GenericType argument = type.argument(0);
+		assertTrue(argument.isWildcard());
+		assertEquals("java.lang.Number", argument.upperBound().getText());
+
+		GenericType lower = GenericType.parse("java.util.function.Consumer<? super Foo>").argument(0);
+		assertTrue(lower.isWildcard());
+		assertEquals("Foo", lower.upperBound().getText());
+
+		GenericType unbounded = GenericType.parse("java.util.List<?>").argument(0);
+		assertTrue(unbounded.isWildcard());
+		assertSame(GenericType.OBJECT, unbounded.upperBound());
+
+		GenericType plain = GenericType.parse("Foo");
+		assertFalse(plain.isWildcard());
+		assertSame(plain, plain.upperBound());
+	}
+
+	@Test
+	void parsesArraysAndVarargs() {
+		GenericType array = GenericType.parse("java.util.List<String>[]");
+		assertTrue(array.isArray());
+		assertEquals("java.util.List", array.getComponentType().getRawName());
+
+		GenericType varargs = GenericType.parse("Foo...");
+		assertTrue(varargs.isArray());
+		assertEquals("Foo", varargs.getComponentType().getText());
+	}
+
+	@Test
+	void sameTextReturnsSameInstance() {
+		GenericType first = GenericType.parse("java.util.Map<String, Foo>");
+		assertSame(first, GenericType.parse("java.util.Map<String, Foo>"));
+		assertSame(first, GenericType.parse("  java.util.Map<String, Foo> "));
+		// 泛型参数也按原文缓存
+		assertSame(GenericType.parse("Foo"), first.argument(1));
+	}
+
+	@Test
+	void clearCacheKeepsObject() {
+		GenericType before = GenericType.parse("java.util.Set<Foo>");
+		GenericType.clearCache();
+
+		assertSame(GenericType.OBJECT, GenericType.parse("java.lang.Object"));
+		GenericType after = GenericType.parse("java.util.Set<Foo>");
+		assertEquals(before.getText(), after.getText());
+		assertFalse(before == after);
+	}
+
+	@Test
+	void blankOrUnbalancedText() {
+		assertSame(GenericType.OBJECT, GenericType.parse(null));
+		assertSame(GenericType.OBJECT, GenericType.parse("  "));
+
+		GenericType unbalanced = GenericType.parse("java.util.List<Foo");
+		assertEquals("java.util.List", unbalanced.getRawName());
+		assertTrue(unbalanced.getArguments().isEmpty());
+	}
+}
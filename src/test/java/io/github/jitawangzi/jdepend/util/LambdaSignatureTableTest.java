@@ -0,0 +1,77 @@
+package io.github.jitawangzi.jdepend.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * lambda 参数类型签名表测试，通过 InferLambdaParameterTypeResolver 的查表方法验证
+ */
+class LambdaSignatureTableTest {
+
+	private static final String ENTRY = "java.util.Map.Entry<String, java.util.List<Foo>>";
+
+	@Test
+	void streamOfMapEntries() {
+		String stream = "java.util.stream.Stream<" + ENTRY + ">";
+
+		assertEquals(ENTRY, InferLambdaParameterTypeResolver.inferFunctionalInterfaceParameterType(stream, "filter", 0));
+		assertEquals(ENTRY, InferLambdaParameterTypeResolver.inferFunctionalInterfaceParameterType(stream, "sorted", 1));
+		assertEquals("java.lang.Object", InferLambdaParameterTypeResolver.inferFunctionalInterfaceParameterType(stream, "filter", 1));
+	}
+
+	@Test
+	void elementTypeOfEntrySet() {
+		GenericType entrySet = GenericType.parse("java.util.Set<" + ENTRY + ">");
+		GenericType entry = LambdaSignatureTable.elementType(entrySet);
+
+		assertEquals(ENTRY, entry.getText());
+		assertEquals("java.util.Map.Entry", entry.getRawName());
+		assertEquals("java.util.List<Foo>", entry.argument(1).getText());
+		assertEquals(ENTRY, InferLambdaParameterTypeResolver.inferCollectionElementType("java.util.Set<" + ENTRY + ">"));
+	}
+
+	@Test
+	void mapMethodsUseKeyAndValueTypes() {
+		String map = "java.util.HashMap<String, java.util.List<java.util.Map<Integer, Foo>>>";
+
+		assertEquals("String", InferLambdaParameterTypeResolver.inferFunctionalInterfaceParameterType(map, "forEach", 0));
+		assertEquals("java.util.List<java.util.Map<Integer, Foo>>",
+				InferLambdaParameterTypeResolver.inferFunctionalInterfaceParameterType(map, "forEach", 1));
+		assertEquals("java.util.List<java.util.Map<Integer, Foo>>",
+				InferLambdaParameterTypeResolver.inferFunctionalInterfaceParameterType(map, "merge", 0));
+		assertEquals("String", InferLambdaParameterTypeResolver.inferFunctionalInterfaceParameterType(map, "computeIfAbsent", 0));
+		// Map 的元素类型是值类型
+		assertEquals("java.util.List<java.util.Map<Integer, Foo>>", LambdaSignatureTable.elementType(GenericType.parse(map)).getText());
+	}
+
+	@Test
+	void wildcardArgumentsResolveToBounds() {
+		assertEquals("java.lang.Number",
+				InferLambdaParameterTypeResolver.inferFunctionalInterfaceParameterType("java.util.List<? extends java.lang.Number>", "forEach", 0));
+		assertEquals("Foo", InferLambdaParameterTypeResolver.inferFunctionalInterfaceParameterType("java.util.function.Consumer<? super Foo>", 0));
+		assertEquals("java.lang.Object", InferLambdaParameterTypeResolver.inferFunctionalInterfaceParameterType("java.util.Optional<?>", "map", 0));
+		assertEquals("java.lang.Number",
+				LambdaSignatureTable.elementType(GenericType.parse("java.util.Collection<? extends java.lang.Number>")).getText());
+	}
+
+	@Test
+	void functionalInterfaces() {
+		String function = "java.util.function.BiFunction<" + ENTRY + ", Integer, String>";
+
+		assertEquals(ENTRY, InferLambdaParameterTypeResolver.inferFunctionalInterfaceParameterType(function, 0));
+		assertEquals("Integer", InferLambdaParameterTypeResolver.inferFunctionalInterfaceParameterType(function, 1));
+		assertEquals("java.lang.Object", InferLambdaParameterTypeResolver.inferFunctionalInterfaceParameterType(function, 2));
+		assertEquals("int", InferLambdaParameterTypeResolver.inferFunctionalInterfaceParameterType("java.util.function.IntPredicate", 0));
+		assertNull(LambdaSignatureTable.functionalInterface(GenericType.parse("Foo")));
+	}
+
+	@Test
+	void customTypesClassifiedBySuffix() {
+		assertEquals(LambdaSignatureTable.Kind.COLLECTION, LambdaSignatureTable.kindOf(GenericType.parse("com.acme.OrderList<Foo>")));
+		assertEquals(LambdaSignatureTable.Kind.MAP, LambdaSignatureTable.kindOf(GenericType.parse("com.acme.PriceMap<String, Foo>")));
+		assertEquals(LambdaSignatureTable.Kind.OTHER, LambdaSignatureTable.kindOf(GenericType.parse("Foo[]")));
+		assertEquals("Foo", InferLambdaParameterTypeResolver.inferFunctionalInterfaceParameterType("com.acme.OrderList<Foo>", "forEach", 0));
+	}
+}
@@ -0,0 +1,129 @@
+package io.github.jitawangzi.jdepend.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.EnumDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+
+import io.github.jitawangzi.jdepend.config.AppConfigManager;
+
+/**
+ * 内部类定位到外部类文件、编译单元按文件主类缓存的测试
+ * 测试项目在 src/test/resources/nested：p.model.Order 中有内部类 Line 和枚举 Status，Line 调用 p.util.Prices
+ */
+class NestedClassLocationTest {
+
+	private static Path sourceDir;
+
+	@BeforeAll
+	static void configure() throws Exception {
+		Path projectRoot = Paths.get(NestedClassLocationTest.class.getResource("/nested").toURI());
+		sourceDir = projectRoot.resolve("src/main/java");
+		Properties properties = new Properties();
+		properties.setProperty("project.root", projectRoot.toString());
+		AppConfigManager.reload(properties);
+		// FileLocator 是单例，其他测试先创建时项目根目录不同，直接加入测试项目的源码目录
+		FileLocator.getInstance().addSourceDirectories(List.of(sourceDir.toString()));
+	}
+
+	@AfterAll
+	static void resetConfig() {
+		AppConfigManager.reset();
+	}
+
+	@Test
+	void nestedClassesLocateEnclosingFile() throws Exception {
+		Path orderFile = sourceDir.resolve("p/model/Order.java");
+		FileLocator locator = FileLocator.getInstance();
+
+		assertTrue(Files.isSameFile(orderFile, locator.locate("p.model.Order")));
+		assertTrue(Files.isSameFile(orderFile, locator.locate("p.model.Order.Line")));
+		assertTrue(Files.isSameFile(orderFile, locator.locate("p.model.Order.Status")));
+		assertTrue(Files.isSameFile(sourceDir.resolve("p/util/Prices.java"), locator.locate("p.util.Prices")));
+		assertNull(locator.locate("p.model.Invoice"));
+	}
+
+	@Test
+	void packagesAreNotTakenForEnclosingClasses(@TempDir Path otherSources) throws Exception {
+		// 文件名恰好与包名相同，例如 q/util.java
+		Path file = otherSources.resolve("q/util.java");
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, "package q;\nclass util {\n}\n");
+		FileLocator locator = FileLocator.getInstance();
+		locator.addSourceDirectories(List.of(otherSources.toString()));
+
+		assertNull(locator.locate("q.util.Helper"));
+		assertNull(locator.getTopLevelClassName("q.util.Helper"));
+		assertTrue(Files.isSameFile(file, locator.locate("q.util")));
+	}
+
+	@Test
+	void topLevelClassNames() {
+		FileLocator locator = FileLocator.getInstance();
+
+		assertEquals("p.model.Order", locator.getTopLevelClassName("p.model.Order.Line"));
+		assertEquals("p.model.Order", locator.getTopLevelClassName("p.model.Order.Status"));
+		assertEquals("p.model.Order", locator.getTopLevelClassName("p.model.Order"));
+		assertEquals("p.util.Prices", locator.getTopLevelClassName("p.util.Prices"));
+		assertNull(locator.getTopLevelClassName("p.model.Invoice"));
+	}
+
+	@Test
+	void compilationUnitIsSharedWithNestedClasses() throws Exception {
+		CompilationUnit order = CommonUtil.parseCompilationUnit("p.model.Order");
+		assertNotNull(order);
+		// 内部类和外部类使用同一个编译单元，文件只解析一次
+		assertSame(order, CommonUtil.parseCompilationUnit("p.model.Order.Line"));
+		assertSame(order, CommonUtil.parseCompilationUnit("p.model.Order.Status"));
+		assertTrue(order.findFirst(ClassOrInterfaceDeclaration.class, type -> type.getNameAsString().equals("Line")).isPresent());
+		assertTrue(order.findFirst(EnumDeclaration.class, type -> type.getNameAsString().equals("Status")).isPresent());
+		assertEquals("Order", order.getPrimaryTypeName().orElse(null));
+
+		CompilationUnit prices = CommonUtil.parseCompilationUnit("p.util.Prices");
+		assertNotSame(order, prices);
+		assertSame(prices, CommonUtil.parseCompilationUnit("p.util.Prices"));
+		assertNull(CommonUtil.parseCompilationUnit("p.model.Invoice"));
+	}
+
+	@Test
+	void sourceIsKeptOnCompilationUnit() throws Exception {
+		CompilationUnit order = CommonUtil.parseCompilationUnit("p.model.Order.Line");
+
+		assertEquals(Files.readString(sourceDir.resolve("p/model/Order.java")), CommonUtil.getSource(order));
+	}
+
+	@Test
+	void nonUtf8SourceIsStillParsed(@TempDir Path otherSources) throws Exception {
+		Path legacy = otherSources.resolve("gbk/Legacy.java");
+		Files.createDirectories(legacy.getParent());
+		// GBK 编码的中文注释不是合法的UTF-8
+		Files.write(legacy, "package gbk;\n// 旧项目的中文注释\npublic class Legacy {\n\tint size() { return 0; }\n}\n".getBytes(Charset.forName("GBK")));
+		FileLocator.getInstance().addSourceDirectories(List.of(otherSources.toString()));
+
+		CompilationUnit cu = CommonUtil.parseCompilationUnit("gbk.Legacy");
+
+		assertNotNull(cu);
+		assertEquals("Legacy", cu.getPrimaryTypeName().orElse(null));
+		assertEquals(1, cu.findAll(MethodDeclaration.class).size());
+		assertTrue(CommonUtil.getSource(cu).contains("\uFFFD"));
+	}
+}
@@ -0,0 +1,127 @@
+package io.github.jitawangzi.jdepend.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.jitawangzi.jdepend.config.AppConfigManager;
+
+/**
+ * ReflectionUtils 通过依赖类加载器查找方法的测试
+ * 临时项目是普通Java项目，lib 目录下的 jar 在测试时编译生成，JavaParserInit.init() 后作为项目依赖
+ */
+@SuppressWarnings("deprecation")
+class ReflectionUtilsTest {
+
+	@TempDir
+	static Path projectRoot;
+
+	@BeforeAll
+	static void createProject() throws IOException {
+		Path sources = projectRoot.resolve("dep-src");
+		Path widget = sources.resolve("com/acme/Widget.java");
+		Files.createDirectories(widget.getParent());
+		Files.writeString(widget, "package com.acme;\n" //
+				+ "public class Widget {\n" //
+				+ "	public java.util.List<String> names() { return null; }\n" //
+				+ "	public static class Part {\n" //
+				+ "		public int size() { return 0; }\n" //
+				+ "	}\n" //
+				+ "}\n");
+		Path classes = projectRoot.resolve("dep-classes");
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		assertNotNull(compiler, "需要在JDK上运行测试");
+		assertEquals(0, compiler.run(null, null, null, "-d", classes.toString(), widget.toString()));
+		Path jar = projectRoot.resolve("lib/widget.jar");
+		Files.createDirectories(jar.getParent());
+		writeJar(classes, jar);
+
+		Path main = projectRoot.resolve("src/app/Main.java");
+		Files.createDirectories(main.getParent());
+		Files.writeString(main, "package app;\npublic class Main {\n}\n");
+
+		Properties properties = new Properties();
+		properties.setProperty("project.root", projectRoot.toString());
+		AppConfigManager.reload(properties);
+		JavaParserInit.init();
+	}
+
+	private static void writeJar(Path classes, Path jar) throws IOException {
+		List<Path> files;
+		try (Stream<Path> walk = Files.walk(classes)) {
+			files = walk.filter(Files::isRegularFile).collect(Collectors.toList());
+		}
+		try (OutputStream out = Files.newOutputStream(jar); JarOutputStream jarOut = new JarOutputStream(out)) {
+			for (Path file : files) {
+				jarOut.putNextEntry(new JarEntry(classes.relativize(file).toString().replace('\\', '/')));
+				jarOut.write(Files.readAllBytes(file));
+				jarOut.closeEntry();
+			}
+		}
+	}
+
+	@AfterAll
+	static void resetConfig() {
+		AppConfigManager.reset();
+	}
+
+	@Test
+	void findsMethodsInDependencyJar() {
+		assertEquals("java.util.List<java.lang.String>", ReflectionUtils.getMethodReturnType("com.acme.Widget", "names"));
+		assertEquals("java.util.List<java.lang.String>", ReflectionUtils.getMethodReturnTypeWithGeneric("com.acme.Widget", "names"));
+		// 泛型参数在查找前去掉
+		assertEquals("java.util.List<java.lang.String>", ReflectionUtils.getMethodReturnType("com.acme.Widget<Foo>", "names"));
+	}
+
+	@Test
+	void findsNestedClassesByCanonicalName() {
+		assertEquals("int", ReflectionUtils.getMethodReturnType("com.acme.Widget.Part", "size"));
+		assertEquals("K", ReflectionUtils.getMethodReturnType("java.util.Map.Entry<String, Integer>", "getKey"));
+	}
+
+	@Test
+	void findsInheritedMethods() {
+		assertEquals("int", ReflectionUtils.getMethodReturnType("java.util.ArrayList", "size"));
+		assertEquals("java.lang.Class<?>", ReflectionUtils.getMethodReturnType("com.acme.Widget", "getClass"));
+	}
+
+	@Test
+	void doesNotSeeTheToolsOwnClasspath() {
+		assertSame(ClassLoader.getPlatformClassLoader(), JavaParserInit.getDependencyClassLoader().getParent());
+		assertNull(ReflectionUtils.getMethodReturnType("org.slf4j.LoggerFactory", "getLogger"));
+		assertNull(ReflectionUtils.getMethodReturnType("io.github.jitawangzi.jdepend.util.GenericType", "parse"));
+	}
+
+	@Test
+	void missingClassesAndMethodsReturnNull() {
+		assertNull(ReflectionUtils.getMethodReturnType("com.acme.Missing", "names"));
+		assertNull(ReflectionUtils.getMethodReturnType("com.acme.Missing", "names"));
+		assertNull(ReflectionUtils.getMethodReturnType("com.acme.Widget", "missing"));
+		assertNull(ReflectionUtils.getMethodReturnTypeWithGeneric(null, "names"));
+	}
+
+	@Test
+	void loaderIsReusedUntilNextInit() {
+		assertSame(JavaParserInit.getDependencyClassLoader(), JavaParserInit.getDependencyClassLoader());
+	}
+}
@@ -0,0 +1,12 @@
+package p;
+
+import p.model.Order;
+import p.model.Order.Line;
+
+public class Main {
+	public static void main(String[] args) {
+		Line line = new Line("a", 2);
+		Order.Status status = Order.Status.NEW;
+		System.out.println(line.total() + " " + status);
+	}
+}
@@ -0,0 +1,29 @@
+package p.model;
+
+import p.util.Prices;
+
+public class Order {
+	private String id;
+
+	public String getId() {
+		return id;
+	}
+
+	public static class Line {
+		private final String sku;
+		private final int quantity;
+
+		public Line(String sku, int quantity) {
+			this.sku = sku;
+			this.quantity = quantity;
+		}
+
+		public int total() {
+			return Prices.of(sku) * quantity;
+		}
+	}
+
+	public enum Status {
+		NEW, PAID
+	}
+}
@@ -0,0 +1,11 @@
+package p.util;
+
+public class Prices {
+	public static int of(String sku) {
+		return sku.length();
+	}
+
+	public static int unused() {
+		return 0;
+	}
+}